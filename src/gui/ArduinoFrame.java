@@ -0,0 +1,161 @@
+/**
+ *
+ */
+package gui;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Klasse ArduinoFrame nimmt die Antwort des Arduino auf einen Austausch
+ * (ArduinoLink.exchange()) auf.
+ * <p>
+ * Die Instanz wird einmalig angelegt und in jedem Zyklus nur ueberschrieben
+ * (keine Allokation im Regelzyklus). Zugriff nur aus dem Regel-Thread!
+ * </p>
+ * <p>
+ * Mit BatchedArduinoLink enthaelt die Antwort zusaetzlich bis zu MAX_SAMPLES
+ * Abtastwerte der Zaehler mit Zeitstempel des Arduino (sampleCount > 0),
+ * abgelegt in Arrays primitiver Werte (aeltester Wert zuerst). numberMA und
+ * numberMB sind dann die Zaehlerstaende des letzten Abtastwertes.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ArduinoFrame
+{
+    /**
+     * MAX_SAMPLES = 8 - maximale Anzahl der Abtastwerte je Antwort
+     */
+    public final static int MAX_SAMPLES = 8;
+
+    /**
+     * token - vom Arduino zurueckgesendeter token (gesendeter token + 1)
+     */
+    long token = 0L;
+
+    /**
+     * status - Status des Arduino
+     */
+    ArduinoI2C.Status status = ArduinoI2C.Status.NOP;
+
+    /**
+     * numberMA - Zaehlerstand Motor A
+     */
+    long numberMA = 0L;
+
+    /**
+     * numberMB - Zaehlerstand Motor B
+     */
+    long numberMB = 0L;
+
+    /**
+     * sampleCount - Anzahl der Abtastwerte (0 ... MAX_SAMPLES), 0 ohne Abtastwerte
+     */
+    int sampleCount = 0;
+
+    /**
+     * sampleTime[] - Zeitstempel der Abtastwerte in us (micros() des Arduino, 4 Byte ohne Vorzeichen)
+     */
+    final long[] sampleTime = new long[MAX_SAMPLES];
+
+    /**
+     * sampleMA[] - Zaehlerstaende Motor A der Abtastwerte
+     */
+    final long[] sampleMA = new long[MAX_SAMPLES];
+
+    /**
+     * sampleMB[] - Zaehlerstaende Motor B der Abtastwerte
+     */
+    final long[] sampleMB = new long[MAX_SAMPLES];
+
+    /**
+     * @return the token
+     */
+    public final long getToken()
+    {
+        return this.token;
+    }
+
+    /**
+     * @return the status
+     */
+    public final ArduinoI2C.Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * @return the numberMA
+     */
+    public final long getNumberMA()
+    {
+        return this.numberMA;
+    }
+
+    /**
+     * @return the numberMB
+     */
+    public final long getNumberMB()
+    {
+        return this.numberMB;
+    }
+
+    /**
+     * @return the sampleCount
+     */
+    public final int getSampleCount()
+    {
+        return this.sampleCount;
+    }
+
+    /**
+     * @return the sampleTime[] (nur die ersten sampleCount Werte sind gueltig)
+     */
+    public final long[] getSampleTime()
+    {
+        return this.sampleTime;
+    }
+
+    /**
+     * @return the sampleMA[] (nur die ersten sampleCount Werte sind gueltig)
+     */
+    public final long[] getSampleMA()
+    {
+        return this.sampleMA;
+    }
+
+    /**
+     * @return the sampleMB[] (nur die ersten sampleCount Werte sind gueltig)
+     */
+    public final long[] getSampleMB()
+    {
+        return this.sampleMB;
+    }
+
+    /**
+     * copyFrom(ArduinoFrame frame) - Antwort uebernehmen (ohne Allokation)...
+     * @param frame
+     */
+    void copyFrom(ArduinoFrame frame)
+    {
+        this.token = frame.token;
+        this.status = frame.status;
+        this.numberMA = frame.numberMA;
+        this.numberMB = frame.numberMB;
+        this.sampleCount = frame.sampleCount;
+        System.arraycopy(frame.sampleTime, 0, this.sampleTime, 0, frame.sampleCount);
+        System.arraycopy(frame.sampleMA, 0, this.sampleMA, 0, frame.sampleCount);
+        System.arraycopy(frame.sampleMB, 0, this.sampleMB, 0, frame.sampleCount);
+    }
+
+    /**
+     * toString() - zu Protokollzwecken...
+     */
+    @Override
+    public String toString()
+    {
+        return "ArduinoFrame [token=" + this.token + ", status=" + this.status
+             + ", numberMA=" + this.numberMA + ", numberMB=" + this.numberMB 
+             + ", sampleCount=" + this.sampleCount + "]";
+    }
+}
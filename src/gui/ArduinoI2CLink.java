@@ -0,0 +1,60 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Klasse ArduinoI2CLink ist die Verbindung zum Arduino ueber die
+ * bisherige Hilfsklasse raspi.hardware.i2c.ArduinoI2C.
+ * <p>
+ * Anfrage und Antwort sind zwei getrennte I2C-Transaktionen (write(), read()),
+ * der Frame entspricht dem bisherigen Sketch auf dem Arduino.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ArduinoI2CLink implements ArduinoLink
+{
+    /**
+     * arduinoI2C - Hilfsklasse zur Kommunikation mit dem Arduino
+     */
+    private final ArduinoI2C arduinoI2C;
+
+    /**
+     * ArduinoI2CLink(ArduinoI2C arduinoI2C)
+     * @param arduinoI2C
+     */
+    public ArduinoI2CLink(ArduinoI2C arduinoI2C)
+    {
+        this.arduinoI2C = arduinoI2C;
+    }
+
+    /**
+     * exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame)...
+     */
+    @Override
+    public void exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame) throws IOException
+    {
+        this.arduinoI2C.write(token, status);
+        final ArduinoI2C.DataRequest request = this.arduinoI2C.read();
+        frame.token = request.getToken();
+        frame.status = request.getStatus();
+        frame.numberMA = request.getNumberMA();
+        frame.numberMB = request.getNumberMB();
+        // Keine Abtastwerte...
+        frame.sampleCount = 0;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ArduinoI2CLink [" + Type.SPLIT + "]";
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Schnittstelle ArduinoLink beschreibt die Verbindung zum Arduino:
+ * je Zyklus ein Austausch aus Anfrage (token, Status) und Antwort (token,
+ * Status, Zaehlerstaende).
+ * <p>
+ * Implementierungen sind ArduinoI2CLink (raspi.hardware.i2c.ArduinoI2C,
+ * Schreiben und Lesen als zwei getrennte Transaktionen) und CombinedArduinoLink
+ * (Schreiben und Lesen in einer Transaktion mit Repeated Start) sowie
+ * BatchedArduinoLink (wie CombinedArduinoLink, Antwort mit mehreren
+ * Abtastwerten der Zaehler). Die Auswahl
+ * erfolgt in den Systemeinstellungen (vgl. Type).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public interface ArduinoLink
+{
+    /**
+     * exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame) - Anfrage
+     * senden und Antwort lesen (Aufruf im Regel-Thread)...
+     * @param token - token an den Arduino (die unteren 4 Byte)
+     * @param status - Status der Kommunikation (INITIAL, SUCCESS...)
+     * @param frame - nimmt die Antwort auf (wird ueberschrieben)
+     * @throws IOException
+     */
+    void exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame) throws IOException;
+
+    /**
+     * Type - Art der Verbindung (Auswahl in den Systemeinstellungen)...
+     */
+    public enum Type
+    {
+        /**
+         * SPLIT("Schreiben/Lesen getrennt") - ArduinoI2C, zwei Transaktionen je Zyklus
+         */
+        SPLIT("Schreiben/Lesen getrennt"),
+        /**
+         * COMBINED("Repeated Start") - eine Transaktion je Zyklus (Sketch mit passendem Frame)
+         */
+        COMBINED("Repeated Start"),
+        /**
+         * BATCHED("Mehrfach-Abtastung") - wie COMBINED, Antwort mit mehreren Abtastwerten (vgl. BatchedArduinoLink)
+         */
+        BATCHED("Mehrfach-Abtastung");
+
+        /**
+         * type - textuelle Beschreibung
+         */
+        private final String type;
+
+        /**
+         * Type - priv. Konstruktor
+         * @param type
+         */
+        private Type(String type)
+        {
+            this.type = type;
+        }
+
+        /**
+         * getType()
+         * @return type
+         */
+        public String getType()
+        {
+            return this.type;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.type;
+        }
+    }
+}
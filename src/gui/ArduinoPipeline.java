@@ -0,0 +1,313 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Klasse ArduinoPipeline fuehrt den Austausch mit dem Arduino (ArduinoLink)
+ * in einem eigenen Thread aus, der Regelzyklus wartet nicht mehr auf den I2C-Bus.
+ * <p>
+ * Ablauf (Pipeline der Tiefe 1): Der Regelzyklus stellt die naechste Anfrage
+ * direkt nach der Ausgabe der Pwm-Werte (submit()), der I2C-Thread fuehrt den
+ * Austausch aus, waehrend der Regel-Thread auf die naechste Flanke wartet. Zu
+ * Beginn des naechsten Zyklus wird die Antwort uebernommen (poll()). Damit liegt
+ * der Austausch nicht mehr zwischen Flanke und Pwm-Ausgabe, die Zaehlerstaende
+ * sind dafuer um den Abstand Pwm-Ausgabe bis Flanke aelter.
+ * </p>
+ * <p>
+ * Es ist hoechstens eine Anfrage unterwegs: Solange die Antwort aussteht, wird
+ * keine weitere Anfrage angenommen. Die Pruefung des token bleibt im Regelzyklus,
+ * der mit der Anfrage gesendete token steht mit getToken() zur Verfuegung.
+ * Die Uebergabe erfolgt ohne Sperren (volatile Folgenummern, LockSupport).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ArduinoPipeline implements Runnable
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(ArduinoPipeline.class);
+
+    /**
+     * THREAD_NAME = "i2c" - Name des I2C-Threads
+     */
+    public final static String THREAD_NAME = "i2c";
+
+    /**
+     * link - Verbindung zum Arduino
+     */
+    private final ArduinoLink link;
+
+    /**
+     * histogram - Dauer des Austausches (Erfassung im I2C-Thread)
+     */
+    private final LatencyHistogram histogram;
+
+    /**
+     * frame - Antwort des Arduino, wird nur zwischen submit() und der Fertigmeldung
+     * vom I2C-Thread geschrieben
+     */
+    private final ArduinoFrame frame = new ArduinoFrame();
+
+    /**
+     * requestToken, requestStatus - Anfrage an den Arduino
+     */
+    private volatile long requestToken = 0L;
+    private volatile ArduinoI2C.Status requestStatus = ArduinoI2C.Status.NOP;
+
+    /**
+     * submitted - Folgenummer der letzten Anfrage
+     */
+    private volatile long submitted = 0L;
+
+    /**
+     * completed - Folgenummer der letzten ausgefuehrten Anfrage
+     */
+    private volatile long completed = 0L;
+
+    /**
+     * exception - Fehler der letzten ausgefuehrten Anfrage, sonst null
+     */
+    private volatile IOException exception = null;
+
+    /**
+     * consumed - Folgenummer der letzten uebernommenen Antwort (nur Regel-Thread)
+     */
+    private long consumed = 0L;
+
+    /**
+     * discarded - Antworten bis zu dieser Folgenummer verwerfen (nur Regel-Thread)
+     */
+    private long discarded = 0L;
+
+    /**
+     * lateCount - Anzahl der Zyklen ohne Antwort (Austausch laenger als die Periode)
+     */
+    private volatile long lateCount = 0L;
+
+    /**
+     * thread - der I2C-Thread, null solange nicht gestartet
+     */
+    private volatile Thread thread = null;
+
+    /**
+     * ArduinoPipeline(ArduinoLink link, LatencyHistogram histogram)
+     * @param link - Verbindung zum Arduino
+     * @param histogram - Erfassung der Dauer des Austausches
+     */
+    public ArduinoPipeline(ArduinoLink link, LatencyHistogram histogram)
+    {
+        this.link = link;
+        this.histogram = histogram;
+    }
+
+    /**
+     * start() - I2C-Thread (hohe Prioritaet) starten...
+     */
+    public void start()
+    {
+        if (this.thread != null)
+        {
+            return;
+        }
+        final Thread thread = new Thread(this, THREAD_NAME);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        this.thread = thread;
+        thread.start();
+        logger.debug("start(): " + toString());
+    }
+
+    /**
+     * stop() - I2C-Thread beenden...
+     */
+    public void stop()
+    {
+        final Thread thread = this.thread;
+        this.thread = null;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * stop(long timeoutMillis) - I2C-Thread beenden und auf das Ende warten...
+     * <p>
+     * Ein laufender Austausch wird noch abgeschlossen, danach greift der
+     * I2C-Thread nicht mehr auf den Bus zu.
+     * </p>
+     * @param timeoutMillis - hoechstens timeoutMillis ms warten
+     * @return true, wenn der I2C-Thread beendet ist
+     */
+    public boolean stop(long timeoutMillis)
+    {
+        final Thread thread = this.thread;
+        stop();
+        if ((thread == null) || (thread == Thread.currentThread()))
+        {
+            return true;
+        }
+        try
+        {
+            thread.join(timeoutMillis);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * isBusy() - ist eine Anfrage unterwegs?
+     * @return boolean
+     */
+    public boolean isBusy()
+    {
+        return this.submitted != this.completed;
+    }
+
+    /**
+     * submit(long token, ArduinoI2C.Status status) - naechste Anfrage stellen
+     * (Aufruf im Regel-Thread nach der Pwm-Ausgabe)...
+     * @param token - token an den Arduino
+     * @param status - Status der Kommunikation
+     * @return false, wenn noch eine Anfrage unterwegs ist
+     */
+    public boolean submit(long token, ArduinoI2C.Status status)
+    {
+        if (isBusy())
+        {
+            return false;
+        }
+        this.requestToken = token;
+        this.requestStatus = status;
+        // Erst die Anfrage, dann die Folgenummer...
+        this.submitted = this.submitted + 1L;
+        final Thread thread = this.thread;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * poll(ArduinoFrame frame) - Antwort der letzten Anfrage uebernehmen
+     * (Aufruf im Regel-Thread zu Beginn des Zyklus)...
+     * @param frame - nimmt die Antwort auf
+     * @return false, wenn keine (neue) Antwort vorliegt
+     * @throws IOException - Fehler des Austausches
+     */
+    public boolean poll(ArduinoFrame frame) throws IOException
+    {
+        final long completed = this.completed;
+        if ((completed == this.consumed) || (completed != this.submitted))
+        {
+            if ((completed != this.submitted) && (this.submitted > this.discarded))
+            {
+                // Antwort steht noch aus...
+                this.lateCount++;
+            }
+            return false;
+        }
+        this.consumed = completed;
+        if (completed <= this.discarded)
+        {
+            return false;
+        }
+        final IOException exception = this.exception;
+        if (exception != null)
+        {
+            throw exception;
+        }
+        frame.copyFrom(this.frame);
+        return true;
+    }
+
+    /**
+     * getToken() - mit der letzten Anfrage gesendeter token
+     * @return long
+     */
+    public long getToken()
+    {
+        return this.requestToken;
+    }
+
+    /**
+     * clear() - Antworten auf bisherige Anfragen verwerfen (z.B. nach dem Start,
+     * Aufruf im Regel-Thread)...
+     */
+    public void clear()
+    {
+        this.discarded = this.submitted;
+    }
+
+    /**
+     * getLateCount() - Anzahl der Zyklen, in denen die Antwort noch ausstand
+     * @return long
+     */
+    public long getLateCount()
+    {
+        return this.lateCount;
+    }
+
+    /**
+     * run() - Schleife des I2C-Threads...
+     */
+    @Override
+    public void run()
+    {
+        final Thread current = Thread.currentThread();
+        while (this.thread == current)
+        {
+            final long submitted = this.submitted;
+            if (submitted == this.completed)
+            {
+                LockSupport.park(this);
+                continue;
+            }
+            final long start = System.nanoTime();
+            IOException exception = null;
+            try
+            {
+                this.link.exchange(this.requestToken, this.requestStatus, this.frame);
+            }
+            catch (IOException e)
+            {
+                exception = e;
+            }
+            catch (RuntimeException e)
+            {
+                // Der I2C-Thread darf nicht enden...
+                exception = new IOException(e);
+            }
+            this.histogram.record(System.nanoTime() - start);
+            this.exception = exception;
+            // Erst Antwort und Fehler, dann die Folgenummer...
+            this.completed = submitted;
+        }
+        logger.debug("run(): " + THREAD_NAME + " beendet.");
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ArduinoPipeline [link=" + this.link + ", submitted=" + this.submitted
+             + ", completed=" + this.completed + ", lateCount=" + this.lateCount + "]";
+    }
+}
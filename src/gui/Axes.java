@@ -0,0 +1,188 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.Arrays;
+
+/**
+ * Die Klasse Axes haelt die Zustandsgroessen aller im Gleichlauf
+ * betriebenen Achsen (Motoren) als Struktur von Arrays primitiver Werte.
+ * <p>
+ * Jede Achse wird durch ihren Index (0 ... count-1) beschrieben, z.B.
+ * Index 0 - Motor A, Index 1 - Motor B. Die Arrays werden einmalig angelegt
+ * und im Regelzyklus nur noch ueberschrieben, die Bearbeitung erfolgt in
+ * Schleifen ueber alle Achsen (Aufwand linear in der Anzahl der Achsen).
+ * </p>
+ * <p>
+ * Die Arrays sind package-private, damit die Regelalgorithmen (z.B. der
+ * PositionController) ohne Umweg darauf arbeiten koennen. Zugriff nur aus
+ * dem Regelzyklus!
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class Axes
+{
+    /**
+     * MAX_AXES = 8 - maximale Anzahl der Achsen
+     */
+    public final static int MAX_AXES = 8;
+
+    /**
+     * count - Anzahl der Achsen
+     */
+    private final int count;
+
+    /**
+     * counter[] - aktueller Impuls-Zaehler-Stand (vom Arduino) je Achse
+     */
+    final long[] counter;
+
+    /**
+     * pastCounter[] - Impuls-Zaehler-Stand des letzten Zyklus je Achse
+     */
+    final long[] pastCounter;
+
+    /**
+     * increment[] - Lagezuwachs im letzten Zyklus (mit Vorzeichen) je Achse
+     */
+    final long[] increment;
+
+    /**
+     * rate[] - Impulsrate in Impulse/s (mit Vorzeichen) aus den Abtastwerten des
+     * Arduino je Achse (vgl. EncoderRate), NaN ohne Abtastwerte
+     */
+    final double[] rate;
+
+    /**
+     * number[] - absolute Lage in Impulsen je Achse
+     */
+    final long[] number;
+
+    /**
+     * value[] - Sollwert (-1.0 ... +1.0) je Achse, Vorgabe durch die GUI (je Zyklus aus den ControlParameters)
+     */
+    final double[] value;
+
+    /**
+     * reference[] - Sollwert nach Rampe (vgl. SetpointTrajectory) je Achse
+     */
+    final double[] reference;
+
+    /**
+     * correction[] - Ausgang der Gleichlaufregelung je Achse
+     */
+    final double[] correction;
+
+    /**
+     * setpoint[] - Sollwert nach Gleichlaufregelung je Achse
+     */
+    final double[] setpoint;
+
+    /**
+     * speed[] - Ist-Drehzahl in U/min je Achse
+     */
+    final double[] speed;
+
+    /**
+     * output[] - Stellgroesse (-1.0 ... +1.0) je Achse, bis zur Ermittlung
+     * im aktuellen Zyklus die Stellgroesse des letzten Zyklus (=> Vorzeichen
+     * des Lagezuwachses)
+     */
+    final double[] output;
+
+    /**
+     * Axes(int count)
+     * @param count - Anzahl der Achsen (1 ... MAX_AXES)
+     */
+    public Axes(int count)
+    {
+        if (count < 1 || count > MAX_AXES)
+        {
+            throw new IllegalArgumentException("Axes: count=" + count + " ungueltig!");
+        }
+        this.count = count;
+        this.counter = new long[count];
+        this.pastCounter = new long[count];
+        this.increment = new long[count];
+        this.rate = new double[count];
+        Arrays.fill(this.rate, Double.NaN);
+        this.number = new long[count];
+        this.value = new double[count];
+        this.reference = new double[count];
+        this.correction = new double[count];
+        this.setpoint = new double[count];
+        this.speed = new double[count];
+        this.output = new double[count];
+    }
+
+    /**
+     * getCount() - Anzahl der Achsen
+     * @return int
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * updatePositions() - Lage aller Achsen nachfuehren...
+     * <p>
+     * Die Zaehler liefern nur den Betrag des Zuwachses, die Richtung ergibt
+     * sich aus dem Vorzeichen der (noch abgelegten) Stellgroesse des letzten Zyklus.
+     * Vorher muessen die aktuellen Zaehlerstaende in counter[] abgelegt sein.
+     * </p>
+     */
+    void updatePositions()
+    {
+        for (int axis = 0; axis < this.count; axis++)
+        {
+            final long diff = this.counter[axis] - this.pastCounter[axis];
+            this.pastCounter[axis] = this.counter[axis];
+            this.increment[axis] = (long) Math.signum(this.output[axis]) * diff;
+            this.number[axis] += this.increment[axis];
+        }
+    }
+
+    /**
+     * clear() - Zuruecksetzen der Zaehlerstaende und Stellgroessen
+     * (die Lage bleibt erhalten)...
+     */
+    void clear()
+    {
+        Arrays.fill(this.counter, 0L);
+        Arrays.fill(this.pastCounter, 0L);
+        Arrays.fill(this.increment, 0L);
+        Arrays.fill(this.rate, Double.NaN);
+        Arrays.fill(this.reference, 0.0);
+        Arrays.fill(this.correction, 0.0);
+        Arrays.fill(this.setpoint, 0.0);
+        Arrays.fill(this.speed, 0.0);
+        Arrays.fill(this.output, 0.0);
+    }
+
+    /**
+     * resetPositions() - Zuruecksetzen der Lage aller Achsen...
+     */
+    void resetPositions()
+    {
+        Arrays.fill(this.number, 0L);
+    }
+
+    /**
+     * toString() - zu Protokollzwecken...
+     */
+    @Override
+    public String toString()
+    {
+        return new StringBuilder().append("[")
+                                  .append(Arrays.toString(this.number))
+                                  .append(" ")
+                                  .append(Arrays.toString(this.correction))
+                                  .append(" ")
+                                  .append(Arrays.toString(this.output))
+                                  .append("]")
+                                  .toString();
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+
+import com.pi4j.io.i2c.I2CDevice;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Klasse BatchedArduinoLink liest mit einer I2C-Transaktion (Schreiben,
+ * Repeated Start, Lesen) mehrere Abtastwerte der Zaehler, die der Arduino
+ * zwischen zwei Austauschen mit Zeitstempel gepuffert hat.
+ * <p>
+ * Die Aufloesung der Drehzahl ist damit nicht mehr an die Rate des Austausches
+ * gebunden: Aus den Zeitstempeln des Arduino (micros()) und den Zaehlerstaenden
+ * wird je Achse die Impulsrate bestimmt (vgl. EncoderRate), ohne zusaetzliche
+ * Transaktionen. Die Dekodierung erfolgt in die Arrays des ArduinoFrame
+ * (keine Allokation im Zyklus).
+ * </p>
+ * <p>
+ * <b>Der Frame muss mit dem Sketch auf dem Arduino uebereinstimmen</b>
+ * (Byte-Reihenfolge little-endian, wie auf dem AVR):
+ * <ul>
+ * <li>Anfrage (REQUEST_SIZE = 5 Byte): wie CombinedArduinoLink, token (4 Byte), Status (1 Byte)</li>
+ * <li>Antwort (RESPONSE_SIZE = 102 Byte): token (4 Byte), Status (1 Byte), Anzahl der
+ * Abtastwerte (1 Byte, 1 ... MAX_SAMPLES), danach MAX_SAMPLES Abtastwerte zu je 12 Byte:
+ * Zeitstempel in us (4 Byte), Zaehlerstand Motor A (4 Byte), Zaehlerstand Motor B (4 Byte),
+ * aeltester Abtastwert zuerst, nicht belegte Abtastwerte beliebig</li>
+ * </ul>
+ * Der Arduino legt die Abtastwerte in einem Ringpuffer ab (bei mehr als
+ * MAX_SAMPLES Abtastwerten je Zyklus die neuesten) und leert ihn mit jeder
+ * Antwort. Die Antwort ist laenger als der Puffer der Wire-Bibliothek
+ * (BUFFER_LENGTH = 32), dieser muss im Sketch entsprechend vergroessert werden.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class BatchedArduinoLink implements ArduinoLink
+{
+    /**
+     * REQUEST_SIZE = 5 - Laenge der Anfrage in Byte
+     */
+    public final static int REQUEST_SIZE = CombinedArduinoLink.REQUEST_SIZE;
+
+    /**
+     * HEADER_SIZE = 6 - Laenge des Kopfes der Antwort in Byte (token, Status, Anzahl)
+     */
+    public final static int HEADER_SIZE = 6;
+
+    /**
+     * SAMPLE_SIZE = 12 - Laenge eines Abtastwertes in Byte (Zeitstempel, Motor A, Motor B)
+     */
+    public final static int SAMPLE_SIZE = 12;
+
+    /**
+     * RESPONSE_SIZE = 102 - Laenge der Antwort in Byte
+     */
+    public final static int RESPONSE_SIZE = HEADER_SIZE + ArduinoFrame.MAX_SAMPLES * SAMPLE_SIZE;
+
+    /**
+     * STATUS_VALUES - Status nach Ordinal (Dekodierung ohne Allokation)
+     */
+    private final static ArduinoI2C.Status[] STATUS_VALUES = ArduinoI2C.Status.values();
+
+    /**
+     * device - der Arduino am I2C-Bus
+     */
+    private final I2CDevice device;
+
+    /**
+     * request[] - Puffer der Anfrage
+     */
+    private final byte[] request = new byte[REQUEST_SIZE];
+
+    /**
+     * response[] - Puffer der Antwort
+     */
+    private final byte[] response = new byte[RESPONSE_SIZE];
+
+    /**
+     * BatchedArduinoLink(I2CDevice device)
+     * @param device - der Arduino am I2C-Bus (ARDUINO_ADDRESS)
+     */
+    public BatchedArduinoLink(I2CDevice device)
+    {
+        this.device = device;
+    }
+
+    /**
+     * exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame)...
+     */
+    @Override
+    public void exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame) throws IOException
+    {
+        CombinedArduinoLink.putInt(this.request, 0, (int) token);
+        this.request[4] = (byte) status.ordinal();
+        final int count = this.device.read(this.request, 0, REQUEST_SIZE, this.response, 0, RESPONSE_SIZE);
+        if (count < RESPONSE_SIZE)
+        {
+            throw new IOException("BatchedArduinoLink: " + count + " von " + RESPONSE_SIZE + " Byte gelesen.");
+        }
+        final int samples = this.response[5] & 0xff;
+        if ((samples < 1) || (samples > ArduinoFrame.MAX_SAMPLES))
+        {
+            throw new IOException("BatchedArduinoLink: Anzahl der Abtastwerte " + samples + " ungueltig.");
+        }
+        frame.token = CombinedArduinoLink.getInt(this.response, 0) & 0xffffffffL;
+        final int code = this.response[4] & 0xff;
+        frame.status = (code < STATUS_VALUES.length)? STATUS_VALUES[code] : ArduinoI2C.Status.ERROR;
+        int offset = HEADER_SIZE;
+        for (int index = 0; index < samples; index++)
+        {
+            frame.sampleTime[index] = CombinedArduinoLink.getInt(this.response, offset) & 0xffffffffL;
+            frame.sampleMA[index] = CombinedArduinoLink.getInt(this.response, offset + 4) & 0xffffffffL;
+            frame.sampleMB[index] = CombinedArduinoLink.getInt(this.response, offset + 8) & 0xffffffffL;
+            offset += SAMPLE_SIZE;
+        }
+        frame.sampleCount = samples;
+        // Zaehlerstaende des Zyklus: letzter Abtastwert...
+        frame.numberMA = frame.sampleMA[samples - 1];
+        frame.numberMB = frame.sampleMB[samples - 1];
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "BatchedArduinoLink [" + Type.BATCHED + ", address=" + this.device.getAddress()
+             + ", request=" + REQUEST_SIZE + " Byte, response=" + RESPONSE_SIZE + " Byte, samples="
+             + ArduinoFrame.MAX_SAMPLES + "]";
+    }
+}
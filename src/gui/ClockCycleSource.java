@@ -0,0 +1,169 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Die Klasse ClockCycleSource ist ein interner Zeitgeber als Taktquelle
+ * (anstelle der Flanke vom Arduino).
+ * <p>
+ * Ein eigener Thread hoher Prioritaet meldet mit fester Periode einen Takt an
+ * die ControlEngine. Die Zeitpunkte werden absolut (System.nanoTime()) aus dem
+ * Startzeitpunkt fortgeschrieben, damit summieren sich Verspaetungen nicht auf.
+ * Bis kurz vor dem Zeitpunkt wird mit LockSupport.parkNanos() gewartet, die
+ * letzten spinWait ns optional aktiv (Schleife auf System.nanoTime()), das
+ * verringert den Jitter um die Aufwachzeit des Betriebssystems.
+ * </p>
+ * <p>
+ * Ist der Zeitgeber um mehr als eine Periode zu spaet, so wird der Takt nicht
+ * nachgeholt, sondern ab jetzt neu ausgerichtet.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ClockCycleSource implements CycleSource, Runnable
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(ClockCycleSource.class);
+
+    /**
+     * THREAD_NAME = "clock" - Name des Zeitgeber-Threads
+     */
+    public final static String THREAD_NAME = "clock";
+
+    /**
+     * MIN_PERIOD = 100000L - kleinste Periode in ns (0.1 ms)
+     */
+    public final static long MIN_PERIOD = 100000L;
+
+    /**
+     * period - Periode in ns
+     */
+    private final long period;
+
+    /**
+     * spinWait - Dauer des aktiven Wartens vor jedem Takt in ns (0L: kein aktives Warten)
+     */
+    private final long spinWait;
+
+    /**
+     * engine - Empfaenger der Takte
+     */
+    private volatile ControlEngine engine = null;
+
+    /**
+     * thread - der Zeitgeber-Thread, null solange nicht gestartet
+     */
+    private volatile Thread thread = null;
+
+    /**
+     * ClockCycleSource(double period, double spinWait)
+     * @param period - Periode in s
+     * @param spinWait - Dauer des aktiven Wartens in s (0.0: kein aktives Warten)
+     */
+    public ClockCycleSource(double period, double spinWait)
+    {
+        this.period = Math.max(MIN_PERIOD, Math.round(period * 1.0E9));
+        this.spinWait = Math.max(0L, Math.min(this.period, Math.round(spinWait * 1.0E9)));
+    }
+
+    /**
+     * getPeriod() - Periode in s
+     * @return double
+     */
+    public double getPeriod()
+    {
+        return this.period / 1.0E9;
+    }
+
+    /**
+     * start(ControlEngine engine) - Zeitgeber-Thread starten...
+     */
+    @Override
+    public void start(ControlEngine engine)
+    {
+        if (this.thread != null)
+        {
+            return;
+        }
+        this.engine = engine;
+        final Thread thread = new Thread(this, THREAD_NAME);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        this.thread = thread;
+        thread.start();
+        logger.debug("start(): " + toString());
+    }
+
+    /**
+     * stop() - Zeitgeber-Thread beenden...
+     */
+    @Override
+    public void stop()
+    {
+        final Thread thread = this.thread;
+        this.thread = null;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * run() - Schleife des Zeitgeber-Threads...
+     */
+    @Override
+    public void run()
+    {
+        final Thread current = Thread.currentThread();
+        long deadline = System.nanoTime() + this.period;
+        while (this.thread == current)
+        {
+            long remaining = deadline - System.nanoTime();
+            // Grob warten bis spinWait vor dem Zeitpunkt...
+            while ((remaining > this.spinWait) && (this.thread == current))
+            {
+                LockSupport.parkNanos(this, remaining - this.spinWait);
+                remaining = deadline - System.nanoTime();
+            }
+            // ...dann aktiv bis zum Zeitpunkt...
+            long now = System.nanoTime();
+            while (now - deadline < 0L)
+            {
+                now = System.nanoTime();
+            }
+            if (this.thread != current)
+            {
+                break;
+            }
+            final ControlEngine engine = this.engine;
+            if (engine != null)
+            {
+                engine.signal(now);
+            }
+            deadline += this.period;
+            if (now - deadline >= 0L)
+            {
+                // Mehr als eine Periode zu spaet: Nicht nachholen, neu ausrichten...
+                deadline = now + this.period;
+            }
+        }
+        logger.debug("run(): " + THREAD_NAME + " beendet.");
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ClockCycleSource [period=" + this.period + " ns, spinWait=" + this.spinWait + " ns]";
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+
+import com.pi4j.io.i2c.I2CDevice;
+
+import raspi.hardware.i2c.ArduinoI2C;
+
+/**
+ * Die Klasse CombinedArduinoLink tauscht Anfrage und Antwort mit dem Arduino
+ * in einer einzigen I2C-Transaktion aus (Schreiben, Repeated Start, Lesen).
+ * <p>
+ * Gegenueber zwei getrennten Transaktionen entfallen ein Stop/Start und die
+ * erneute Adressierung, der Bus wird zwischen Anfrage und Antwort nicht
+ * freigegeben. pi4j fuehrt I2CDevice.read(writeBuffer..., readBuffer...) als
+ * eine Transaktion (I2C_RDWR) aus. Die Puffer werden einmalig angelegt.
+ * </p>
+ * <p>
+ * <b>Der Frame muss mit dem Sketch auf dem Arduino uebereinstimmen</b>
+ * (Byte-Reihenfolge little-endian, wie auf dem AVR):
+ * <ul>
+ * <li>Anfrage (REQUEST_SIZE = 5 Byte): token (4 Byte), Status (1 Byte, Ordinal von ArduinoI2C.Status)</li>
+ * <li>Antwort (RESPONSE_SIZE = 13 Byte): token (4 Byte), Status (1 Byte),
+ * Zaehlerstand Motor A (4 Byte), Zaehlerstand Motor B (4 Byte)</li>
+ * </ul>
+ * Der Arduino muss dazu im onReceive() die Anfrage ablegen und im onRequest()
+ * die Antwort senden (Wire-Bibliothek), ohne auf einen Stop zu warten.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class CombinedArduinoLink implements ArduinoLink
+{
+    /**
+     * REQUEST_SIZE = 5 - Laenge der Anfrage in Byte
+     */
+    public final static int REQUEST_SIZE = 5;
+
+    /**
+     * RESPONSE_SIZE = 13 - Laenge der Antwort in Byte
+     */
+    public final static int RESPONSE_SIZE = 13;
+
+    /**
+     * STATUS_VALUES - Status nach Ordinal (Dekodierung ohne Allokation)
+     */
+    private final static ArduinoI2C.Status[] STATUS_VALUES = ArduinoI2C.Status.values();
+
+    /**
+     * device - der Arduino am I2C-Bus
+     */
+    private final I2CDevice device;
+
+    /**
+     * request[] - Puffer der Anfrage
+     */
+    private final byte[] request = new byte[REQUEST_SIZE];
+
+    /**
+     * response[] - Puffer der Antwort
+     */
+    private final byte[] response = new byte[RESPONSE_SIZE];
+
+    /**
+     * CombinedArduinoLink(I2CDevice device)
+     * @param device - der Arduino am I2C-Bus (ARDUINO_ADDRESS)
+     */
+    public CombinedArduinoLink(I2CDevice device)
+    {
+        this.device = device;
+    }
+
+    /**
+     * exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame)...
+     */
+    @Override
+    public void exchange(long token, ArduinoI2C.Status status, ArduinoFrame frame) throws IOException
+    {
+        putInt(this.request, 0, (int) token);
+        this.request[4] = (byte) status.ordinal();
+        final int count = this.device.read(this.request, 0, REQUEST_SIZE, this.response, 0, RESPONSE_SIZE);
+        if (count < RESPONSE_SIZE)
+        {
+            throw new IOException("CombinedArduinoLink: " + count + " von " + RESPONSE_SIZE + " Byte gelesen.");
+        }
+        frame.token = getInt(this.response, 0) & 0xffffffffL;
+        final int code = this.response[4] & 0xff;
+        frame.status = (code < STATUS_VALUES.length)? STATUS_VALUES[code] : ArduinoI2C.Status.ERROR;
+        frame.numberMA = getInt(this.response, 5) & 0xffffffffL;
+        frame.numberMB = getInt(this.response, 9) & 0xffffffffL;
+        // Keine Abtastwerte...
+        frame.sampleCount = 0;
+    }
+
+    /**
+     * putInt(byte[] buffer, int offset, int value) - 4 Byte little-endian ablegen...
+     */
+    static void putInt(byte[] buffer, int offset, int value)
+    {
+        buffer[offset]     = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * getInt(byte[] buffer, int offset) - 4 Byte little-endian lesen...
+     */
+    static int getInt(byte[] buffer, int offset)
+    {
+        return (buffer[offset] & 0xff)
+             | ((buffer[offset + 1] & 0xff) << 8)
+             | ((buffer[offset + 2] & 0xff) << 16)
+             | ((buffer[offset + 3] & 0xff) << 24);
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "CombinedArduinoLink [" + Type.COMBINED + ", address=" + this.device.getAddress()
+             + ", request=" + REQUEST_SIZE + " Byte, response=" + RESPONSE_SIZE + " Byte]";
+    }
+}
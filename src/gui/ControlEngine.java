@@ -0,0 +1,414 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Die Klasse ControlEngine fuehrt den Regelzyklus in einem eigenen Thread
+ * hoher Prioritaet aus (Regel-Thread).
+ * <p>
+ * Der Takt (z.B. die steigende Flanke am GPIO_CYCLE_PIN) wird nur noch mit
+ * signal(long timestamp) gemeldet: Zeitstempel und Anzahl der Flanken werden
+ * abgelegt (AtomicLong) und der Regel-Thread per LockSupport.unpark() geweckt.
+ * Die Uebergabe erfolgt ohne Sperren, der meldende Thread (z.B. der pi4j-Listener)
+ * wird dadurch nicht aufgehalten. Zeitstempel und Anzahl werden wie mit einem
+ * Seqlock gemeinsam gelesen (edgeSequence), der Zyklus erhaelt immer den
+ * Zeitstempel zur gelesenen Anzahl.
+ * </p>
+ * <p>
+ * Der Regel-Thread fuehrt je Takt genau einen Zyklus aus (Cycle.doCycle()).
+ * Alles, was nicht zur Regelung gehoert (Anzeige, PropertyChange, Logging),
+ * erfolgt ausserhalb des Regel-Threads.
+ * </p>
+ * <p>
+ * Ueberlauf (Overrun): Trifft waehrend eines Zyklus bereits der naechste Takt
+ * ein, so wird dies gezaehlt (getOverrunCount()) und gemaess OverrunPolicy
+ * behandelt. Takte, fuer die kein eigener Zyklus ausgefuehrt wird, zaehlen
+ * zusaetzlich als verworfen (getSkippedCount()).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ControlEngine implements Runnable
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(ControlEngine.class);
+
+    /**
+     * THREAD_NAME = "control" - Name des Regel-Threads
+     */
+    public final static String THREAD_NAME = "control";
+
+    /**
+     * cycle - der auszufuehrende Regelzyklus
+     */
+    private final Cycle cycle;
+
+    /**
+     * edgeTimestamp - Zeitstempel (System.nanoTime()) des letzten Taktes
+     */
+    private final AtomicLong edgeTimestamp = new AtomicLong(0L);
+
+    /**
+     * edgeSequence - Folgenummer des Seqlock: ungerade waehrend signal() den
+     * Zeitstempel ablegt, sonst gerade; die Anzahl der bisher gemeldeten
+     * Takte ist edgeSequence / 2 (nur ein meldender Thread)
+     */
+    private final AtomicLong edgeSequence = new AtomicLong(0L);
+
+    /**
+     * overrunPolicy - Verhalten bei einem Ueberlauf
+     */
+    private volatile OverrunPolicy overrunPolicy = OverrunPolicy.SKIP_TO_LATEST;
+
+    /**
+     * overrunCount - Anzahl der Zyklen, waehrend derer bereits der naechste
+     * Takt eintraf (nur der Regel-Thread schreibt)
+     */
+    private volatile long overrunCount = 0L;
+
+    /**
+     * skippedCount - Anzahl der Takte ohne eigenen Zyklus (nur der Regel-Thread schreibt)
+     */
+    private volatile long skippedCount = 0L;
+
+    /**
+     * threadTuning - Affinitaet und Echtzeit-Prioritaet des Regel-Threads, null: keine
+     */
+    private volatile ThreadTuning threadTuning = null;
+
+    /**
+     * threadReport - wirksame Einstellung des Regel-Threads (nach dem Start)
+     */
+    private volatile String threadReport = "";
+
+    /**
+     * thread - der Regel-Thread, null solange nicht gestartet
+     */
+    private volatile Thread thread = null;
+
+    /**
+     * isRunning - Regel-Thread laeuft?
+     */
+    private volatile boolean isRunning = false;
+
+    /**
+     * ControlEngine(Cycle cycle)
+     * @param cycle - der auszufuehrende Regelzyklus
+     */
+    public ControlEngine(Cycle cycle)
+    {
+        this.cycle = cycle;
+    }
+
+    /**
+     * start() - Regel-Thread (hohe Prioritaet) starten...
+     */
+    public void start()
+    {
+        if (this.thread != null)
+        {
+            return;
+        }
+        final Thread thread = new Thread(this, THREAD_NAME);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        this.isRunning = true;
+        this.thread = thread;
+        thread.start();
+        logger.debug("start(): " + thread.getName() + " Prioritaet " + thread.getPriority());
+    }
+
+    /**
+     * stop() - Regel-Thread beenden...
+     */
+    public void stop()
+    {
+        this.isRunning = false;
+        final Thread thread = this.thread;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+        this.thread = null;
+    }
+
+    /**
+     * stop(long timeoutMillis) - Regel-Thread beenden und auf das Ende warten...
+     * <p>
+     * Ein laufender Zyklus wird noch vollstaendig ausgefuehrt (einschliesslich
+     * der Ausgabe der Stellgroessen), danach greift der Regel-Thread nicht mehr
+     * auf die Motoren zu.
+     * </p>
+     * @param timeoutMillis - hoechstens timeoutMillis ms warten
+     * @return true, wenn der Regel-Thread beendet ist
+     */
+    public boolean stop(long timeoutMillis)
+    {
+        final Thread thread = this.thread;
+        stop();
+        if ((thread == null) || (thread == Thread.currentThread()))
+        {
+            return true;
+        }
+        try
+        {
+            thread.join(timeoutMillis);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * signal(long timestamp) - einen Takt melden...
+     * <p>
+     * Aufruf z.B. im pi4j-Listener, es wird nur der Zeitstempel abgelegt
+     * und der Regel-Thread geweckt.
+     * </p>
+     * @param timestamp - Zeitpunkt des Taktes (System.nanoTime())
+     */
+    public void signal(long timestamp)
+    {
+        // Seqlock: Folgenummer ungerade, Zeitstempel ablegen, Folgenummer gerade...
+        this.edgeSequence.incrementAndGet();
+        this.edgeTimestamp.set(timestamp);
+        this.edgeSequence.incrementAndGet();
+        final Thread thread = this.thread;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * getEdgeCount() - Anzahl der bisher gemeldeten Takte
+     * @return long
+     */
+    public long getEdgeCount()
+    {
+        return this.edgeSequence.get() >>> 1;
+    }
+
+    /**
+     * getEdgeTimestamp() - Zeitstempel (System.nanoTime()) des letzten Taktes
+     * @return long
+     */
+    public long getEdgeTimestamp()
+    {
+        return this.edgeTimestamp.get();
+    }
+
+    /**
+     * getOverrunCount() - Anzahl der Ueberlaeufe
+     * @return long
+     */
+    public long getOverrunCount()
+    {
+        return this.overrunCount;
+    }
+
+    /**
+     * getSkippedCount() - Anzahl der Takte ohne eigenen Zyklus
+     * @return long
+     */
+    public long getSkippedCount()
+    {
+        return this.skippedCount;
+    }
+
+    /**
+     * @return the overrunPolicy
+     */
+    public final OverrunPolicy getOverrunPolicy()
+    {
+        return this.overrunPolicy;
+    }
+
+    /**
+     * setOverrunPolicy(OverrunPolicy overrunPolicy) - Verhalten bei einem Ueberlauf...
+     * @param overrunPolicy
+     */
+    public void setOverrunPolicy(OverrunPolicy overrunPolicy)
+    {
+        this.overrunPolicy = (overrunPolicy != null)? overrunPolicy : OverrunPolicy.SKIP_TO_LATEST;
+    }
+
+    /**
+     * setThreadTuning(ThreadTuning threadTuning) - Affinitaet und Echtzeit-Prioritaet
+     * des Regel-Threads, wirksam mit start()...
+     * @param threadTuning
+     */
+    public void setThreadTuning(ThreadTuning threadTuning)
+    {
+        this.threadTuning = threadTuning;
+    }
+
+    /**
+     * getThreadReport() - wirksame Einstellung des Regel-Threads
+     * (tid, Affinitaet, Policy und Prioritaet), leer vor dem Start
+     * @return String
+     */
+    public String getThreadReport()
+    {
+        return this.threadReport;
+    }
+
+    /**
+     * run() - Schleife des Regel-Threads...
+     */
+    @Override
+    public void run()
+    {
+        // Einmalig vor dem ersten Zyklus: Affinitaet und Echtzeit-Prioritaet...
+        final ThreadTuning threadTuning = this.threadTuning;
+        if (threadTuning != null)
+        {
+            this.threadReport = threadTuning.apply();
+        }
+        long handledCount = getEdgeCount();
+        while (this.isRunning)
+        {
+            final long sequence = this.edgeSequence.get();
+            final long count = sequence >>> 1;
+            if (((sequence & 1L) != 0L) || (count == handledCount))
+            {
+                // Kein neuer Takt bzw. signal() legt gerade den Zeitstempel ab:
+                // Warten, signal() weckt anschliessend...
+                LockSupport.park(this);
+                continue;
+            }
+            final long timestamp = this.edgeTimestamp.get();
+            if (sequence != this.edgeSequence.get())
+            {
+                // Waehrenddessen ein weiterer Takt: Paar erneut lesen...
+                continue;
+            }
+            // handledCount gehoert genau zum verwendeten Zeitstempel...
+            handledCount = count;
+            try
+            {
+                this.cycle.doCycle(timestamp);
+            }
+            catch (RuntimeException exception)
+            {
+                // Der Regel-Thread darf nicht enden...
+                logger.error(exception.toString(), exception);
+            }
+            // Ueberlauf: Sind waehrend des Zyklus weitere Takte eingetroffen?
+            final long pending = getEdgeCount() - handledCount;
+            if (pending > 0L)
+            {
+                this.overrunCount++;
+                switch (this.overrunPolicy)
+                {
+                    case DROP_CYCLE:
+                        // Alle anstehenden Takte verwerfen, erst der naechste Takt startet einen Zyklus...
+                        handledCount += pending;
+                        this.skippedCount += pending;
+                        break;
+                    case SAFE_STOP:
+                        // Motoren stoppen und anstehende Takte verwerfen...
+                        handledCount += pending;
+                        this.skippedCount += pending;
+                        try
+                        {
+                            this.cycle.doSafeStop();
+                        }
+                        catch (RuntimeException exception)
+                        {
+                            logger.error(exception.toString(), exception);
+                        }
+                        break;
+                    default:
+                        // SKIP_TO_LATEST: Sofort weiter mit dem neuesten Takt, die 
+                        // Takte dazwischen entfallen...
+                        this.skippedCount += pending - 1L;
+                        break;
+                }
+            }
+        }
+        logger.debug("run(): " + THREAD_NAME + " beendet.");
+    }
+
+    /**
+     * Cycle - Schnittstelle des Regelzyklus...
+     */
+    public interface Cycle
+    {
+        /**
+         * doCycle(long timestamp) - einen Regelzyklus ausfuehren
+         * @param timestamp - Zeitpunkt des Taktes (System.nanoTime())
+         */
+        void doCycle(long timestamp);
+
+        /**
+         * doSafeStop() - Motoren stoppen (OverrunPolicy.SAFE_STOP), Aufruf im Regel-Thread
+         */
+        void doSafeStop();
+    }
+
+    /**
+     * OverrunPolicy - Verhalten, wenn waehrend eines Zyklus bereits der
+     * naechste Takt eintrifft...
+     */
+    public enum OverrunPolicy
+    {
+        /**
+         * SKIP_TO_LATEST("Neuester Takt") - sofort mit dem neuesten Takt weiter,
+         * die Takte dazwischen entfallen
+         */
+        SKIP_TO_LATEST("Neuester Takt"),
+        /**
+         * DROP_CYCLE("Takt verwerfen") - anstehende Takte verwerfen,
+         * weiter erst mit dem naechsten Takt
+         */
+        DROP_CYCLE("Takt verwerfen"),
+        /**
+         * SAFE_STOP("Motoren stoppen") - Motoren stoppen und die Regelung beenden
+         */
+        SAFE_STOP("Motoren stoppen");
+
+        /**
+         * overrunPolicy - textuelle Beschreibung
+         */
+        private final String overrunPolicy;
+
+        /**
+         * OverrunPolicy - priv. Konstruktor
+         * @param overrunPolicy
+         */
+        private OverrunPolicy(String overrunPolicy)
+        {
+            this.overrunPolicy = overrunPolicy;
+        }
+
+        /**
+         * getOverrunPolicy()
+         * @return overrunPolicy
+         */
+        public String getOverrunPolicy()
+        {
+            return this.overrunPolicy;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.overrunPolicy;
+        }
+    }
+}
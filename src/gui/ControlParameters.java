@@ -0,0 +1,366 @@
+/**
+ *
+ */
+package gui;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Die Klasse ControlParameters fasst alle an der Oberflaeche eingestellten
+ * Parameter der Regelung unveraenderlich zusammen.
+ * <p>
+ * Die Oberflaeche (EDT) legt bei jeder Aenderung eine neue Instanz ab (vgl.
+ * die with...()-Methoden), die Ablage erfolgt atomar ueber eine Referenz
+ * (AtomicReference im Model). Der Regelzyklus liest die Referenz genau einmal
+ * zu Beginn und arbeitet dann mit einem in sich konsistenten Satz Parameter,
+ * ohne Sperren und ohne dass einzelne Werte waehrend des Zyklus wechseln.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public final class ControlParameters
+{
+    /**
+     * values[] - Sollwerte je Achse (-1.0 ... +1.0)
+     */
+    private final double[] values;
+
+    /**
+     * controlled[] - der Reglerausgang wirkt auf die Achse
+     */
+    private final boolean[] controlled;
+
+    /**
+     * isControlled - Mit Regelung?
+     */
+    private final boolean isControlled;
+
+    /**
+     * isSpeedControlled - Mit Drehzahlregelung?
+     */
+    private final boolean isSpeedControlled;
+
+    /**
+     * isRamped - Mit Sollwert-Rampe?
+     */
+    private final boolean isRamped;
+
+    /**
+     * isDeadTimeCompensated - Mit Totzeitkompensation?
+     */
+    private final boolean isDeadTimeCompensated;
+
+    /**
+     * strategyType - Art des Reglers
+     */
+    private final ControlStrategy.Type strategyType;
+
+    /**
+     * enhancement - Reglerverstaerkung (bezogen auf eine Umdrehung, wie an der Oberflaeche)
+     */
+    private final BigDecimal enhancement;
+
+    /**
+     * integralTime - Nachstellzeit in s
+     */
+    private final BigDecimal integralTime;
+
+    /**
+     * derivativeTime - Vorhaltzeit in s
+     */
+    private final BigDecimal derivativeTime;
+
+    /**
+     * ControlParameters(int axes) - Grundeinstellung (Sollwerte 0.0, ohne Regelung,
+     * mit Sollwert-Rampe, P-Regler mit Verstaerkung 0)...
+     * @param axes - Anzahl der Achsen
+     */
+    public ControlParameters(int axes)
+    {
+        this(new double[axes],
+             new boolean[axes],
+             false,
+             false,
+             true,
+             false,
+             ControlStrategy.Type.P,
+             BigDecimal.ZERO,
+             BigDecimal.ZERO,
+             BigDecimal.ZERO);
+    }
+
+    /**
+     * ControlParameters(...) - Konstruktor aus allen Attributen, die Arrays
+     * werden unveraendert uebernommen (nur mit Kopien aufrufen)...
+     */
+    private ControlParameters(double[] values,
+                              boolean[] controlled,
+                              boolean isControlled,
+                              boolean isSpeedControlled,
+                              boolean isRamped,
+                              boolean isDeadTimeCompensated,
+                              ControlStrategy.Type strategyType,
+                              BigDecimal enhancement,
+                              BigDecimal integralTime,
+                              BigDecimal derivativeTime)
+    {
+        this.values = values;
+        this.controlled = controlled;
+        this.isControlled = isControlled;
+        this.isSpeedControlled = isSpeedControlled;
+        this.isRamped = isRamped;
+        this.isDeadTimeCompensated = isDeadTimeCompensated;
+        this.strategyType = (strategyType != null)? strategyType : ControlStrategy.Type.P;
+        this.enhancement = (enhancement != null)? enhancement : BigDecimal.ZERO;
+        this.integralTime = (integralTime != null)? integralTime : BigDecimal.ZERO;
+        this.derivativeTime = (derivativeTime != null)? derivativeTime : BigDecimal.ZERO;
+    }
+
+    /**
+     * withValue(int axis, double value) - Kopie mit geaendertem Sollwert der Achse
+     * @param axis - Index der Achse
+     * @param value - Sollwert
+     * @return ControlParameters
+     */
+    public ControlParameters withValue(int axis, double value)
+    {
+        final double[] values = Arrays.copyOf(this.values, this.values.length);
+        values[axis] = value;
+        return new ControlParameters(values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withAxisControlled(int axis, boolean isControlled) - Kopie, der Reglerausgang
+     * wirkt (nicht) auf die Achse
+     * @param axis - Index der Achse
+     * @param isControlled
+     * @return ControlParameters
+     */
+    public ControlParameters withAxisControlled(int axis, boolean isControlled)
+    {
+        final boolean[] controlled = Arrays.copyOf(this.controlled, this.controlled.length);
+        controlled[axis] = isControlled;
+        return new ControlParameters(this.values, controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withControlled(boolean isControlled) - Kopie mit/ohne Regelung
+     * @param isControlled
+     * @return ControlParameters
+     */
+    public ControlParameters withControlled(boolean isControlled)
+    {
+        return new ControlParameters(this.values, this.controlled, isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withSpeedControlled(boolean isSpeedControlled) - Kopie mit/ohne Drehzahlregelung
+     * @param isSpeedControlled
+     * @return ControlParameters
+     */
+    public ControlParameters withSpeedControlled(boolean isSpeedControlled)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withRamped(boolean isRamped) - Kopie mit/ohne Sollwert-Rampe
+     * @param isRamped
+     * @return ControlParameters
+     */
+    public ControlParameters withRamped(boolean isRamped)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withDeadTimeCompensated(boolean isDeadTimeCompensated) - Kopie mit/ohne Totzeitkompensation
+     * @param isDeadTimeCompensated
+     * @return ControlParameters
+     */
+    public ControlParameters withDeadTimeCompensated(boolean isDeadTimeCompensated)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withStrategyType(ControlStrategy.Type strategyType) - Kopie mit geaenderter Art des Reglers
+     * @param strategyType
+     * @return ControlParameters
+     */
+    public ControlParameters withStrategyType(ControlStrategy.Type strategyType)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, strategyType, this.enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withEnhancement(BigDecimal enhancement) - Kopie mit geaenderter Verstaerkung
+     * @param enhancement
+     * @return ControlParameters
+     */
+    public ControlParameters withEnhancement(BigDecimal enhancement)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, enhancement, this.integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withIntegralTime(BigDecimal integralTime) - Kopie mit geaenderter Nachstellzeit
+     * @param integralTime - Nachstellzeit in s
+     * @return ControlParameters
+     */
+    public ControlParameters withIntegralTime(BigDecimal integralTime)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, integralTime, this.derivativeTime);
+    }
+
+    /**
+     * withDerivativeTime(BigDecimal derivativeTime) - Kopie mit geaenderter Vorhaltzeit
+     * @param derivativeTime - Vorhaltzeit in s
+     * @return ControlParameters
+     */
+    public ControlParameters withDerivativeTime(BigDecimal derivativeTime)
+    {
+        return new ControlParameters(this.values, this.controlled, this.isControlled, this.isSpeedControlled, this.isRamped,
+                                     this.isDeadTimeCompensated, this.strategyType, this.enhancement, this.integralTime, derivativeTime);
+    }
+
+    /**
+     * getAxes() - Anzahl der Achsen
+     * @return int
+     */
+    public int getAxes()
+    {
+        return this.values.length;
+    }
+
+    /**
+     * getValue(int axis) - Sollwert der Achse
+     * @param axis - Index der Achse
+     * @return double
+     */
+    public double getValue(int axis)
+    {
+        return this.values[axis];
+    }
+
+    /**
+     * isAxisControlled(int axis) - wirkt der Reglerausgang auf die Achse?
+     * @param axis - Index der Achse
+     * @return boolean
+     */
+    public boolean isAxisControlled(int axis)
+    {
+        return this.controlled[axis];
+    }
+
+    /**
+     * @return the isControlled
+     */
+    public final boolean isControlled()
+    {
+        return this.isControlled;
+    }
+
+    /**
+     * @return the isSpeedControlled
+     */
+    public final boolean isSpeedControlled()
+    {
+        return this.isSpeedControlled;
+    }
+
+    /**
+     * @return the isRamped
+     */
+    public final boolean isRamped()
+    {
+        return this.isRamped;
+    }
+
+    /**
+     * @return the isDeadTimeCompensated
+     */
+    public final boolean isDeadTimeCompensated()
+    {
+        return this.isDeadTimeCompensated;
+    }
+
+    /**
+     * @return the strategyType
+     */
+    public final ControlStrategy.Type getStrategyType()
+    {
+        return this.strategyType;
+    }
+
+    /**
+     * @return the enhancement
+     */
+    public final BigDecimal getEnhancement()
+    {
+        return this.enhancement;
+    }
+
+    /**
+     * @return the integralTime
+     */
+    public final BigDecimal getIntegralTime()
+    {
+        return this.integralTime;
+    }
+
+    /**
+     * @return the derivativeTime
+     */
+    public final BigDecimal getDerivativeTime()
+    {
+        return this.derivativeTime;
+    }
+
+    /**
+     * isStrategyEqual(ControlParameters other) - gleiche Reglerparameter
+     * (Art, Verstaerkung, Nachstellzeit, Vorhaltzeit)?
+     * @param other
+     * @return boolean
+     */
+    public boolean isStrategyEqual(ControlParameters other)
+    {
+        if (other == this)
+        {
+            return true;
+        }
+        return (other != null)
+            && (this.strategyType == other.strategyType)
+            && (this.enhancement.compareTo(other.enhancement) == 0)
+            && (this.integralTime.compareTo(other.integralTime) == 0)
+            && (this.derivativeTime.compareTo(other.derivativeTime) == 0);
+    }
+
+    /**
+     * toString() - zu Protokollzwecken...
+     */
+    @Override
+    public String toString()
+    {
+        return "ControlParameters [values=" + Arrays.toString(this.values)
+             + ", controlled=" + Arrays.toString(this.controlled)
+             + ", isControlled=" + this.isControlled
+             + ", isSpeedControlled=" + this.isSpeedControlled
+             + ", isRamped=" + this.isRamped
+             + ", isDeadTimeCompensated=" + this.isDeadTimeCompensated
+             + ", strategyType=" + this.strategyType.name()
+             + ", enhancement=" + this.enhancement
+             + ", integralTime=" + this.integralTime
+             + ", derivativeTime=" + this.derivativeTime + "]";
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Das Interface ControlStrategy beschreibt das Regelgesetz, welches der
+ * PositionController auf die Lagedifferenz anwendet.
+ * <p>
+ * Implementierungen sind der P-, PI- und PID-Regler. Eine Instanz wird
+ * ausschliesslich im Regelzyklus verwendet (ein Thread), die Parameter
+ * (Verstaerkung, Nachstellzeit, Vorhaltzeit) sind je Instanz unveraenderlich.
+ * Soll ein Parameter geaendert werden, so wird eine neue Instanz angelegt
+ * und im Regelzyklus stossfrei (vgl. transfer()) uebernommen.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public interface ControlStrategy
+{
+    /**
+     * OUTPUT_LIMIT = 1.0 - Begrenzung des Reglerausgangs (Betrag),
+     * entspricht dem Stellbereich des MotorDriverHAT...
+     */
+    public final static double OUTPUT_LIMIT = 1.0;
+
+    /**
+     * DERIVATIVE_FILTER = 10.0 - Filterfaktor N des D-Anteils, die
+     * Zeitkonstante des Filters ergibt sich zu Td/N...
+     */
+    public final static double DERIVATIVE_FILTER = 10.0;
+
+    /**
+     * control(double error, double cycleTime) - Berechnung des Reglerausgangs...
+     * @param error - Regeldifferenz (hier Lagedifferenz in Impulsen)
+     * @param cycleTime - Zykluszeit in s
+     * @return Reglerausgang, begrenzt auf +/-OUTPUT_LIMIT
+     */
+    public default double control(double error, double cycleTime)
+    {
+        return control(error, 1.0, cycleTime);
+    }
+
+    /**
+     * control(double error, double gain, double cycleTime) - Berechnung des Reglerausgangs
+     * mit angepasster Verstaerkung (Gain-Scheduling)...
+     * <p>
+     * Die Verstaerkung ist in diesem Zyklus gain * kp. Sie wirkt auf den P-Anteil und
+     * auf die Zuwaechse von I- und D-Anteil, der D-Anteil wird aus der unbewerteten
+     * Regeldifferenz gebildet. Eine Aenderung von gain fuehrt damit zu keinem Sprung
+     * im D-Anteil, der bereits aufsummierte I-Anteil bleibt erhalten.
+     * </p>
+     * @param error - Regeldifferenz (hier Lagedifferenz in Impulsen)
+     * @param gain - Faktor der Verstaerkung (1.0: keine Anpassung)
+     * @param cycleTime - Zykluszeit in s
+     * @return Reglerausgang, begrenzt auf +/-OUTPUT_LIMIT
+     */
+    public double control(double error, double gain, double cycleTime);
+
+    /**
+     * transfer(double output, double error, double gain) - stossfreie Uebernahme...
+     * <p>
+     * Der interne Zustand (z.B. I-Anteil) wird so vorbelegt, dass bei der
+     * Regeldifferenz error und der Verstaerkung gain * kp der bisherige 
+     * Reglerausgang output erhalten bleibt (vgl. control(double, double, double)).
+     * Ohne I-Anteil (P-Regler bzw. Nachstellzeit 0) ist das nicht moeglich, der 
+     * Ausgang springt dann auf den neuen P-Anteil.
+     * </p>
+     * @param output - letzter Reglerausgang der abgeloesten Strategie
+     * @param error - aktuelle Regeldifferenz
+     * @param gain - Faktor der Verstaerkung
+     */
+    public void transfer(double output, double error, double gain);
+
+    /**
+     * reset(double error) - Zuruecksetzen des internen Zustandes...
+     * @param error - aktuelle Regeldifferenz
+     */
+    public void reset(double error);
+
+    /**
+     * getOutput() - letzter Reglerausgang...
+     * @return double
+     */
+    public double getOutput();
+
+    /**
+     * getType() - Art des Reglers...
+     * @return Type
+     */
+    public Type getType();
+
+    /**
+     * limit(double value) - Begrenzung auf den Stellbereich +/-OUTPUT_LIMIT...
+     * @param value
+     * @return begrenzter Wert
+     */
+    public static double limit(double value)
+    {
+        return (value > OUTPUT_LIMIT)? OUTPUT_LIMIT : ((value < -OUTPUT_LIMIT)? -OUTPUT_LIMIT : value);
+    }
+
+    /**
+     * Type - Art des Reglers (Auswahl an der Oberflaeche)
+     * <ul>
+     *  <li>P("P")</li>
+     *  <li>PI("PI")</li>
+     *  <li>PID("PID")</li>
+     * </ul>
+     *
+     * @author Detlef Tribius
+     */
+    public enum Type
+    {
+        /**
+         * P("P") - Proportionalregler
+         */
+        P("P"),
+        /**
+         * PI("PI") - Proportional-Integral-Regler
+         */
+        PI("PI"),
+        /**
+         * PID("PID") - Proportional-Integral-Differential-Regler
+         */
+        PID("PID");
+
+        /**
+         * Type - priv. Konstruktor
+         * @param type
+         */
+        private Type(String type)
+        {
+            this.type = type;
+        }
+
+        /**
+         * type - textuelle Beschreibung
+         */
+        private final String type;
+
+        /**
+         * create(double kp, double ti, double td) - liefert eine neue Instanz
+         * des Reglers mit den Parametern...
+         * @param kp - Verstaerkung
+         * @param ti - Nachstellzeit in s
+         * @param td - Vorhaltzeit in s
+         * @return ControlStrategy
+         */
+        public ControlStrategy create(double kp, double ti, double td)
+        {
+            switch (this)
+            {
+                case PI:
+                    return new PIControlStrategy(kp, ti);
+                case PID:
+                    return new PIDControlStrategy(kp, ti, td);
+                default:
+                    return new PControlStrategy(kp);
+            }
+        }
+
+        /**
+         * toString() - Anzeige in der ComboBox...
+         */
+        @Override
+        public String toString()
+        {
+            return this.type;
+        }
+    }
+}
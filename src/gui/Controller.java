@@ -2,7 +2,6 @@ package gui;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.math.BigDecimal;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -94,6 +93,24 @@ public class Controller implements ActionListener
                 this.model.doStop();
                 return;
             }
+            if (Model.NAME_AUTO_TUNE_BUTTON.equals(name))
+            {
+                // Autotuning-Button...
+                this.model.doAutoTune();
+                return;
+            }
+            if (Model.NAME_MOVE_BUTTON.equals(name))
+            {
+                // Positionieren-Button...
+                this.model.doMove();
+                return;
+            }
+            if (Model.NAME_STATISTICS_BUTTON.equals(name))
+            {
+                // Statistik-Button...
+                this.model.doStatistics();
+                return;
+            }
             if (Model.NAME_RESET_BUTTON.equals(name))
             {
                 // Reset-Button...
@@ -109,7 +126,8 @@ public class Controller implements ActionListener
         }
         if (source instanceof JComboBox<?>)
         {
-            final BigDecimal value = (BigDecimal)((JComboBox<?>)source).getSelectedItem();
+            // Auswahl ist BigDecimal (Sollwerte, Verstaerkung...) oder ControlStrategy.Type...
+            final Object value = ((JComboBox<?>)source).getSelectedItem();
             logger.info("actionPerformed(): " + event.getActionCommand() + " " + name + " " + ((value != null)? value : ""));
             this.model.setProperty(name, value);
             return;
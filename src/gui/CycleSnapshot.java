@@ -0,0 +1,143 @@
+/**
+ *
+ */
+package gui;
+
+import java.math.BigDecimal;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Die Klasse CycleSnapshot uebergibt die Zustandsgroessen des Regelzyklus
+ * zur Anzeige an einen anderen Thread, ohne Sperren und ohne Allokation im
+ * Regel-Thread.
+ * <p>
+ * Verfahren (StampedLock, nur optimistisches Lesen): Der Regel-Thread (einziger
+ * Schreiber) schreibt unter dem Schreib-Stempel. Der Leser kopiert die Werte
+ * ohne Sperre und wiederholt das Lesen, wenn der Stempel waehrenddessen
+ * ungueltig wurde. Da kein Leser je sperrt, wartet der Schreiber nie.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class CycleSnapshot
+{
+    /**
+     * lock - Stempel zur Pruefung der Konsistenz (Leser nur optimistisch)
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * version - Anzahl der Schreibvorgaenge
+     */
+    private volatile long version = 0L;
+
+    /**
+     * counter - Zaehler der Zyklen
+     */
+    private long counter = 0L;
+
+    /**
+     * cycleTime - Zykluszeit in s
+     */
+    private double cycleTime = 0.0;
+
+    /**
+     * token - Kennung im Austausch mit dem Arduino
+     */
+    private long token = 0L;
+
+    /**
+     * overruns - Anzahl der Ueberlaeufe des Regelzyklus
+     */
+    private long overruns = 0L;
+
+    /**
+     * number[], speed[], output[] - Kopien der Zustandsgroessen je Achse
+     */
+    private final long[] number;
+    private final double[] speed;
+    private final double[] output;
+
+    /**
+     * CycleSnapshot(int axes)
+     * @param axes - Anzahl der Achsen
+     */
+    public CycleSnapshot(int axes)
+    {
+        this.number = new long[axes];
+        this.speed = new double[axes];
+        this.output = new double[axes];
+    }
+
+    /**
+     * write(long counter, double cycleTime, long token, long overruns, Axes axes) - Ablage der
+     * Werte des Zyklus (nur durch den Regel-Thread)...
+     * @param counter
+     * @param cycleTime - Zykluszeit in s
+     * @param token
+     * @param overruns - Anzahl der Ueberlaeufe des Regelzyklus
+     * @param axes
+     */
+    public void write(long counter, double cycleTime, long token, long overruns, Axes axes)
+    {
+        final long stamp = this.lock.writeLock();
+        this.counter = counter;
+        this.cycleTime = cycleTime;
+        this.token = token;
+        this.overruns = overruns;
+        final int count = Math.min(axes.getCount(), this.number.length);
+        for (int axis = 0; axis < count; axis++)
+        {
+            this.number[axis] = axes.number[axis];
+            this.speed[axis] = axes.speed[axis];
+            this.output[axis] = axes.output[axis];
+        }
+        this.lock.unlockWrite(stamp);
+        this.version++;
+    }
+
+    /**
+     * getVersion() - aendert sich mit jedem write()
+     * @return long
+     */
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    /**
+     * toData(int scale) - konsistente Kopie als Data zur Anzeige (nicht im Regel-Thread)...
+     * @param scale - Anzahl der Nachkommastellen der Zykluszeit
+     * @return Data
+     */
+    public Data toData(int scale)
+    {
+        final long[] number = new long[this.number.length];
+        final double[] speed = new double[this.speed.length];
+        final double[] output = new double[this.output.length];
+        long counter;
+        double cycleTime;
+        long token;
+        long overruns;
+        long stamp;
+        do
+        {
+            stamp = this.lock.tryOptimisticRead();
+            counter = this.counter;
+            cycleTime = this.cycleTime;
+            token = this.token;
+            overruns = this.overruns;
+            System.arraycopy(this.number, 0, number, 0, number.length);
+            System.arraycopy(this.speed, 0, speed, 0, speed.length);
+            System.arraycopy(this.output, 0, output, 0, output.length);
+        }
+        while ((stamp == 0L) || !this.lock.validate(stamp));
+        return new Data(counter,
+                        BigDecimal.valueOf(cycleTime).setScale(scale, BigDecimal.ROUND_HALF_UP),
+                        token,
+                        overruns,
+                        number,
+                        speed,
+                        output);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Schnittstelle CycleSource beschreibt die Quelle des Taktes, der den
+ * Regelzyklus (ControlEngine) ausloest.
+ * <p>
+ * Eine Quelle meldet jeden Takt mit ControlEngine.signal(long timestamp).
+ * Implementierungen sind die steigende Flanke am GPIO_CYCLE_PIN (GpioCycleSource,
+ * Takt durch den Arduino) und ein interner Zeitgeber (ClockCycleSource, z.B.
+ * ohne Raspi oder zum Test anderer Taktzeiten).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public interface CycleSource
+{
+    /**
+     * start(ControlEngine engine) - Takte an die engine melden...
+     * @param engine
+     */
+    void start(ControlEngine engine);
+
+    /**
+     * stop() - keine weiteren Takte melden...
+     */
+    void stop();
+
+    /**
+     * Type - Art der Taktquelle (Auswahl in den Systemeinstellungen)...
+     */
+    public enum Type
+    {
+        /**
+         * GPIO("GPIO-Flanke") - steigende Flanke am GPIO_CYCLE_PIN (nur auf dem Raspi)
+         */
+        GPIO("GPIO-Flanke"),
+        /**
+         * CLOCK("Interner Takt") - interner Zeitgeber mit einstellbarer Periode
+         */
+        CLOCK("Interner Takt");
+
+        /**
+         * type - textuelle Beschreibung
+         */
+        private final String type;
+
+        /**
+         * Type - priv. Konstruktor
+         * @param type
+         */
+        private Type(String type)
+        {
+            this.type = type;
+        }
+
+        /**
+         * getType()
+         * @return type
+         */
+        public String getType()
+        {
+            return this.type;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.type;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse CycleStatistics fasst die Zeitmessungen des Regelzyklus zusammen
+ * (immer aktiv, Erfassung im Regel-Thread ohne Allokation):
+ * <ul>
+ * <li>period - Abstand zweier Takte (Flanke zu Flanke, Zeitstempel der Flanken)</li>
+ * <li>dispatch - Flanke bis zum Beginn des Zyklus im Regel-Thread (Verzoegerung
+ * der Zustellung, geht nicht in die Periode ein)</li>
+ * <li>latency - Flanke bis zur Ausgabe der Pwm-Werte (writeOutputs())</li>
+ * <li>i2c - Dauer des Austausches mit dem Arduino (write() und read()), mit
+ * ArduinoPipeline im I2C-Thread erfasst</li>
+ * </ul>
+ * Damit laesst sich belegen, dass der Regelzyklus innerhalb der Taktzeit
+ * abgeschlossen wird (latency deutlich kleiner als period).
+ *
+ * @author Detlef Tribius
+ */
+public class CycleStatistics
+{
+    /**
+     * period - Abstand zweier Takte
+     */
+    private final LatencyHistogram period = new LatencyHistogram("Periode");
+
+    /**
+     * dispatch - Flanke bis Beginn des Zyklus
+     */
+    private final LatencyHistogram dispatch = new LatencyHistogram("Flanke-Zyklus");
+
+    /**
+     * latency - Flanke bis Pwm-Ausgabe
+     */
+    private final LatencyHistogram latency = new LatencyHistogram("Flanke-Pwm");
+
+    /**
+     * i2c - Dauer Austausch mit dem Arduino
+     */
+    private final LatencyHistogram i2c = new LatencyHistogram("I2C-Arduino");
+
+    /**
+     * @return the period
+     */
+    public final LatencyHistogram getPeriod()
+    {
+        return this.period;
+    }
+
+    /**
+     * @return the dispatch
+     */
+    public final LatencyHistogram getDispatch()
+    {
+        return this.dispatch;
+    }
+
+    /**
+     * @return the latency
+     */
+    public final LatencyHistogram getLatency()
+    {
+        return this.latency;
+    }
+
+    /**
+     * @return the i2c
+     */
+    public final LatencyHistogram getI2c()
+    {
+        return this.i2c;
+    }
+
+    /**
+     * toSummary() - Kurzfassung zur Anzeige (nicht im Regel-Thread)...
+     * @return Summary
+     */
+    public Summary toSummary()
+    {
+        return new Summary(this.period, this.dispatch, this.latency, this.i2c);
+    }
+
+    /**
+     * dump() - Ausgabe aller Histogramme (z.B. ins Log)...
+     * @return String
+     */
+    public String dump()
+    {
+        final StringBuilder builder = new StringBuilder();
+        this.period.dump(builder);
+        this.dispatch.dump(builder);
+        this.latency.dump(builder);
+        this.i2c.dump(builder);
+        return builder.toString();
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return this.period.toString() + ", " + this.dispatch.toString() + ", " + this.latency.toString() + ", " + this.i2c.toString();
+    }
+
+    /**
+     * Summary - unveraenderliche Kurzfassung (p50 / p99 / max in ms) je Messung.
+     * <p>
+     * Die Anzeige erfolgt analog zu Data ueber getKeys()/getValue(String key).
+     * </p>
+     *
+     * @author Detlef Tribius
+     */
+    public final static class Summary
+    {
+        /**
+         * PERIOD_KEY = "periodKey" - Abstand der Takte
+         */
+        public final static String PERIOD_KEY = "periodKey";
+
+        /**
+         * DISPATCH_KEY = "dispatchKey" - Flanke bis Beginn des Zyklus
+         */
+        public final static String DISPATCH_KEY = "dispatchKey";
+
+        /**
+         * LATENCY_KEY = "latencyKey" - Flanke bis Pwm-Ausgabe
+         */
+        public final static String LATENCY_KEY = "latencyKey";
+
+        /**
+         * I2C_KEY = "i2cKey" - Austausch mit dem Arduino
+         */
+        public final static String I2C_KEY = "i2cKey";
+
+        /**
+         * period, dispatch, latency, i2c - Anzeige "p50 / p99 / max" in ms
+         */
+        private final String period;
+        private final String dispatch;
+        private final String latency;
+        private final String i2c;
+
+        /**
+         * Summary(LatencyHistogram period, LatencyHistogram dispatch, LatencyHistogram latency, LatencyHistogram i2c)
+         * @param period
+         * @param dispatch
+         * @param latency
+         * @param i2c
+         */
+        Summary(LatencyHistogram period, LatencyHistogram dispatch, LatencyHistogram latency, LatencyHistogram i2c)
+        {
+            this.period = format(period);
+            this.dispatch = format(dispatch);
+            this.latency = format(latency);
+            this.i2c = format(i2c);
+        }
+
+        /**
+         * format(LatencyHistogram histogram) - "p50 / p99 / max" in ms
+         * @param histogram
+         * @return String
+         */
+        private static String format(LatencyHistogram histogram)
+        {
+            return String.format("%.2f / %.2f / %.2f",
+                                 LatencyHistogram.toMillis(histogram.getPercentile(0.50)),
+                                 LatencyHistogram.toMillis(histogram.getPercentile(0.99)),
+                                 LatencyHistogram.toMillis(histogram.getMax()));
+        }
+
+        /**
+         * getKeys() - liefert den Zugriff auf alle Attribute.
+         * @return String[]
+         */
+        public String[] getKeys()
+        {
+            return new String[] {PERIOD_KEY, DISPATCH_KEY, LATENCY_KEY, I2C_KEY};
+        }
+
+        /**
+         * getValue(String key) - Bereitstellung der Anzeige...
+         * @param key
+         * @return String-Anzeige
+         */
+        public String getValue(String key)
+        {
+            if (PERIOD_KEY.equals(key))
+            {
+                return this.period;
+            }
+            if (DISPATCH_KEY.equals(key))
+            {
+                return this.dispatch;
+            }
+            if (LATENCY_KEY.equals(key))
+            {
+                return this.latency;
+            }
+            if (I2C_KEY.equals(key))
+            {
+                return this.i2c;
+            }
+            return null;
+        }
+
+        /**
+         * toString()
+         */
+        @Override
+        public String toString()
+        {
+            return "Summary [period=" + this.period + ", dispatch=" + this.dispatch + ", latency=" + this.latency + ", i2c=" + this.i2c + "]";
+        }
+    }
+}
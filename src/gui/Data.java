@@ -1,5 +1,5 @@
 /**
- * 
+ *
  */
 package gui;
 
@@ -25,51 +25,94 @@ public class Data implements Comparable<Data>
      * TOKEN_KEY = "tokenKey"
      */
     public final static String TOKEN_KEY = "tokenKey";
-    
+
+    /**
+     * OVERRUNS_KEY = "overrunsKey" - Anzahl der Ueberlaeufe des Regelzyklus
+     */
+    public final static String OVERRUNS_KEY = "overrunsKey";
+
+    /**
+     * NUMBER_KEYS[] - Keys der Lageinformation je Achse
+     * ("numberMAKey", "numberMBKey", "numberMCKey", ...)
+     */
+    private final static String[] NUMBER_KEYS = createKeys("number");
+
+    /**
+     * SPEED_KEYS[] - Keys der Drehzahl je Achse
+     * ("speedMAKey", "speedMBKey", "speedMCKey", ...)
+     */
+    private final static String[] SPEED_KEYS = createKeys("speed");
+
+    /**
+     * OUTPUT_KEYS[] - Keys der Stellgroesse je Achse
+     * ("outputMAKey", "outputMBKey", "outputMCKey", ...)
+     */
+    private final static String[] OUTPUT_KEYS = createKeys("output");
+
     /**
      * NUMBER_MA_KEY = "numberMAKey"
      */
-    public final static String NUMBER_MA_KEY = "numberMAKey";
-    
+    public final static String NUMBER_MA_KEY = getNumberKey(0);
+
     /**
      * NUMBER_MB_KEY = "numberMBKey"
      */
-    public final static String NUMBER_MB_KEY = "numberMBKey";
+    public final static String NUMBER_MB_KEY = getNumberKey(1);
+
+    /**
+     * SPEED_MA_KEY = "speedMAKey" - Drehzahl Motor A
+     */
+    public final static String SPEED_MA_KEY = getSpeedKey(0);
+
+    /**
+     * SPEED_MB_KEY = "speedMBKey" - Drehzahl Motor B
+     */
+    public final static String SPEED_MB_KEY = getSpeedKey(1);
 
     /**
      * OUTPUT_MA_KEY = "outputMAKey" - Stellgroesse Motor A
      */
-    public final static String OUTPUT_MA_KEY = "outputMAKey";
-    
+    public final static String OUTPUT_MA_KEY = getOutputKey(0);
+
     /**
      * OUTPUT_MB_KEY = "outputMBKey" - Stellgroesse Motor B
      */
-    public final static String OUTPUT_MB_KEY = "outputMBKey";
-    
+    public final static String OUTPUT_MB_KEY = getOutputKey(1);
+
     /**
      * Long counter - Zaehler
      */
     private final Long counter;
-    
+
     /**
      * BigDecimal cycleTime - Zyklusdauer
      */
     private final BigDecimal cycleTime;
-    
+
     /**
      * String token
      */
     private final String token;
-    
+
+    /**
+     * Long overruns - Anzahl der Ueberlaeufe des Regelzyklus (vgl. ControlEngine)
+     */
+    private final Long overruns;
+
     /**
-     * Long numberMA
+     * Long numbers[] - Lageinformation je Achse
      */
-    private final Long numberMA;
-    
+    private final Long[] numbers;
+
+    /**
+     * SCALE_SPEED = 1 - Genauigkeit der Drehzahlanzeige (1 Nachkommastelle)
+     */
+    public final static int SCALE_SPEED = 1;
+
     /**
-     * Long numberMB
+     * BigDecimal speeds[] - Drehzahl je Achse in U/min
      */
-    private final Long numberMB;
+    private final BigDecimal[] speeds;
 
     /**
      * SCALE_OUTPUT = 3 - Genauigkeit der Sollwertvorgabe (3 Nachkommastellen)
@@ -80,56 +123,107 @@ public class Data implements Comparable<Data>
     public final static int SCALE_OUTPUT = 3;
 
     /**
-     * BigDecimal outputMA - Stellgroesse Motor A
-     */
-    private final BigDecimal outputMA;
-    
-    /**
-     * BigDecimal outputMB - Stellgroesse Motor B
+     * BigDecimal outputs[] - Stellgroesse je Achse
      */
-    private final BigDecimal outputMB;
-    
+    private final BigDecimal[] outputs;
+
     /**
-     * Data() - Defaultkonstruktor...
+     * Data(int axes) - Konstruktor mit Nullwerten fuer alle Achsen...
+     * @param axes - Anzahl der Achsen
      */
-    public Data()
+    public Data(int axes)
     {
-        this(0L, 
-             BigDecimal.ZERO, 
-             0L, 
-             0L, 
-             0L, 
-             BigDecimal.ZERO.setScale(SCALE_OUTPUT),  
-             BigDecimal.ZERO.setScale(SCALE_OUTPUT));
+        this(0L,
+             BigDecimal.ZERO,
+             0L,
+             0L,
+             new long[axes],
+             new double[axes],
+             new double[axes]);
     }
-    
+
     /**
-     * Data(long counter, BigDecimal cycleTime, long token, long numberMA, long numberMB) - Konstruktor aus allen Attributen...
+     * Data(long counter, BigDecimal cycleTime, long token, long overruns, long[] numbers, double[] speeds, double[] outputs) - Konstruktor aus allen Attributen...
+     * <p>
+     * Die Arrays (je Achse ein Eintrag) werden nicht uebernommen, sondern zur Anzeige gewandelt.
+     * </p>
      * @param counter - Zaehler, keine weitere funktionale Bedeutung
      * @param cycleTime - Zyklusdauer (Regelalgorithmus erfolgt getaktet, T ist Zyklusdauer)
      * @param token - Kennung wird zwischen Arduino und Raspberry ausgetauscht
-     * @param numberMA - Lageinformation Motor A
-     * @param numberMB - Lageinformation Motor B
-     * @param outputMA - Stellgroesse zum Motor A
-     * @param outputMB - Stellgroesse zum Motor B
-     */
-    public Data(long counter, 
-                BigDecimal cycleTime, 
-                long token, 
-                long numberMA, 
-                long numberMB,
-                BigDecimal outputMA,
-                BigDecimal outputMB)
+     * @param overruns - Anzahl der Ueberlaeufe des Regelzyklus
+     * @param numbers - Lageinformation je Achse
+     * @param speeds - Drehzahl je Achse in U/min
+     * @param outputs - Stellgroesse je Achse (primitiv, wird erst hier zur Anzeige gewandelt)
+     */
+    public Data(long counter,
+                BigDecimal cycleTime,
+                long token,
+                long overruns,
+                long[] numbers,
+                double[] speeds,
+                double[] outputs)
     {
         this.counter = Long.valueOf(counter);
         this.cycleTime = (cycleTime != null)? cycleTime : BigDecimal.ZERO;
         this.token = getTokenAsString(token);
-        this.numberMA = Long.valueOf(numberMA);
-        this.numberMB = Long.valueOf(numberMB);
-        this.outputMA = (outputMA != null)? outputMA : BigDecimal.ZERO.setScale(SCALE_OUTPUT);
-        this.outputMB = (outputMB != null)? outputMB : BigDecimal.ZERO.setScale(SCALE_OUTPUT);
+        this.overruns = Long.valueOf(overruns);
+        final int axes = Math.min(numbers.length, Axes.MAX_AXES);
+        this.numbers = new Long[axes];
+        this.speeds = new BigDecimal[axes];
+        this.outputs = new BigDecimal[axes];
+        for (int axis = 0; axis < axes; axis++)
+        {
+            this.numbers[axis] = Long.valueOf(numbers[axis]);
+            this.speeds[axis] = BigDecimal.valueOf(speeds[axis]).setScale(SCALE_SPEED, BigDecimal.ROUND_HALF_UP);
+            this.outputs[axis] = BigDecimal.valueOf(outputs[axis]).setScale(SCALE_OUTPUT, BigDecimal.ROUND_HALF_UP);
+        }
     }
-    
+
+    /**
+     * createKeys(String prefix) - Keys je Achse, z.B. "numberMAKey", "numberMBKey", ...
+     * @param prefix
+     * @return String[]
+     */
+    private static String[] createKeys(String prefix)
+    {
+        final String[] keys = new String[Axes.MAX_AXES];
+        for (int axis = 0; axis < Axes.MAX_AXES; axis++)
+        {
+            keys[axis] = prefix + "M" + (char)('A' + axis) + "Key";
+        }
+        return keys;
+    }
+
+    /**
+     * getNumberKey(int axis) - Key der Lageinformation der Achse
+     * @param axis - Index der Achse
+     * @return String
+     */
+    public static String getNumberKey(int axis)
+    {
+        return NUMBER_KEYS[axis];
+    }
+
+    /**
+     * getSpeedKey(int axis) - Key der Drehzahl der Achse
+     * @param axis - Index der Achse
+     * @return String
+     */
+    public static String getSpeedKey(int axis)
+    {
+        return SPEED_KEYS[axis];
+    }
+
+    /**
+     * getOutputKey(int axis) - Key der Stellgroesse der Achse
+     * @param axis - Index der Achse
+     * @return String
+     */
+    public static String getOutputKey(int axis)
+    {
+        return OUTPUT_KEYS[axis];
+    }
+
     /**
      * @return the counter
      */
@@ -155,35 +249,47 @@ public class Data implements Comparable<Data>
     }
 
     /**
-     * @return the numberMA
+     * @return the overruns
      */
-    public final Long getNumberMA()
+    public final Long getOverruns()
     {
-        return this.numberMA;
+        return this.overruns;
     }
 
     /**
-     * @return the numberMB
+     * getAxes() - Anzahl der Achsen
+     * @return int
      */
-    public final Long getNumberMB()
+    public final int getAxes()
     {
-        return this.numberMB;
+        return this.numbers.length;
     }
 
     /**
-     * @return the outputMA
+     * @param axis - Index der Achse
+     * @return the number
      */
-    public final BigDecimal getOutputMA()
+    public final Long getNumber(int axis)
     {
-        return this.outputMA;
+        return this.numbers[axis];
     }
 
     /**
-     * @return the outputMB
+     * @param axis - Index der Achse
+     * @return the speed
      */
-    public final BigDecimal getOutputMB()
+    public final BigDecimal getSpeed(int axis)
     {
-        return this.outputMB;
+        return this.speeds[axis];
+    }
+
+    /**
+     * @param axis - Index der Achse
+     * @return the output
+     */
+    public final BigDecimal getOutput(int axis)
+    {
+        return this.outputs[axis];
     }
 
     /**
@@ -195,14 +301,20 @@ public class Data implements Comparable<Data>
      */
     public String[] getKeys()
     {
-        return new String[] {Data.COUNTER_KEY,
-                             Data.CYCLE_TIME_KEY,
-                             Data.TOKEN_KEY,
-                             Data.NUMBER_MA_KEY,
-                             Data.NUMBER_MB_KEY,
-                             Data.OUTPUT_MA_KEY,
-                             Data.OUTPUT_MB_KEY};
-    }    
+        final int axes = getAxes();
+        final String[] keys = new String[4 + 3 * axes];
+        keys[0] = Data.COUNTER_KEY;
+        keys[1] = Data.CYCLE_TIME_KEY;
+        keys[2] = Data.TOKEN_KEY;
+        keys[3] = Data.OVERRUNS_KEY;
+        for (int axis = 0; axis < axes; axis++)
+        {
+            keys[4 + axis] = getNumberKey(axis);
+            keys[4 + axes + axis] = getSpeedKey(axis);
+            keys[4 + 2 * axes + axis] = getOutputKey(axis);
+        }
+        return keys;
+    }
 
     /**
      * getValue(String key) - Bereitstellung der Anzeige...
@@ -223,21 +335,24 @@ public class Data implements Comparable<Data>
         {
             return this.token;
         }
-        if (Data.NUMBER_MA_KEY.equals(key))
-        {
-            return (this.numberMA != null)? this.numberMA.toString() : null;
-        }
-        if (Data.NUMBER_MB_KEY.equals(key))
-        {
-            return (this.numberMB != null)? this.numberMB.toString() : null;
-        }
-        if (Data.OUTPUT_MA_KEY.equals(key))
+        if (Data.OVERRUNS_KEY.equals(key))
         {
-            return (this.outputMA != null)? this.outputMA.toString() : null;
+            return (this.overruns != null)? this.overruns.toString() : null;
         }
-        if (Data.OUTPUT_MB_KEY.equals(key))
+        for (int axis = 0; axis < getAxes(); axis++)
         {
-            return (this.outputMB != null)? this.outputMB.toString() : null;
+            if (getNumberKey(axis).equals(key))
+            {
+                return this.numbers[axis].toString();
+            }
+            if (getSpeedKey(axis).equals(key))
+            {
+                return this.speeds[axis].toString();
+            }
+            if (getOutputKey(axis).equals(key))
+            {
+                return this.outputs[axis].toString();
+            }
         }
         return null;
     }
@@ -252,7 +367,7 @@ public class Data implements Comparable<Data>
      */
     public static String getTokenAsString(long token)
     {
-        return Long.toHexString((token & 0xffffffff)).toUpperCase(); 
+        return Long.toHexString((token & 0xffffffff)).toUpperCase();
     }
 
     /**
@@ -263,7 +378,7 @@ public class Data implements Comparable<Data>
     {
         return this.counter.compareTo(other.counter);
     }
-    
+
     /**
      * hashCode() - durch Eclipse nur auf Basis von <code>counter</code>!
      */
@@ -297,7 +412,7 @@ public class Data implements Comparable<Data>
             {
                 return false;
             }
-        } 
+        }
         else if (!counter.equals(other.counter))
         {
             return false;
@@ -311,21 +426,23 @@ public class Data implements Comparable<Data>
     @Override
     public String toString()
     {
-        return new StringBuilder().append("[")
-                                  .append(this.counter)
-                                  .append(" ")
-                                  .append(this.cycleTime)
-                                  .append(" ")
-                                  .append(this.token)
-                                  .append(" ")
-                                  .append(this.numberMA)
-                                  .append(" ")
-                                  .append(this.numberMB)
-                                  .append(" ")
-                                  .append(this.outputMA)
-                                  .append(" ")
-                                  .append(this.outputMB)
-                                  .append("]")
-                                  .toString();
+        final StringBuilder builder = new StringBuilder().append("[")
+                                                         .append(this.counter)
+                                                         .append(" ")
+                                                         .append(this.cycleTime)
+                                                         .append(" ")
+                                                         .append(this.token)
+                                                         .append(" ")
+                                                         .append(this.overruns);
+        for (int axis = 0; axis < getAxes(); axis++)
+        {
+            builder.append(" ")
+                   .append(this.numbers[axis])
+                   .append(" ")
+                   .append(this.speeds[axis])
+                   .append(" ")
+                   .append(this.outputs[axis]);
+        }
+        return builder.append("]").toString();
     }
 }
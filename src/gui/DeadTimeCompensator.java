@@ -0,0 +1,109 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.Arrays;
+
+/**
+ * Die Klasse DeadTimeCompensator realisiert die Totzeitkompensation der
+ * Gleichlaufregelung nach dem Prinzip des Smith-Praediktors.
+ * <p>
+ * Zwischen Reglerausgang und gemessener Lage liegt ein voller Zyklus
+ * Totzeit (Impulse vom Arduino, dann Pwm-Ausgabe ueber I2C). Ein Modell der
+ * Strecke ohne Totzeit wird mit den Reglerausgaengen des letzten Zyklus und
+ * der gemessenen Zykluszeit nachgefuehrt. Die Aenderung der Modell-Lage im
+ * letzten Zyklus ist die Wirkung, die die Messung noch nicht zeigt. Sie wird
+ * der gemessenen Lageabweichung aufgeschaltet. Damit sieht der Regler
+ * (naeherungsweise) eine Strecke ohne Totzeit und vertraegt hoehere
+ * Verstaerkungen.
+ * </p>
+ * <p>
+ * Streckenmodell je Achse: Die Korrektur einer Achse (bezogen auf die
+ * Korrekturen der anderen Achsen, vgl. kreuzgekoppelte Regelung) aendert die
+ * Drehzahl ueber ein Verzoegerungsglied 1. Ordnung (TIME_CONSTANT), die
+ * Korrektur 1.0 entspricht der Nenndrehzahl (countsPerSecond).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class DeadTimeCompensator
+{
+    /**
+     * TIME_CONSTANT = 0.1 - mechanische Zeitkonstante des Streckenmodells in s
+     */
+    public final static double TIME_CONSTANT = 0.1;
+
+    /**
+     * countsPerSecond - Impulse pro s bei Nenndrehzahl (Stellgroesse 1.0)
+     */
+    private final double countsPerSecond;
+
+    /**
+     * speeds[] - Modell-Drehzahl (Aenderung der Lageabweichung) je Achse in Impulsen/s
+     */
+    private final double[] speeds;
+
+    /**
+     * predictions[] - Aenderung der Modell-Lage im letzten Zyklus je Achse in Impulsen
+     */
+    private final double[] predictions;
+
+    /**
+     * DeadTimeCompensator(int axes, double countsPerSecond)
+     * @param axes - Anzahl der Achsen
+     * @param countsPerSecond - Impulse pro s bei Nenndrehzahl
+     */
+    public DeadTimeCompensator(int axes, double countsPerSecond)
+    {
+        this.countsPerSecond = (countsPerSecond > 0.0)? countsPerSecond : 1.0;
+        this.speeds = new double[axes];
+        this.predictions = new double[axes];
+    }
+
+    /**
+     * update(double[] correction, boolean[] controlled, int count, double cycleTime) -
+     * Streckenmodell um einen Zyklus nachfuehren...
+     * @param correction - Reglerausgaenge des letzten Zyklus je Achse
+     * @param controlled - Reglerausgang wirkt auf die Achse?
+     * @param count - Anzahl der Achsen
+     * @param cycleTime - gemessene Zykluszeit in s
+     */
+    public void update(double[] correction, boolean[] controlled, int count, double cycleTime)
+    {
+        double sum = 0.0;
+        for (int axis = 0; axis < count; axis++)
+        {
+            sum += controlled[axis]? correction[axis] : 0.0;
+        }
+        final double factor = cycleTime / (TIME_CONSTANT + cycleTime);
+        for (int axis = 0; axis < count; axis++)
+        {
+            final double own = controlled[axis]? correction[axis] : 0.0;
+            // Wirksame Korrektur: eigene Korrektur abzueglich Mittelwert der anderen...
+            final double input = (count > 1)? (own - (sum - own) / (count - 1.0)) : own;
+            // Die Korrektur wird vom Sollwert abgezogen => Lageabweichung nimmt ab...
+            this.speeds[axis] += (-this.countsPerSecond * input - this.speeds[axis]) * factor;
+            this.predictions[axis] = this.speeds[axis] * cycleTime;
+        }
+    }
+
+    /**
+     * getPrediction(int axis) - noch nicht gemessene Aenderung der Lageabweichung
+     * @param axis - Index der Achse
+     * @return Impulse
+     */
+    public double getPrediction(int axis)
+    {
+        return this.predictions[axis];
+    }
+
+    /**
+     * reset() - Streckenmodell zuruecksetzen...
+     */
+    public void reset()
+    {
+        Arrays.fill(this.speeds, 0.0);
+        Arrays.fill(this.predictions, 0.0);
+    }
+}
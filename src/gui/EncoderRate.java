@@ -0,0 +1,131 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse EncoderRate bestimmt die Impulsrate (Impulse/s) einer Achse aus
+ * den Abtastwerten des Arduino (Zeitstempel und Zaehlerstand, vgl. BatchedArduinoLink).
+ * <p>
+ * Die Rate ist die Steigung der Ausgleichsgeraden (kleinste Quadrate) durch
+ * den letzten Abtastwert des vorherigen Zyklus und die Abtastwerte des aktuellen
+ * Zyklus. Die Zeitbasis ist der Zeitstempel des Arduino, der Jitter der Flanke
+ * und des Austausches geht damit nicht ein. Zeitstempel und Zaehler sind 4 Byte
+ * ohne Vorzeichen, der Ueberlauf wird ueber die Differenzen behandelt.
+ * </p>
+ * <p>
+ * Die Zaehler liefern nur den Betrag, das Vorzeichen ergibt sich wie in
+ * Axes.updatePositions() aus der Stellgroesse. Zugriff nur aus dem Regel-Thread!
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class EncoderRate
+{
+    /**
+     * MAX_GAP = 1000000L - groesster Abstand (in us) zum Abtastwert des vorherigen
+     * Zyklus, sonst wird er nicht verwendet (z.B. nach Stop/Start)
+     */
+    public final static long MAX_GAP = 1000000L;
+
+    /**
+     * MASK = 0xffffffffL - 4 Byte ohne Vorzeichen
+     */
+    private final static long MASK = 0xffffffffL;
+
+    /**
+     * lastTime - Zeitstempel des letzten Abtastwertes in us
+     */
+    private long lastTime = 0L;
+
+    /**
+     * lastCount - Zaehlerstand des letzten Abtastwertes
+     */
+    private long lastCount = 0L;
+
+    /**
+     * hasLast - liegt ein Abtastwert des vorherigen Zyklus vor?
+     */
+    private boolean hasLast = false;
+
+    /**
+     * rate - zuletzt bestimmte Impulsrate in Impulse/s, NaN ohne Ergebnis
+     */
+    private double rate = Double.NaN;
+
+    /**
+     * update(long[] time, long[] count, int samples) - Impulsrate aus den Abtastwerten
+     * des Zyklus bestimmen...
+     * @param time - Zeitstempel der Abtastwerte in us (aeltester zuerst)
+     * @param count - Zaehlerstaende der Abtastwerte
+     * @param samples - Anzahl der Abtastwerte
+     * @return Impulsrate in Impulse/s (Betrag), NaN wenn nicht bestimmbar
+     */
+    public double update(long[] time, long[] count, int samples)
+    {
+        if (samples < 1)
+        {
+            this.hasLast = false;
+            this.rate = Double.NaN;
+            return this.rate;
+        }
+        // Bezugspunkt: letzter Abtastwert des vorherigen Zyklus, sonst der erste des Zyklus...
+        final boolean isLast = this.hasLast && (((time[0] - this.lastTime) & MASK) <= MAX_GAP);
+        final long time0 = isLast? this.lastTime : time[0];
+        final long count0 = isLast? this.lastCount : count[0];
+        // Summen relativ zum Bezugspunkt (der Bezugspunkt selbst ist (0, 0))...
+        int n = isLast? 1 : 0;
+        double sumT = 0.0;
+        double sumC = 0.0;
+        double sumTT = 0.0;
+        double sumTC = 0.0;
+        for (int index = isLast? 0 : 1; index < samples; index++)
+        {
+            final double t = ((time[index] - time0) & MASK) * 1.0E-6;
+            final double c = (double) ((count[index] - count0) & MASK);
+            sumT += t;
+            sumC += c;
+            sumTT += t * t;
+            sumTC += t * c;
+            n++;
+        }
+        if (!isLast)
+        {
+            // Erster Abtastwert als Bezugspunkt...
+            n++;
+        }
+        final double sxx = sumTT - sumT * sumT / n;
+        this.rate = (n >= 2 && sxx > 0.0)? (sumTC - sumT * sumC / n) / sxx : Double.NaN;
+        this.lastTime = time[samples - 1];
+        this.lastCount = count[samples - 1];
+        this.hasLast = true;
+        return this.rate;
+    }
+
+    /**
+     * getRate() - zuletzt bestimmte Impulsrate
+     * @return Impulse/s, NaN ohne Ergebnis
+     */
+    public double getRate()
+    {
+        return this.rate;
+    }
+
+    /**
+     * reset() - Abtastwert des vorherigen Zyklus verwerfen...
+     */
+    public void reset()
+    {
+        this.hasLast = false;
+        this.rate = Double.NaN;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "EncoderRate [rate=" + this.rate + ", lastTime=" + this.lastTime + ", lastCount=" + this.lastCount + "]";
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Die Klasse GainSchedule realisiert eine Verstaerkungs-Tabelle
+ * (Gain-Scheduling) abhaengig vom Betrag des Sollwertes.
+ * <p>
+ * Die Tabelle besteht aus aufsteigend sortierten Stuetzstellen
+ * (Betrag des Sollwertes 0.0 ... 1.0) mit je einem Verstaerkungsfaktor.
+ * Der Faktor wird auf die an der Oberflaeche eingestellte Verstaerkung
+ * angewendet, zwischen den Stuetzstellen wird linear interpoliert, ausserhalb
+ * gilt der Faktor der ersten bzw. letzten Stuetzstelle.
+ * </p>
+ * <p>
+ * Die Suche erfolgt binaer (O(log n)). Da sich der Sollwert nur selten
+ * aendert, wird zuvor das zuletzt verwendete Intervall geprueft (dann O(1)).
+ * </p>
+ * <p>
+ * Format in der system.properties (Key GAIN_SCHEDULE_KEY):<br>
+ * <code>gainSchedule = 0.1:2.0, 0.3:1.5, 0.6:1.0, 1.0:0.8</code>
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class GainSchedule
+{
+    /**
+     * setpoints - Stuetzstellen (Betrag des Sollwertes), aufsteigend sortiert
+     */
+    private final double[] setpoints;
+
+    /**
+     * factors - Verstaerkungsfaktoren zu den Stuetzstellen
+     */
+    private final double[] factors;
+
+    /**
+     * lastIndex - Index des zuletzt verwendeten Intervalls [lastIndex, lastIndex + 1]
+     */
+    private int lastIndex = 0;
+
+    /**
+     * GainSchedule(double[] setpoints, double[] factors)
+     * @param setpoints - Stuetzstellen, streng monoton steigend
+     * @param factors - Verstaerkungsfaktoren
+     * @throws IllegalArgumentException bei ungueltiger Tabelle
+     */
+    public GainSchedule(double[] setpoints, double[] factors)
+    {
+        if (setpoints == null || factors == null || setpoints.length == 0 || setpoints.length != factors.length)
+        {
+            throw new IllegalArgumentException("GainSchedule: setpoints/factors ungueltig!");
+        }
+        for (int index = 1; index < setpoints.length; index++)
+        {
+            if (!(setpoints[index] > setpoints[index - 1]))
+            {
+                throw new IllegalArgumentException("GainSchedule: setpoints nicht aufsteigend sortiert!");
+            }
+        }
+        this.setpoints = Arrays.copyOf(setpoints, setpoints.length);
+        this.factors = Arrays.copyOf(factors, factors.length);
+    }
+
+    /**
+     * parse(String schedule) - Anlegen aus der Angabe in der system.properties...
+     * <p>
+     * Format: Liste von <code>setpoint:factor</code>, getrennt durch Komma,
+     * die Reihenfolge ist beliebig (wird sortiert).
+     * </p>
+     * @param schedule
+     * @return GainSchedule
+     * @throws IllegalArgumentException bei ungueltiger Angabe
+     */
+    public static GainSchedule parse(String schedule)
+    {
+        if (schedule == null || schedule.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("GainSchedule: keine Angabe!");
+        }
+        final String[] entries = schedule.split(",");
+        final double[][] pairs = new double[entries.length][];
+        for (int index = 0; index < entries.length; index++)
+        {
+            final String[] pair = entries[index].trim().split(":");
+            if (pair.length != 2)
+            {
+                throw new IllegalArgumentException("GainSchedule: ungueltiger Eintrag '" + entries[index] + "'!");
+            }
+            try
+            {
+                pairs[index] = new double[] { Math.abs(Double.parseDouble(pair[0].trim())),
+                                              Double.parseDouble(pair[1].trim()) };
+            }
+            catch (NumberFormatException exception)
+            {
+                throw new IllegalArgumentException("GainSchedule: ungueltiger Eintrag '" + entries[index] + "'!", exception);
+            }
+        }
+        Arrays.sort(pairs, new Comparator<double[]>()
+        {
+            @Override
+            public int compare(double[] first, double[] second)
+            {
+                return Double.compare(first[0], second[0]);
+            }
+        });
+        final double[] setpoints = new double[pairs.length];
+        final double[] factors = new double[pairs.length];
+        for (int index = 0; index < pairs.length; index++)
+        {
+            setpoints[index] = pairs[index][0];
+            factors[index] = pairs[index][1];
+        }
+        return new GainSchedule(setpoints, factors);
+    }
+
+    /**
+     * getFactor(double setpoint) - Verstaerkungsfaktor zum Sollwert (Betrag)...
+     * <p>
+     * Nur im Regelzyklus verwenden (lastIndex wird mitgefuehrt).
+     * </p>
+     * @param setpoint - Betrag des Sollwertes
+     * @return Verstaerkungsfaktor (interpoliert)
+     */
+    public double getFactor(double setpoint)
+    {
+        final int last = this.setpoints.length - 1;
+        if (setpoint <= this.setpoints[0])
+        {
+            return this.factors[0];
+        }
+        if (setpoint >= this.setpoints[last])
+        {
+            return this.factors[last];
+        }
+        int index = this.lastIndex;
+        if (!(this.setpoints[index] <= setpoint && setpoint < this.setpoints[index + 1]))
+        {
+            // Binaere Suche: Liefert (-(Einfuegepunkt) - 1), wenn nicht gefunden...
+            final int found = Arrays.binarySearch(this.setpoints, setpoint);
+            index = (found >= 0)? found : (-found - 2);
+            this.lastIndex = index;
+        }
+        final double ratio = (setpoint - this.setpoints[index]) / (this.setpoints[index + 1] - this.setpoints[index]);
+        return this.factors[index] + ratio * (this.factors[index + 1] - this.factors[index]);
+    }
+
+    /**
+     * toString() - zu Protokollzwecken...
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder().append("[");
+        for (int index = 0; index < this.setpoints.length; index++)
+        {
+            builder.append((index > 0)? " " : "")
+                   .append(this.setpoints[index])
+                   .append(":")
+                   .append(this.factors[index]);
+        }
+        return builder.append("]").toString();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package gui;
+
+import com.pi4j.io.gpio.GpioController;
+import com.pi4j.io.gpio.GpioPinDigitalInput;
+import com.pi4j.io.gpio.Pin;
+import com.pi4j.io.gpio.PinEdge;
+import com.pi4j.io.gpio.PinPullResistance;
+import com.pi4j.io.gpio.event.GpioPinDigitalStateChangeEvent;
+import com.pi4j.io.gpio.event.GpioPinListenerDigital;
+
+/**
+ * Die Klasse GpioCycleSource meldet die steigende Flanke an einem
+ * GPIO-Eingang (Takt durch den Arduino) als Takt an die ControlEngine.
+ * <p>
+ * Im pi4j-Listener wird nur der Zeitpunkt der Flanke ermittelt und gemeldet,
+ * die Kommunikation mit dem Arduino und die Berechnung der Regelalgorithmen
+ * erfolgen im Regel-Thread.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class GpioCycleSource implements CycleSource
+{
+    /**
+     * gpioController - Zugriff auf die GPIO-Schnittstelle des Raspi
+     */
+    private final GpioController gpioController;
+
+    /**
+     * pin - der durch den Arduino getaktete Eingang
+     */
+    private final Pin pin;
+
+    /**
+     * pinPullResistance - Beschaltung des Eingangs
+     */
+    private final PinPullResistance pinPullResistance;
+
+    /**
+     * gpioPinDigitalInput - der Eingang nach start(), sonst null
+     */
+    private GpioPinDigitalInput gpioPinDigitalInput = null;
+
+    /**
+     * GpioCycleSource(GpioController gpioController, Pin pin, PinPullResistance pinPullResistance)
+     * @param gpioController
+     * @param pin - der durch den Arduino getaktete Eingang
+     * @param pinPullResistance
+     */
+    public GpioCycleSource(GpioController gpioController, Pin pin, PinPullResistance pinPullResistance)
+    {
+        this.gpioController = gpioController;
+        this.pin = pin;
+        this.pinPullResistance = pinPullResistance;
+    }
+
+    /**
+     * start(ControlEngine engine) - Eingang einrichten und den Listener registrieren...
+     */
+    @Override
+    public void start(final ControlEngine engine)
+    {
+        if (this.gpioPinDigitalInput != null)
+        {
+            return;
+        }
+        final GpioPinDigitalInput gpioInputPin = this.gpioController.provisionDigitalInputPin(this.pin,
+                                                                                              this.pin.getName(),
+                                                                                              this.pinPullResistance);
+        // Event-Handler (Listener) instanziieren...
+        gpioInputPin.addListener(new GpioPinListenerDigital()
+        {
+            /**
+             * Event-Verarbeitung angestossen durch den  ArduinoI2C-Uno...
+             * <p>
+             * Der Handler wird in einem festen Takt durch den Arduino beauftragt.
+             * Innerhalb des Handlers wird nur noch der Zeitpunkt der Flanke ermittelt
+             * und an den Regel-Thread (ControlEngine) gemeldet.
+             * </p>
+             */
+            @Override
+            public void handleGpioPinDigitalStateChangeEvent(GpioPinDigitalStateChangeEvent event)
+            {
+                // Zeitstempel der Flanke, so frueh wie moeglich...
+                final long timestamp = System.nanoTime();
+                final PinEdge pinEdge = event.getEdge();
+                // Reaktion erfolgt an der steigenden Flanke...
+                if (PinEdge.RISING == pinEdge)
+                {
+                    engine.signal(timestamp);
+                }
+            }
+        });
+        this.gpioPinDigitalInput = gpioInputPin;
+    }
+
+    /**
+     * stop() - Listener entfernen...
+     */
+    @Override
+    public void stop()
+    {
+        final GpioPinDigitalInput gpioInputPin = this.gpioPinDigitalInput;
+        if (gpioInputPin != null)
+        {
+            gpioInputPin.removeAllListeners();
+        }
+        this.gpioPinDigitalInput = null;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "GpioCycleSource [" + this.pin.getName() + "]";
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Die Klasse LatencyHistogram erfasst Zeitdauern (System.nanoTime()-Differenzen)
+ * in einem Histogramm mit fester Klassenbreite.
+ * <p>
+ * record() ist fuer den Regel-Thread gedacht (einziger Schreiber): Es wird nur
+ * der Zaehler der Klasse erhoeht, es wird nichts allokiert und nichts gesperrt.
+ * Andere Threads (publisher, GUI) duerfen jederzeit lesen (Perzentile, Maximum,
+ * Ausgabe), sie sehen dann einen hinreichend aktuellen Stand.
+ * </p>
+ * <p>
+ * Die Zaehler liegen in einem AtomicLongArray, auf dem Raspi (32 Bit) waere
+ * das Lesen eines einfachen long waehrend des Schreibens nicht atomar.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class LatencyHistogram
+{
+    /**
+     * BUCKET_WIDTH = 50000L - Klassenbreite in ns (0.05 ms)
+     */
+    public final static long BUCKET_WIDTH = 50000L;
+
+    /**
+     * BUCKETS = 4000 - Anzahl der Klassen (0 ... 200 ms),
+     * laengere Dauern zaehlen in der Ueberlaufklasse
+     */
+    public final static int BUCKETS = 4000;
+
+    /**
+     * NANOS_PER_MILLI = 1000000.0
+     */
+    private final static double NANOS_PER_MILLI = 1000000.0;
+
+    /**
+     * name - Bezeichnung zur Ausgabe
+     */
+    private final String name;
+
+    /**
+     * buckets - Anzahl je Klasse, der letzte Eintrag ist die Ueberlaufklasse
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS + 1);
+
+    /**
+     * count - Anzahl aller Werte (volatile long: atomar auch auf 32 Bit)
+     */
+    private volatile long count = 0L;
+
+    /**
+     * sum - Summe aller Werte in ns
+     */
+    private volatile long sum = 0L;
+
+    /**
+     * max - groesster Wert in ns
+     */
+    private volatile long max = 0L;
+
+    /**
+     * LatencyHistogram(String name)
+     * @param name - Bezeichnung zur Ausgabe
+     */
+    public LatencyHistogram(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * @return the name
+     */
+    public final String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * record(long nanos) - eine Zeitdauer erfassen (nur durch einen Thread)...
+     * @param nanos - Zeitdauer in ns
+     */
+    public void record(long nanos)
+    {
+        final long value = (nanos > 0L)? nanos : 0L;
+        final int index = (int) Math.min(value / BUCKET_WIDTH, BUCKETS);
+        // Einziger Schreiber: kein compareAndSet notwendig...
+        this.buckets.lazySet(index, this.buckets.get(index) + 1L);
+        this.sum += value;
+        if (value > this.max)
+        {
+            this.max = value;
+        }
+        this.count++;
+    }
+
+    /**
+     * getCount() - Anzahl der erfassten Werte
+     * @return long
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * getMax() - groesster erfasster Wert in ns
+     * @return long
+     */
+    public long getMax()
+    {
+        return this.max;
+    }
+
+    /**
+     * getMean() - Mittelwert in ns
+     * @return double
+     */
+    public double getMean()
+    {
+        final long count = this.count;
+        return (count > 0L)? ((double) this.sum / count) : 0.0;
+    }
+
+    /**
+     * getPercentile(double percentile) - liefert die Obergrenze der Klasse,
+     * unterhalb derer der Anteil percentile aller Werte liegt...
+     * <p>
+     * Die Genauigkeit ist die Klassenbreite (BUCKET_WIDTH), hoechstens
+     * wird das Maximum geliefert.
+     * </p>
+     * @param percentile - Anteil 0.0 ... 1.0 (z.B. 0.99)
+     * @return Zeitdauer in ns
+     */
+    public long getPercentile(double percentile)
+    {
+        final long count = this.count;
+        if (count <= 0L)
+        {
+            return 0L;
+        }
+        final double fraction = Math.max(0.0, Math.min(1.0, percentile));
+        final long rank = Math.max(1L, (long) Math.ceil(fraction * count));
+        final long max = this.max;
+        long cumulated = 0L;
+        for (int index = 0; index < BUCKETS; index++)
+        {
+            cumulated += this.buckets.get(index);
+            if (cumulated >= rank)
+            {
+                return Math.min((index + 1) * BUCKET_WIDTH, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * toMillis(long nanos) - Umrechnung zur Anzeige
+     * @param nanos
+     * @return Zeitdauer in ms
+     */
+    public static double toMillis(long nanos)
+    {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * dump(StringBuilder builder) - Ausgabe aller belegten Klassen...
+     * @param builder
+     * @return builder
+     */
+    public StringBuilder dump(StringBuilder builder)
+    {
+        builder.append(toString()).append(System.lineSeparator());
+        for (int index = 0; index <= BUCKETS; index++)
+        {
+            final long number = this.buckets.get(index);
+            if (number > 0L)
+            {
+                if (index < BUCKETS)
+                {
+                    builder.append(String.format("  %8.2f ... %8.2f ms: %d",
+                                                 toMillis(index * BUCKET_WIDTH),
+                                                 toMillis((index + 1) * BUCKET_WIDTH),
+                                                 number));
+                }
+                else
+                {
+                    builder.append(String.format("  %8.2f ...          ms: %d",
+                                                 toMillis(index * BUCKET_WIDTH),
+                                                 number));
+                }
+                builder.append(System.lineSeparator());
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * toString() - Kurzfassung: Anzahl, Mittelwert, Perzentile, Maximum in ms
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s: n=%d mean=%.3f p50=%.3f p90=%.3f p99=%.3f max=%.3f ms",
+                             this.name,
+                             this.count,
+                             getMean() / NANOS_PER_MILLI,
+                             toMillis(getPercentile(0.50)),
+                             toMillis(getPercentile(0.90)),
+                             toMillis(getPercentile(0.99)),
+                             toMillis(this.max));
+    }
+}
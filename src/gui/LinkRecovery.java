@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse LinkRecovery entscheidet nach einem gestoerten Austausch mit dem
+ * Arduino (token passt nicht, Status nicht SUCCESS, IOException), ob die
+ * Kommunikation resynchronisiert oder die Regelung beendet wird.
+ * <p>
+ * Resynchronisation: Der gestoerte Zyklus wird verworfen (die Stellgroessen
+ * bleiben stehen), die naechste Anfrage geht mit dem zuletzt bestaetigten token
+ * (Folgenummer) hinaus. Der Arduino antwortet mit token + 1, veraltete oder
+ * doppelte Antworten fallen damit bei der Pruefung heraus. Eine einzelne
+ * Stoerung kostet so genau einen Zyklus.
+ * </p>
+ * <p>
+ * Zwei Budgets begrenzen die Wiederholungen:
+ * <ul>
+ * <li>retries - hoechstens so viele gestoerte Zyklen in Folge</li>
+ * <li>budget - hoechstens so viele gestoerte Zyklen je WINDOW Zyklen (Leaky Bucket:
+ * jeder gestoerte Zyklus verbraucht eine Einheit, jeder erfolgreiche Zyklus
+ * fuellt budget/WINDOW Einheiten nach)</li>
+ * </ul>
+ * Ist ein Budget erschoepft, liefert failed() false, die Regelung wird dann wie
+ * bisher mit ERROR beendet. Aufruf von failed(), succeeded() und reset() nur aus
+ * dem Regel-Thread, die Zaehler duerfen von anderen Threads gelesen werden.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class LinkRecovery
+{
+    /**
+     * DEFAULT_RETRIES = 3 - gestoerte Zyklen in Folge (ohne Angabe in den Systemeinstellungen)
+     */
+    public final static int DEFAULT_RETRIES = 3;
+
+    /**
+     * DEFAULT_BUDGET = 10 - gestoerte Zyklen je WINDOW Zyklen (ohne Angabe in den Systemeinstellungen)
+     */
+    public final static int DEFAULT_BUDGET = 10;
+
+    /**
+     * WINDOW = 1000 - Bezugsgroesse des budget in Zyklen
+     */
+    public final static int WINDOW = 1000;
+
+    /**
+     * retries - hoechstens retries gestoerte Zyklen in Folge
+     */
+    private final int retries;
+
+    /**
+     * budget - hoechstens budget gestoerte Zyklen je WINDOW Zyklen
+     */
+    private final int budget;
+
+    /**
+     * credit - verbleibende Einheiten des budget
+     */
+    private double credit;
+
+    /**
+     * consecutive - gestoerte Zyklen in Folge
+     */
+    private int consecutive = 0;
+
+    /**
+     * dropped - Anzahl der verworfenen (gestoerten) Zyklen
+     */
+    private volatile long dropped = 0L;
+
+    /**
+     * recovered - Anzahl der Stoerungen, nach denen die Kommunikation wieder lief
+     */
+    private volatile long recovered = 0L;
+
+    /**
+     * exhausted - Anzahl der Abbrueche (Budget erschoepft)
+     */
+    private volatile long exhausted = 0L;
+
+    /**
+     * LinkRecovery(int retries, int budget)
+     * @param retries - gestoerte Zyklen in Folge (0 => kein Resync, Verhalten wie bisher)
+     * @param budget - gestoerte Zyklen je WINDOW Zyklen
+     */
+    public LinkRecovery(int retries, int budget)
+    {
+        if (retries < 0 || budget < 0)
+        {
+            throw new IllegalArgumentException("LinkRecovery: retries=" + retries + ", budget=" + budget + " ungueltig!");
+        }
+        this.retries = retries;
+        this.budget = budget;
+        this.credit = budget;
+    }
+
+    /**
+     * failed() - gestoerter Zyklus...
+     * @return true, wenn resynchronisiert werden darf, false wenn ein Budget erschoepft ist
+     */
+    public boolean failed()
+    {
+        this.dropped++;
+        this.consecutive++;
+        if ((this.consecutive > this.retries) || (this.credit < 1.0))
+        {
+            this.exhausted++;
+            return false;
+        }
+        this.credit -= 1.0;
+        return true;
+    }
+
+    /**
+     * succeeded() - erfolgreicher Zyklus...
+     */
+    public void succeeded()
+    {
+        if (this.consecutive > 0)
+        {
+            this.recovered++;
+            this.consecutive = 0;
+        }
+        this.credit = Math.min(this.budget, this.credit + ((double) this.budget) / WINDOW);
+    }
+
+    /**
+     * reset() - Budgets auffuellen (z.B. beim Start), die Zaehler bleiben erhalten...
+     */
+    public void reset()
+    {
+        this.consecutive = 0;
+        this.credit = this.budget;
+    }
+
+    /**
+     * getDropped() - Anzahl der verworfenen Zyklen
+     * @return long
+     */
+    public long getDropped()
+    {
+        return this.dropped;
+    }
+
+    /**
+     * getRecovered() - Anzahl der behobenen Stoerungen
+     * @return long
+     */
+    public long getRecovered()
+    {
+        return this.recovered;
+    }
+
+    /**
+     * getExhausted() - Anzahl der Abbrueche
+     * @return long
+     */
+    public long getExhausted()
+    {
+        return this.exhausted;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "LinkRecovery [retries=" + this.retries + ", budget=" + this.budget + "/" + WINDOW
+             + ", dropped=" + this.dropped + ", recovered=" + this.recovered + ", exhausted=" + this.exhausted + "]";
+    }
+}
@@ -4,26 +4,22 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pi4j.io.gpio.GpioController;
 import com.pi4j.io.gpio.GpioFactory;
-import com.pi4j.io.gpio.GpioPin;
-import com.pi4j.io.gpio.GpioPinDigitalInput;
 import com.pi4j.io.gpio.GpioPinDigitalOutput;
 import com.pi4j.io.gpio.Pin;
-import com.pi4j.io.gpio.PinEdge;
 import com.pi4j.io.gpio.PinPullResistance;
 import com.pi4j.io.gpio.PinState;
 import com.pi4j.io.gpio.RaspiPin;
-import com.pi4j.io.gpio.event.GpioPinDigitalStateChangeEvent;
-import com.pi4j.io.gpio.event.GpioPinListenerDigital;
 import com.pi4j.io.i2c.I2CBus;
+import com.pi4j.io.i2c.I2CDevice;
 import com.pi4j.io.i2c.I2CFactory;
 import com.pi4j.io.i2c.I2CFactory.UnsupportedBusNumberException;
 
@@ -47,7 +43,7 @@ import raspi.hardware.i2c.MotorDriverHAT;
  * <ul>
  *  <li>isRaspi: Hilfsgroesse um die Lauf- und Testfaehigkeit in Nicht-Raspi-Umgebungen zu ermoeglichen</li>
  *  <li>Zaehler counter</li>
- *  <li>Taktdauer cycleTime</li>
+ *  <li>Taktdauer cycleNanos</li>
  * </ul>
  * </p>
  * 
@@ -93,10 +89,16 @@ public class Model
     private long counter = 0L;
     
     /**
-     * cycleTime - Zykluszeit (Taktzeit der Beauftragung durch den Arduino), 
-     * wird durch Differenzbildung (vgl. this.past) ermittelt...
+     * cycleNanos - Zykluszeit in ns (Taktzeit der Beauftragung durch den Arduino), 
+     * Differenz der Zeitstempel zweier Flanken (vgl. pastTimestamp), 0L vor der 
+     * zweiten Flanke...
+     * <p>
+     * Die Zeitstempel werden bei der Flanke genommen (vgl. CycleSource), die 
+     * Verzoegerung bis zum Beginn des Zyklus im Regel-Thread geht damit nicht in
+     * die Zykluszeit ein, sie wird getrennt erfasst (CycleStatistics.getDispatch()).
+     * </p>
      */
-    private BigDecimal cycleTime = BigDecimal.ZERO;
+    private volatile long cycleNanos = 0L;
     
     /**
      * SCALE_CYCLE_TIME = 3 - Genauigikeit bei der Darstellung der Zeit 
@@ -104,16 +106,6 @@ public class Model
      */
     public static int SCALE_CYCLE_TIME = 3;
     
-    /**
-     * Instant past - der letzter Zeitstempel...
-     * <p>
-     * Der Takt wird durch den ArduinoI2C Uno vorgegeben. 
-     * In past wird der letzte Zeitstempel abgelegt 
-     * zur Bestimmung der Taktdauer T zwischen now und this.past. 
-     * </p>
-     */
-    private Instant past = null;
-    
     /**
      * Referenz auf den GPIO-controller...
      * <p>
@@ -129,8 +121,8 @@ public class Model
     public final static int ARDUINO_ADDRESS = 0x08; 
        
     /**
-     * arduinoI2C - Referenz auf Hilfsklasse zur Kommunikation 
-     * mit dem Arduino. 
+     * arduinoLink - Verbindung zur Kommunikation mit dem Arduino
+     * (vgl. ArduinoLink, Auswahl in den Systemeinstellungen), null ohne Raspi.
      * <p>
      * Raspberry ist der I2C-Master, Arduino der
      * I2C-Slave, angestossen wird die Kommunikation aber durch
@@ -138,7 +130,42 @@ public class Model
      * einstellbar).
      * </p>
      */
-    private final ArduinoI2C arduinoI2C;
+    private final ArduinoLink arduinoLink;
+    
+    /**
+     * arduinoFrame - Antwort des Arduino im Zyklus (einmalig angelegt, nur im Regel-Thread)
+     */
+    private final ArduinoFrame arduinoFrame = new ArduinoFrame();
+    
+    /**
+     * ARDUINO_LINK_KEY = "arduinoLink" - Key der Art der Verbindung zum Arduino 
+     * (SPLIT, COMBINED) in den Systemeinstellungen...
+     */
+    public final static String ARDUINO_LINK_KEY = "arduinoLink";
+    
+    /**
+     * arduinoPipeline - Austausch mit dem Arduino im eigenen I2C-Thread (Anfrage nach 
+     * der Pwm-Ausgabe, Antwort mit der naechsten Flanke), null ohne Pipeline...
+     */
+    private final ArduinoPipeline arduinoPipeline;
+    
+    /**
+     * linkRecovery - Resync nach einem gestoerten Austausch mit dem Arduino 
+     * (Budgets aus den Systemeinstellungen, Zaehler der verworfenen Zyklen)...
+     */
+    private final LinkRecovery linkRecovery;
+    
+    /**
+     * elapsedSeconds - Zeit seit dem letzten erfolgreichen Austausch in s, nach 
+     * verworfenen Zyklen mehrere Perioden (nur im Regel-Thread)...
+     */
+    private double elapsedSeconds = 0.0;
+    
+    /**
+     * ARDUINO_PIPELINE_KEY = "arduinoPipeline" - Key zur Auswahl der ArduinoPipeline 
+     * (true/false) in den Systemeinstellungen...
+     */
+    public final static String ARDUINO_PIPELINE_KEY = "arduinoPipeline";
     
     /**
      * i2cStatus - Status der Kommunikation mit dem Arduino
@@ -147,11 +174,24 @@ public class Model
      * <li><b>NOP</b> - Keine Kommunikation, z.B. nach Programmstart, vor Start-Button</li>
      * <li><b>INITIAL</b> - Erste Beauftragung, Raspi ist zur Kommunikation bereit, nach Start-Button, als token wird 0 gesendet</li>
      * <li><b>SUCCESS</b> - Erfolgreiche Erstbeauftragung, der token wird jeweils im Arduino erhoeht...</li>
-     * <li><b>ERROR</b> - Fehler </li>
+     * <li><b>ERROR</b> - Fehler, Budget des Resync erschoepft (vgl. LinkRecovery)</li>
      * </ul>
      * </p>
+     * <p>
+     * Wird (nach dem Konstruktor) nur noch im Regel-Thread geschrieben, die GUI 
+     * gibt Kommandos ueber die runState auf (vgl. applyRunState()).
+     * </p>
+     */
+    private volatile ArduinoI2C.Status i2cStatus = ArduinoI2C.Status.NOP;
+    
+    /**
+     * runState - Betriebszustand der Regelung (INIT, RUNNING, STOPPING, STOPPED, FAULT)...
+     * <p>
+     * Start, Stop und Reset werden als Kommando aufgegeben und vom Regel-Thread 
+     * zu Beginn des naechsten Zyklus uebernommen, ohne Sperren (vgl. RunStateMachine).
+     * </p>
      */
-    private ArduinoI2C.Status i2cStatus = ArduinoI2C.Status.NOP;
+    private final RunStateMachine runState = new RunStateMachine();
     
     /**
      * token - Kennung zur Identifizierung von Nachrichten zwischen
@@ -170,49 +210,41 @@ public class Model
      * </ul>
      * </p>
      */
-    private long token = 0L;
+    private volatile long token = 0L;
 
     /**
-     * totalMA[] - totale Impuls-Zaehler-Staende Motor A
+     * AXES = 2 - Anzahl der Achsen (Motoren) im Gleichlauf...
      * <p>
-     * totalMA[1] - aktueller Wert[k], totalMA[0] - historischer Wert[k-1] 
+     * Die Hardware umfasst derzeit einen MotorDriverHAT mit zwei Kanaelen und
+     * einen Arduino mit zwei Impulszaehlern (Motor A => Achse 0, Motor B => Achse 1).
+     * Regelung und Datenhaltung (Axes, PositionController, Data) sind fuer bis zu 
+     * Axes.MAX_AXES Achsen ausgelegt, fuer weitere Achsen ist nur die Zuordnung zur 
+     * Hardware (Zaehlerstaende vom Arduino, Pwm-Ausgabe an den HAT) im Regelzyklus zu ergaenzen.
      * </p>
      */
-    private long totalMA[] = { 0L, 0L };
+    public final static int AXES = 2;
     
     /**
-     * controlMA[] - Reglerausgang zum Motor A
-     * <p>
-     * controlMA[0] - historischer Wert[k-1], wichtig zur Ermittlung des VZ
-     * </p>
+     * AXIS_MA = 0 - Index der Achse Motor A
      */
-    private BigDecimal controlMA[] = { BigDecimal.ZERO, BigDecimal.ZERO };
+    public final static int AXIS_MA = 0;
     
     /**
-     * long numberMA - Lageinformation Motor A...
-     */
-    private long numberMA = 0L;
-
-    /**
-     * totalMB[] - totale Impuls-Zaehler-Staende Motor B
-     * <p>
-     * totalMB[1] - aktueller Wert[k], totalMB[0] - historischer Wert[k-1] 
-     * </p>
+     * AXIS_MB = 1 - Index der Achse Motor B
      */
-    private long totalMB[] = { 0L, 0L };
+    public final static int AXIS_MB = 1;
     
     /**
-     * controlMB[] - Reglerausgang zum Motor B
+     * axes - Zustandsgroessen aller Achsen (Impuls-Zaehler-Staende, Lage, 
+     * Sollwerte, Stellgroessen...) als Arrays primitiver Werte.
      * <p>
-     * controlMB[0] - historischer Wert[k-1], wichtig zur Ermittlung des VZ
+     * Die Sollwerte value[] werden durch die GUI vorgegeben (Combobox Sollwert Motor A/B,
+     * Bereich -1.0 ... 0.0 ... +1.0), die BigDecimal-Darstellung der GUI findet sich in der 
+     * dataMap. Die Stellgroessen output[] (Bereich -1.0 ... 0.0 ... +1.0) werden an den HAT 
+     * ausgegeben und im folgenden Zyklus zur Ermittlung des Vorzeichens des Lagezuwachses verwendet.
      * </p>
      */
-    private BigDecimal controlMB[] = { BigDecimal.ZERO, BigDecimal.ZERO };
-    
-    /**
-     * long numberMB - Lageinformation Motor B...
-     */
-    private long numberMB = 0L;
+    private final Axes axes = new Axes(AXES);
     
     /**
      * MD_HAT_ADDRESS - Bus-Adresse des MotorDriverHAT, festgelegt durch
@@ -234,69 +266,49 @@ public class Model
     private final MotorDriverHAT motorDriverHAT;
     
     /**
-     * DESTINATION_SIMULTAN_KEY = "destinationSimultanKey"
-     */
-    public final static String DESTINATION_SIMULTAN_KEY = "destinationSimultanKey";
-
-    /**
-     * boolean isDestinationSimultan - Sollwerte Motor A/B werden simultan gehalten...
-     */
-    private boolean isDestinationSimultan = false;
-    
-    /**
-     * valueMA - Sollwert (Pwm-Vorgabe) Motor A, wird durch die GUI vorgegeben 
-     * (Combobox Sollwert Motor A)
+     * outputLock - Sperre aller Zugriffe auf die Stellgroessen (MotorDriverHAT, 
+     * PwmOutputStage) aus Regel-Thread, Watchdog und GUI...
      * <p>
-     * Bereich valueMA (Sollwert): -1.0 ... 0.0 ... +1.0
+     * Unter der Sperre wird in FAULT und STOPPING nicht mehr ausgegeben (vgl. 
+     * writeOutputs()), ein im Watchdog-Thread ausgeloester Stop kann so durch 
+     * einen noch laufenden Zyklus nicht wieder aufgehoben werden.
      * </p>
      */
-    private BigDecimal valueMA = BigDecimal.ZERO;
+    private final Object outputLock = new Object();
     
     /**
-     * valueMB - Sollwert (Pwm-Vorgabe) Motor B, wird durch die GUI vorgegeben
-     * (Combobox Sollwert Motor B)
-     * <p>
-     * Bereich valueMB (Sollwert): -1.0 ... 0.0 ... +1.0
-     * </p>
+     * pwmOutputStage - Ausgabe beider Motoren in einem Schreibzugriff an den PCA9685 
+     * (nur geaenderte Kanaele), null ohne (dann einzeln ueber den MotorDriverHAT)...
      */
-    private BigDecimal valueMB = BigDecimal.ZERO;
+    private final PwmOutputStage pwmOutputStage;
     
     /**
-     * boolean isControlled - boolsche Kennung: Regelung ja/nein...,
-     * wird an der GUI gesetzt (Checkbox Mit Regelung?) 
+     * PWM_COALESCED_KEY = "pwmCoalesced" - Key zur Auswahl der PwmOutputStage 
+     * (true/false) in den Systemeinstellungen...
      */
-    private boolean isControlled = false;
+    public final static String PWM_COALESCED_KEY = "pwmCoalesced";
     
     /**
-     * boolean isMAControlled - boolsche Kennung: Regelung wirkt auf
-     * Motor A, wird an der GUI in der Checkbox (Reglerausgang auf Motor A?) 
-     * gesetzt
+     * DESTINATION_SIMULTAN_KEY = "destinationSimultanKey"
      */
-    private boolean isMAControlled = false;
+    public final static String DESTINATION_SIMULTAN_KEY = "destinationSimultanKey";
 
     /**
-     * boolean isMBControlled - boolsche Kennung: Regelung wirkt auf
-     * Motor B, wird an der GUI in der Checkbox (Reglerausgang auf Motor B?) 
-     * gesetzt
+     * boolean isDestinationSimultan - Sollwerte Motor A/B werden simultan gehalten...
      */
-    private boolean isMBControlled = false;
+    private boolean isDestinationSimultan = false;
     
     /**
-     * outputMA - Stellgroesse Motor A
+     * parameters - Parameter der Regelung (Sollwerte, Mit Regelung?, Mit Drehzahlregelung?,
+     * Reglerparameter...), werden an der GUI gesetzt...
      * <p>
-     * Bereich outputMA: -1.0 ... 0.0 ... +1.0 
+     * Jede Aenderung legt eine neue, unveraenderliche Instanz ab (compareAndSet),
+     * der Regelzyklus liest die Referenz genau einmal zu Beginn des Zyklus. Damit
+     * arbeitet ein Zyklus immer mit einem konsistenten Satz Parameter, ohne Sperren.
      * </p>
      */
-    private BigDecimal outputMA;
+    private final AtomicReference<ControlParameters> parameters = new AtomicReference<>(new ControlParameters(AXES));
     
-    /**
-     *  outputMB - Stellgroesse Motor B
-     * <p>
-     * Bereich outputMB: -1.0 ... 0.0 ... +1.0 
-     * </p>
-     */
-    private BigDecimal outputMB;
-   
     /**
      * SCALE_OUTPUT = 3 - Genauigkeit (Anzahl der Nachkommastellen) der Ausgabe an den HAT
      */
@@ -326,7 +338,50 @@ public class Model
     /**
      * positionController - Referenz auf den Regler...
      */
-    private final PositionController positionController = new PositionController(CIRCUMFERENCE);
+    private final PositionController positionController = new PositionController(CIRCUMFERENCE, AXES, MAX_RPM * RPM_CONST.doubleValue());
+    
+    /**
+     * MAX_RPM = 300.0 - Nenndrehzahl der Motoren in U/min (bei Sollwert 1.0),
+     * Bezugsgroesse des Drehzahlreglers...
+     */
+    public final static double MAX_RPM = 300.0;
+    
+    /**
+     * speedControllers[] - unterlagerte Drehzahlregler je Achse...
+     */
+    private final SpeedController[] speedControllers = new SpeedController[AXES];
+    
+    /**
+     * encoderRates[] - Impulsrate je Achse aus den Abtastwerten des Arduino 
+     * (nur mit BatchedArduinoLink, vgl. ArduinoFrame.getSampleCount())...
+     */
+    private final EncoderRate[] encoderRates = new EncoderRate[AXES];
+    
+    /**
+     * trajectory - Sollwert-Rampen (S-Kurve) zwischen der Vorgabe an der GUI 
+     * und dem PositionController...
+     */
+    private final SetpointTrajectory trajectory;
+    
+    /**
+     * motionPlanner - Anfahren einer absoluten Position mit allen Achsen...
+     */
+    private final MotionPlanner motionPlanner = new MotionPlanner(AXES, CIRCUMFERENCE, MAX_RPM * RPM_CONST.doubleValue());
+    
+    /**
+     * targetPosition - anzufahrende Position (Lage in Impulsen), wird durch 
+     * die GUI vorgegeben (Combobox Zielposition)
+     */
+    private long targetPosition = 0L;
+    
+    /**
+     * autoTuner - laufender Relais-Versuch (Autotuning) im Regelzyklus, sonst null...
+     * <p>
+     * Wird durch doAutoTune() gesetzt und nach Ende des Versuchs im Regelzyklus
+     * wieder auf null gesetzt. Waehrend des Versuchs ersetzt das Relais den Regler.
+     * </p>
+     */
+    private volatile RelayAutoTuner autoTuner = null;
     
     /**
      * Pull-Up/Pull-Down-Einstellung...
@@ -345,11 +400,6 @@ public class Model
      */
     private final static Pin GPIO_CYCLE_PIN = RaspiPin.GPIO_04;    // GPIO23 (GPIO_GEN4), Board-Nr=16
     
-    /**
-     * GPIO_CYCLE_PIN_NAME - Name des GPIO_CYCLE_PIN
-     */
-    private final static String GPIO_CYCLE_PIN_NAME = GPIO_CYCLE_PIN.getName();
-    
     /**
      * GPIO_PINS - ...die folgenden (Ausgabe-) Pins werden angesprochen...
      * <p>
@@ -377,18 +427,88 @@ public class Model
     }
   
     /**
-     * gpioPinDigitalInputCyclePin haelt das GpioPinDigitalInput-Objekte.
+     * cycleSource - Quelle des Taktes fuer den Regelzyklus...
      * <p>
-     * Es handelt sich um ein Input-Objekt. Daher wird die Referenz direkt 
-     * abgelegt. Bei mehreren Input-Objekten wuerde es sich anbieten, eine
-     * Map anzulegen...
-     * </p>
-     * <p>
-     * Ueber die gpioPinDigitalInputCyclePin-Referenz erfolgt die zyklische
-     * Beauftragung der Regelung. Der Zyklus wird dabei vom Arduino vorgegeben. 
+     * Auf dem Raspi ist das die steigende Flanke am GPIO_CYCLE_PIN (der Zyklus 
+     * wird vom Arduino vorgegeben, GpioCycleSource), wahlweise ein interner 
+     * Zeitgeber (ClockCycleSource, auch ohne Raspi). null, wenn kein Takt erfolgt.
      * </p>
      */
-    private final GpioPinDigitalInput gpioPinDigitalInputCyclePin;
+    private final CycleSource cycleSource;
+    
+    /**
+     * controlEngine - fuehrt den Regelzyklus (doCycle()) im Regel-Thread aus,
+     * die cycleSource meldet nur noch den Takt (null ohne Taktquelle)...
+     */
+    private final ControlEngine controlEngine;
+    
+    /**
+     * snapshot - Zustandsgroessen des letzten Regelzyklus zur Anzeige...
+     */
+    private final CycleSnapshot snapshot = new CycleSnapshot(AXES);
+    
+    /**
+     * publisher - Thread zur Anzeige (Data, PropertyChange) und zum Logging der 
+     * Ergebnisse des Regel-Threads, wird nach jedem Zyklus geweckt...
+     */
+    private volatile Thread publisher = null;
+    
+    /**
+     * pendingMoveStatus, pendingAutoTuneResult, pendingException - Ereignisse 
+     * des Regel-Threads zur Weitergabe durch den publisher...
+     */
+    private final AtomicReference<MotionPlanner.Status> pendingMoveStatus = new AtomicReference<>();
+    private final AtomicReference<RelayAutoTuner.Result> pendingAutoTuneResult = new AtomicReference<>();
+    private final AtomicReference<IOException> pendingException = new AtomicReference<>();
+    
+    /**
+     * pendingSafeStop - Motoren wurden gestoppt (Ueberlauf mit OverrunPolicy.SAFE_STOP 
+     * oder Ausfall des Taktes), Grund zur Weitergabe durch den publisher...
+     */
+    private final AtomicReference<String> pendingSafeStop = new AtomicReference<>();
+    
+    /**
+     * pendingTriggerStatus - Zustand der Ueberwachung des Taktes (TriggerWatchdog) 
+     * zur Weitergabe durch den publisher...
+     */
+    private final AtomicReference<TriggerWatchdog.Status> pendingTriggerStatus = new AtomicReference<>();
+    
+    /**
+     * watchdog - ueberwacht den Takt und stoppt die Motoren bei dessen Ausfall 
+     * (null ohne Taktquelle)...
+     */
+    private final TriggerWatchdog watchdog;
+    
+    /**
+     * statistics - Zeitmessungen des Regelzyklus (Periode, Flanke bis Pwm-Ausgabe, 
+     * Austausch mit dem Arduino), Erfassung im Regel-Thread ohne Allokation...
+     */
+    private final CycleStatistics statistics = new CycleStatistics();
+    
+    /**
+     * periodEstimator - Schaetzung der Periode des Arduino und der Drift zur Uhr
+     * des Raspi (Regression ueber die Zeitstempel der Flanken), nachgefuehrt im 
+     * Regel-Thread...
+     */
+    private final PeriodEstimator periodEstimator;
+    
+    /**
+     * pastTimestamp - Zeitstempel (System.nanoTime()) des letzten Taktes 
+     * zur Messung der Periode (cycleNanos), 0L vor dem ersten Takt...
+     */
+    private long pastTimestamp = 0L;
+    
+    /**
+     * STATISTICS_INTERVAL = 20 - Anzeige der Zeitmessungen nach jeweils 
+     * STATISTICS_INTERVAL Zyklen (bei 50 ms etwa einmal pro s)...
+     */
+    private final static int STATISTICS_INTERVAL = 20;
+
+    /**
+     * STOP_TIMEOUT_MILLIS = 500L - beim Beenden hoechstens so lange auf den
+     * Regel-Thread bzw. den I2C-Thread warten (ms)...
+     */
+    private final static long STOP_TIMEOUT_MILLIS = 500L;
 
     /**
      * gpioPinOutputMap nimmt die GpioPinDigitalOutput-Objekte auf, 
@@ -424,6 +544,21 @@ public class Model
      */
     public final static String NAME_END_BUTTON = "endButton";
     
+    /**
+     * NAME_AUTO_TUNE_BUTTON = "autoTuneButton"
+     */
+    public final static String NAME_AUTO_TUNE_BUTTON = "autoTuneButton";
+    
+    /**
+     * NAME_MOVE_BUTTON = "moveButton"
+     */
+    public final static String NAME_MOVE_BUTTON = "moveButton";
+    
+    /**
+     * NAME_STATISTICS_BUTTON = "statisticsButton"
+     */
+    public final static String NAME_STATISTICS_BUTTON = "statisticsButton";
+    
     /**
      * dataMap - nimmt die Eingaben auf...
      * <p>
@@ -465,6 +600,21 @@ public class Model
      */
     public final static String CONTROL_KEY = "controlKey";
     
+    /**
+     * SPEED_CONTROL_KEY = "speedControlKey" - Boolscher Schalter 'Mit Drehzahlregelung'
+     */
+    public final static String SPEED_CONTROL_KEY = "speedControlKey";
+    
+    /**
+     * RAMP_KEY = "rampKey" - Boolscher Schalter 'Mit Sollwert-Rampe'
+     */
+    public final static String RAMP_KEY = "rampKey";
+    
+    /**
+     * DEAD_TIME_KEY = "deadTimeKey" - Boolscher Schalter 'Mit Totzeitkompensation'
+     */
+    public final static String DEAD_TIME_KEY = "deadTimeKey";
+    
     /**
      * CONTROL_MA_KEY = "controlMAKey" - Key fuer den Boolschen Schalter, 
      * Reglerausgang auf Motor A
@@ -482,12 +632,57 @@ public class Model
      */
     public final static String ENHANCEMENT_KEY = "enhancementKey";
     
+    /**
+     * STRATEGY_KEY = "strategyKey" - Combobox mit der Art des Reglers (P, PI, PID)...
+     */
+    public final static String STRATEGY_KEY = "strategyKey";
+    
+    /**
+     * INTEGRAL_TIME_KEY = "integralTimeKey" - Combobox mit den Nachstellzeiten...
+     */
+    public final static String INTEGRAL_TIME_KEY = "integralTimeKey";
+    
+    /**
+     * DERIVATIVE_TIME_KEY = "derivativeTimeKey" - Combobox mit den Vorhaltzeiten...
+     */
+    public final static String DERIVATIVE_TIME_KEY = "derivativeTimeKey";
+    
     /**
      * GUI_STATUS_KEY = "guiStatusKey" - Im GuiStatus wird abgelegt im welchem
      * "Bedienungszustand" die Gui ist.
      */
     public final static String GUI_STATUS_KEY = "guiStatusKey";
     
+    /**
+     * AUTO_TUNE_KEY = "autoTuneKey" - Key unter dem das Ergebnis des Autotunings
+     * (RelayAutoTuner.Result) abgelegt wird...
+     */
+    public final static String AUTO_TUNE_KEY = "autoTuneKey";
+    
+    /**
+     * TARGET_POSITION_KEY = "targetPositionKey" - Combobox mit den anzufahrenden
+     * Positionen (Lage in Impulsen)...
+     */
+    public final static String TARGET_POSITION_KEY = "targetPositionKey";
+    
+    /**
+     * MOVE_STATUS_KEY = "moveStatusKey" - Key unter dem der Zustand der Fahrt
+     * (MotionPlanner.Status) abgelegt wird...
+     */
+    public final static String MOVE_STATUS_KEY = "moveStatusKey";
+    
+    /**
+     * STATISTICS_KEY = "statisticsKey" - Key unter dem die Kurzfassung der 
+     * Zeitmessungen (CycleStatistics.Summary) abgelegt wird...
+     */
+    public final static String STATISTICS_KEY = "statisticsKey";
+    
+    /**
+     * TRIGGER_STATUS_KEY = "triggerStatusKey" - Key unter dem der Zustand der 
+     * Ueberwachung des Taktes (TriggerWatchdog.Status) abgelegt wird...
+     */
+    public final static String TRIGGER_STATUS_KEY = "triggerStatusKey";
+    
     /**
      * DATA_KEYS[] - Array mit den Keys zur Ablage in der dataMap...
      */
@@ -500,10 +695,21 @@ public class Model
         OUTPUT_MA_KEY,
         OUTPUT_MB_KEY,
         CONTROL_KEY,
+        SPEED_CONTROL_KEY,
+        RAMP_KEY,
+        DEAD_TIME_KEY,
         CONTROL_MA_KEY,
         CONTROL_MB_KEY,
         ENHANCEMENT_KEY,
-        GUI_STATUS_KEY
+        STRATEGY_KEY,
+        INTEGRAL_TIME_KEY,
+        DERIVATIVE_TIME_KEY,
+        GUI_STATUS_KEY,
+        AUTO_TUNE_KEY,
+        TARGET_POSITION_KEY,
+        MOVE_STATUS_KEY,
+        STATISTICS_KEY,
+        TRIGGER_STATUS_KEY
     };
     
     /**
@@ -544,6 +750,30 @@ public class Model
      */
     public final static int SELECTED_MX_VALUES_INDEX = 10;
     
+    /**
+     * TARGET_POSITIONS - Vorgaben fuer die ComboBox TARGET_POSITION_KEY 
+     * (Lage in Impulsen, CIRCUMFERENCE Impulse pro Umdrehung)
+     */
+    public final static Long[] TARGET_POSITIONS = new Long[]
+    {
+        Long.valueOf(600L),
+        Long.valueOf(300L),
+        Long.valueOf(120L),
+        Long.valueOf(60L),
+        Long.valueOf(30L),
+        Long.valueOf(0L),
+        Long.valueOf(-30L),
+        Long.valueOf(-60L),
+        Long.valueOf(-120L),
+        Long.valueOf(-300L),
+        Long.valueOf(-600L)
+    };
+    
+    /**
+     * Index zur Auswahl der Selektion (Position 0)...
+     */
+    public final static int SELECTED_TARGET_POSITIONS_INDEX = 5;
+    
     /**
      * SCALE_ENHANCEMENT = 4 - Genauigkeit (Anzahl der Nachkommastellen) in der Verstaerkungsangabe
      */
@@ -591,15 +821,124 @@ public class Model
      */
     public final static int SELECTED_ENHANCEMENTS_INDEX = 0;
     
+    /**
+     * SCALE_TIME = 2 - Genauigkeit (Anzahl der Nachkommastellen) der Nachstell- und Vorhaltzeiten
+     */
+    public final static int SCALE_TIME = 2;
+    
+    /**
+     * INTEGRAL_TIMES - Array mit den Nachstellzeiten (in s) des Reglers (I-Anteil)
+     * zur Auswahl in der Combobox...
+     * <p>
+     * Der Wert 0.00 bedeutet: kein I-Anteil.
+     * </p>
+     */
+    public final static BigDecimal[] INTEGRAL_TIMES = new BigDecimal[]
+    {
+            BigDecimal.valueOf(0.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.10).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.20).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.50).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(1.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(2.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(5.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(10.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP)
+    };
+    
+    /**
+     * Index zur Vor-Auswahl der Nachstellzeit...
+     */
+    public final static int SELECTED_INTEGRAL_TIMES_INDEX = 0;
+    
+    /**
+     * DERIVATIVE_TIMES - Array mit den Vorhaltzeiten (in s) des Reglers (D-Anteil)
+     * zur Auswahl in der Combobox...
+     * <p>
+     * Der Wert 0.00 bedeutet: kein D-Anteil.
+     * </p>
+     */
+    public final static BigDecimal[] DERIVATIVE_TIMES = new BigDecimal[]
+    {
+            BigDecimal.valueOf(0.00).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.01).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.02).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.05).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.10).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.20).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP),
+            BigDecimal.valueOf(0.50).setScale(SCALE_TIME, BigDecimal.ROUND_HALF_UP)
+    };
+    
+    /**
+     * Index zur Vor-Auswahl der Vorhaltzeit...
+     */
+    public final static int SELECTED_DERIVATIVE_TIMES_INDEX = 0;
+    
     /**
      * support - Referenz auf den PropertyChangeSupport...
      */
     private final PropertyChangeSupport support = new PropertyChangeSupport(this);
     
     /**
-     * Default-Konstruktor 
+     * GAIN_SCHEDULE_KEY = "gainSchedule" - Key der Verstaerkungs-Tabelle in der 
+     * system.properties (vgl. GainSchedule)...
+     */
+    public final static String GAIN_SCHEDULE_KEY = "gainSchedule";
+    
+    /**
+     * OVERRUN_POLICY_KEY = "overrunPolicy" - Key des Verhaltens bei einem Ueberlauf 
+     * des Regelzyklus in den Systemeinstellungen (vgl. ControlEngine.OverrunPolicy)...
+     */
+    public final static String OVERRUN_POLICY_KEY = "overrunPolicy";
+    
+    /**
+     * CYCLE_SOURCE_KEY = "cycleSource" - Key der Taktquelle in den Systemeinstellungen 
+     * (vgl. CycleSource.Type, ohne Angabe GPIO auf dem Raspi)...
+     */
+    public final static String CYCLE_SOURCE_KEY = "cycleSource";
+    
+    /**
+     * CYCLE_PERIOD_KEY = "cyclePeriod" - Key der Periode des internen Zeitgebers 
+     * in s in den Systemeinstellungen (ohne Angabe PositionController.CYCLE_TIME)...
+     */
+    public final static String CYCLE_PERIOD_KEY = "cyclePeriod";
+    
+    /**
+     * CYCLE_SPIN_WAIT_KEY = "cycleSpinWait" - Key der Dauer des aktiven Wartens 
+     * vor jedem Takt des internen Zeitgebers in s (ohne Angabe 0.0)...
+     */
+    public final static String CYCLE_SPIN_WAIT_KEY = "cycleSpinWait";
+    
+    /**
+     * WATCHDOG_FRACTION_KEY = "watchdogFraction" - Key der Zeit bis zum Stoppen der Motoren 
+     * nach einem ausgebliebenen Takt als Anteil der Periode (ohne Angabe 0.5)...
+     */
+    public final static String WATCHDOG_FRACTION_KEY = "watchdogFraction";
+    
+    /**
+     * RESYNC_RETRIES_KEY = "resyncRetries" - Key der hoechstens in Folge gestoerten 
+     * Zyklen (Resync) in den Systemeinstellungen (vgl. LinkRecovery, ohne Angabe 3)...
+     */
+    public final static String RESYNC_RETRIES_KEY = "resyncRetries";
+    
+    /**
+     * RESYNC_BUDGET_KEY = "resyncBudget" - Key der hoechstens gestoerten Zyklen 
+     * je 1000 Zyklen in den Systemeinstellungen (vgl. LinkRecovery, ohne Angabe 10)...
+     */
+    public final static String RESYNC_BUDGET_KEY = "resyncBudget";
+    
+    /**
+     * Default-Konstruktor (ohne Systemeinstellungen)
      */
     public Model()
+    {
+        this(new java.util.Properties());
+    }
+    
+    /**
+     * Konstruktor mit den Systemeinstellungen aus der system.properties...
+     * @param properties
+     */
+    public Model(java.util.Properties properties)
     {
         // Zuallererst:  Wo erfolgt der Lauf, auf einem Raspi?
         final String os_name = System.getProperty("os.name").toLowerCase();
@@ -608,6 +947,32 @@ public class Model
         // Kennung isRaspi setzen...
         this.isRaspi = OS_NAME_RASPI.equals(os_name) && OS_ARCH_RASPI.equals(os_arch);
         
+        // Je Achse ein unterlagerter Drehzahlregler...
+        for (int axis = 0; axis < AXES; axis++)
+        {
+            this.speedControllers[axis] = new SpeedController(RPM_CONST.doubleValue(), MAX_RPM);
+            this.encoderRates[axis] = new EncoderRate();
+        }
+        
+        // Verstaerkungs-Tabelle (Gain-Scheduling) aus den Systemeinstellungen...
+        {
+            final String gainSchedule = properties.getProperty(Model.GAIN_SCHEDULE_KEY, "").trim();
+            if (gainSchedule.length() > 0)
+            {
+                try
+                {
+                    this.positionController.setGainSchedule(GainSchedule.parse(gainSchedule));
+                    logger.info("gainSchedule=" + this.positionController.getGainSchedule());
+                }
+                catch (IllegalArgumentException exception)
+                {
+                    // Ohne gueltige Tabelle: Verstaerkung unveraendert (Faktor 1.0)...
+                    logger.error(exception.toString(), exception);
+                    System.err.println(exception.toString());
+                }
+            }
+        }
+        
         // ...den gpioController anlegen...
         this.gpioController = isRaspi? GpioFactory.getInstance() : null;
         
@@ -620,266 +985,226 @@ public class Model
         }
         
         {
-            ArduinoI2C arduinoLoc = null;
+            ArduinoLink arduinoLoc = null;
+            ArduinoPipeline pipelineLoc = null;
             MotorDriverHAT motorDriverHATLoc = null;
+            PwmOutputStage pwmOutputStageLoc = null;
             try
             {
                 // i2cBus wird nicht in Instanzvariable abgelegt, da ueber I2CFactory erreichbar!
                 final I2CBus i2cBus = isRaspi? I2CFactory.getInstance(I2CBus.BUS_1) : null;
-                // Verbindung zum Arduino instanziieren...
-                arduinoLoc = isRaspi? (new ArduinoI2C((i2cBus != null)? i2cBus.getDevice(ARDUINO_ADDRESS) : null)) 
-                                     : null;
+                // Verbindung zum Arduino instanziieren (Art aus den Systemeinstellungen)...
+                if (i2cBus != null)
+                {
+                    final I2CDevice arduinoDevice = i2cBus.getDevice(ARDUINO_ADDRESS);
+                    final String linkType = properties.getProperty(Model.ARDUINO_LINK_KEY, "").trim();
+                    switch ((linkType.length() > 0)? ArduinoLink.Type.valueOf(linkType) : ArduinoLink.Type.SPLIT)
+                    {
+                        case COMBINED:
+                            arduinoLoc = new CombinedArduinoLink(arduinoDevice);
+                            break;
+                        case BATCHED:
+                            arduinoLoc = new BatchedArduinoLink(arduinoDevice);
+                            break;
+                        default:
+                            arduinoLoc = new ArduinoI2CLink(new ArduinoI2C(arduinoDevice));
+                            break;
+                    }
+                    logger.info("arduinoLink=" + arduinoLoc.toString());
+                    if (Boolean.parseBoolean(properties.getProperty(Model.ARDUINO_PIPELINE_KEY, "false").trim()))
+                    {
+                        // Austausch im I2C-Thread, die Zeitmessung erfolgt dort...
+                        pipelineLoc = new ArduinoPipeline(arduinoLoc, this.statistics.getI2c());
+                        pipelineLoc.start();
+                        logger.info("arduinoPipeline=" + pipelineLoc.toString());
+                    }
+                }
                 
                 // MotorDriverHAT instanziieren (auf der Adresse und mit der Frequenz)...
                 motorDriverHATLoc = isRaspi? (new MotorDriverHAT(((i2cBus != null)? i2cBus.getDevice(MD_HAT_ADDRESS) : null),
                                                                  MD_HAT_FREQUENCY))
                                             : null;
+                // Ausgabe in einem Schreibzugriff (nach der Initialisierung durch den MotorDriverHAT)...
+                if ((motorDriverHATLoc != null) && (i2cBus != null)
+                 && Boolean.parseBoolean(properties.getProperty(Model.PWM_COALESCED_KEY, "false").trim()))
+                {
+                    pwmOutputStageLoc = new PwmOutputStage(i2cBus.getDevice(MD_HAT_ADDRESS));
+                    logger.info("pwmOutputStage=" + pwmOutputStageLoc.toString());
+                }
             }
-            catch (UnsupportedBusNumberException | IOException exception)
+            catch (UnsupportedBusNumberException | IOException | IllegalArgumentException exception)
             {
                 logger.error(exception.toString(), exception);
                 System.err.println(exception.toString());
                 System.exit(0);
             }
-            this.arduinoI2C = arduinoLoc;
+            this.arduinoLink = arduinoLoc;
+            this.arduinoPipeline = pipelineLoc;
             // Status der Kommunikation auf NOP und token auf 0L...
             this.i2cStatus = ArduinoI2C.Status.NOP;
             this.token = 0L;
             
             this.motorDriverHAT = motorDriverHATLoc;
+            this.pwmOutputStage = pwmOutputStageLoc;
         }
         
         {
-            //////////////////////////////////////////////////////////////////////////
-            // Input-Pins einstellen (plus Eventhandling)...
-            if (isRaspi)
+            // Budgets des Resync aus den Systemeinstellungen...
+            LinkRecovery linkRecoveryLoc = null;
+            try
             {
-                // *** Zugriff auf die Input-Pin nur wenn Lauf auf dem Raspi... ***
-                GpioPinDigitalInput gpioInputPin = this.gpioController.provisionDigitalInputPin(Model.GPIO_CYCLE_PIN, 
-                                                                                                Model.GPIO_CYCLE_PIN_NAME, 
-                                                                                                Model.PIN_PULL_RESISTANCE);
-                // Event-Handler (Listener) instanziieren...
-                gpioInputPin.addListener(new GpioPinListenerDigital() 
-                {
-                    /**
-                     * Event-Verarbeitung angestossen durch den  ArduinoI2C-Uno...
-                     * <p>
-                     * Der Handler wird in einem festen Takt durch den Arduino beauftragt.
-                     * Innerhalb des Handlers ist die Kommunikation mit dem Arduino und die
-                     * Berechnung der Regelalgorithmen vorzunehmen.
-                     * </p>
-                     */
-                    @Override
-                    public void handleGpioPinDigitalStateChangeEvent(GpioPinDigitalStateChangeEvent event)
+                final int retries = Integer.parseInt(properties.getProperty(Model.RESYNC_RETRIES_KEY, String.valueOf(LinkRecovery.DEFAULT_RETRIES)).trim());
+                final int budget = Integer.parseInt(properties.getProperty(Model.RESYNC_BUDGET_KEY, String.valueOf(LinkRecovery.DEFAULT_BUDGET)).trim());
+                linkRecoveryLoc = new LinkRecovery(retries, budget);
+            }
+            catch (IllegalArgumentException exception)
+            {
+                logger.error(exception.toString(), exception);
+                System.err.println(exception.toString());
+                linkRecoveryLoc = new LinkRecovery(LinkRecovery.DEFAULT_RETRIES, LinkRecovery.DEFAULT_BUDGET);
+            }
+            this.linkRecovery = linkRecoveryLoc;
+            logger.info("linkRecovery=" + this.linkRecovery.toString());
+        }
+        
+        {
+            //////////////////////////////////////////////////////////////////////////
+            // Taktquelle einstellen: Auf dem Raspi die Flanke am GPIO_CYCLE_PIN, 
+            // wahlweise (auch ohne Raspi) der interne Zeitgeber...
+            CycleSource.Type cycleSourceType = isRaspi? CycleSource.Type.GPIO : null;
+            double cyclePeriod = PositionController.CYCLE_TIME;
+            double cycleSpinWait = 0.0;
+            double watchdogFraction = TriggerWatchdog.DEFAULT_FRACTION;
+            try
+            {
+                final String type = properties.getProperty(Model.CYCLE_SOURCE_KEY, "").trim();
+                if (type.length() > 0)
+                {
+                    cycleSourceType = CycleSource.Type.valueOf(type);
+                }
+                cyclePeriod = Double.parseDouble(properties.getProperty(Model.CYCLE_PERIOD_KEY, String.valueOf(cyclePeriod)).trim());
+                cycleSpinWait = Double.parseDouble(properties.getProperty(Model.CYCLE_SPIN_WAIT_KEY, String.valueOf(cycleSpinWait)).trim());
+                watchdogFraction = Double.parseDouble(properties.getProperty(Model.WATCHDOG_FRACTION_KEY, String.valueOf(watchdogFraction)).trim());
+            }
+            catch (IllegalArgumentException exception)
+            {
+                logger.error(exception.toString(), exception);
+                System.err.println(exception.toString());
+            }
+            if ((CycleSource.Type.GPIO == cycleSourceType) && !isRaspi)
+            {
+                // Die Flanke gibt es nur auf dem Raspi...
+                cycleSourceType = null;
+            }
+            
+            // Sollwert-Rampen mit der nominellen Taktzeit (Arduino bzw. interner Zeitgeber)...
+            final double nominalPeriod = (CycleSource.Type.CLOCK == cycleSourceType)? cyclePeriod : PositionController.CYCLE_TIME;
+            this.trajectory = new SetpointTrajectory(AXES, nominalPeriod);
+            this.periodEstimator = new PeriodEstimator(PeriodEstimator.DEFAULT_WINDOW, nominalPeriod);
+            
+            if (cycleSourceType != null)
+            {
+                // publisher und Regel-Thread starten (vor dem Start der Taktquelle)...
+                final Thread publisher = new Thread(new Runnable()
+                {
+                    @Override
+                    public void run()
                     {
-                        final GpioPin gpioPin = event.getPin();
-                        final String pinName = gpioPin.getName();
-                        final PinEdge pinEdge = event.getEdge();
-                        // Reaktion erfolgt an der steigenden Flanke...
-                        if (PinEdge.RISING == pinEdge)
-                        {
-                            //////////////////////////////////////////////////////////////////////////
-                            // Die Taktung durch den ArduinoI2C hat einen Referenzpunkt 
-                            // erreicht.
-                            // Variable now dient zur zeitlichen Einordnung des Ereignisses...
-                            // Jetzt werden die Kenngroesse der Taktung ermittelt:
-                            // - now: der jetzige Zeitpunkt, 
-                            // -      die Zeitdauer ergibt sich dann
-                            //        durch Differenzbildung zu Model.this.past...
-                            // now wird im weiteren Verlauf im Zustand Model.this.past 
-                            // abgelegt. 
-                            final Instant now = Instant.now();
-                            
-                            // Model.this.past: Zeitpunkt der letzten Taktung...
-                            if (Model.this.past == null)
-                            {
-                                // Erste Beauftragung: Model.this.past = null...
-                                Model.this.past = now;
-                            }
-                            // Model.this.cycleTime: Taktzeit aus der Differenz now - past.
-                            // Ablage der aktuell gemessenen Taktzeit in der Zustandsgroesse cycleTime...
-                            Model.this.cycleTime = toBigDecimalSeconds(Duration.between(Model.this.past, now), 
-                                                                       Model.SCALE_CYCLE_TIME); 
-                            
-                            // ...und Ablage des aktuelle Zeitpunktes...
-                            Model.this.past = now;
-                            //////////////////////////////////////////////////////////////////////////
-                            
-                            if (Model.this.dataMap.containsKey(Model.DATA_KEY))
-                            {
-                                // Die Beauftragung durch Inkrementierung des Zaehlers 
-                                // Model.this.counter 'dokumentieren'...
-                                // Die dataMap haelt die Daten zur Anzeige in der View, hier DATA_KEY => Data(),
-                                // und Data() beinhaltet den aktuellen counter (und weiteres...)
-                                
-                                // Model.this.counter inkrementieren oder zu 1L setzen...
-                                Model.this.counter = ((Model.this.counter + 1L) > 0L)? (Model.this.counter + 1L) : 1L;  
-                                
-                                final Data data = new Data(Model.this.counter, 
-                                                           Model.this.cycleTime,
-                                                           Model.this.token,
-                                                           Model.this.numberMA,
-                                                           Model.this.numberMB,
-                                                           Model.this.outputMA,
-                                                           Model.this.outputMB); 
-                                setProperty(Model.DATA_KEY, data);
-                            }
-                            else
-                            {
-                                
-                            }
-                            label:
-                            {
-                                //////////////////////////////////////////////////////////////////////////////
-                                // Es folgt die Beauftragung der Kommunikation mit dem Arduino...
-                                // 1.) Wenn statusI2C == NOP, dann keine Beauftragung...
-                                //
-                                if (ArduinoI2C.Status.NOP == Model.this.i2cStatus)
-                                {
-                                    break label;
-                                }
-                                if (ArduinoI2C.Status.INITIAL == Model.this.i2cStatus)
-                                {
-                                    // INITIAL wurde durch den Start-Button gesetzt.
-                                    // 1.) Als token 0L einstellen...
-                                    Model.this.token = 0L;
-                                    // 2.) Kommunikation beginnen...
-                                }
-                                try
-                                {
-                                    //////////////////////////////////////////////////////////////////////////
-                                    // tokenToArduino: Lokale Variable, die vier unteren Bytes 
-                                    //                 der long-Instanzvariable this.token...
-                                    final long tokenToArduino = (Model.this.token & 0xffffffff);
-                                    Model.this.arduinoI2C.write(tokenToArduino, Model.this.i2cStatus);
-                                    logger.debug("i2c-Bus: " + tokenToArduino + " gesendet...");
-                                    
-                                    ArduinoI2C.DataRequest request = Model.this.arduinoI2C.read();
-                                    logger.debug("i2c-Bus: " + request.toString() + " gelesen...");
-                                    final long tokenFromArduino = request.getToken();
-                                    final ArduinoI2C.Status statusFromArduino = request.getStatus();
-                                    // valueFromArduino beinhaltet die 4 Byte-Variante der Daten vom Arduino...
-                                    final int valueFromArduino = request.getValue();
-                                    // numberMAFromArduino: Anzahl Impulse Motor A...
-                                    final int numberMAFromArduino = request.getNumberMA();
-                                    // numberMBFromArduino: Anzahl Impulse Motor B...
-                                    final int numberMBFromArduino = request.getNumberMB();
-                                    // Der Arduino wird den token inkrementieren und als
-                                    // neuen Token zurueckschicken. Wenn die Differenz
-                                    // gleich 1L ist, kann man davon ausgehen, dass auf
-                                    // dem Arduino alles korrekt laeuft...
-                                    if ((tokenFromArduino - tokenToArduino == 1L) 
-                                     && (ArduinoI2C.Status.SUCCESS == statusFromArduino))
-                                    {
-                                        Model.this.i2cStatus = ArduinoI2C.Status.SUCCESS;
-                                        Model.this.token = (tokenFromArduino & 0xffffffff);
-                                        
-                                        // "Umschiften..."
-                                        Model.this.totalMA[0] = Model.this.totalMA[1];
-                                        Model.this.totalMA[1] = numberMAFromArduino;
-                                        Model.this.controlMA[0] = Model.this.controlMA[1];
-                                        // diffMA => Zuwachs Motor A:
-                                        final long diffMA = Model.this.totalMA[1] - Model.this.totalMA[0];
-                                                
-                                        Model.this.totalMB[0] = Model.this.totalMB[1];
-                                        Model.this.totalMB[1] = numberMBFromArduino;
-                                        Model.this.controlMB[0] = Model.this.controlMB[1];
-                                        // diffMB => Zuwachs Motor B:
-                                        final long diffMB = Model.this.totalMB[1] - Model.this.totalMB[0];
-                                        
-                                        final int signumMA = Model.this.controlMA[0].signum();
-                                        final int signumMB = Model.this.controlMB[0].signum();
-                                        
-                                        // numberMA/numberMB - absolute Lage der Motoren in Impulse:
-                                        Model.this.numberMA += signumMA * diffMA;
-                                        Model.this.numberMB += signumMB * diffMB;
-                                        
-                                        // Die Regelung wird vollstaendig durch den PositionController vorgenommen.
-                                        // Dazu hat er u.a. bereits die Verstaerkung (=> enhancement) gesetzt bekommen,
-                                        // ausserdem kennt er die impulsanzahl pro Umdrehung (wheelSteps).
-                                        // Der Regelalgorithmus ermittelt aus den Sollwertvorgaben valueMA/valueMB (jeweils von -1.0 ... +1.0)
-                                        // und den Lageinformationen numberMA/numbermB (jeweilige absolute Impulszahlen) die Ausgangsgroessen
-                                        // zusammengefasst in Output (Zusammenfassung von outputMA und outputMB). Die Ausgangsgroessen werden 
-                                        // direkt auf den Driver-Schaltkreis ausgegeben (Treiber MotorDriverHAT, Wertebereich -1.0F ... +1.0F).  
-                                        final PositionController.Output output = Model.this.getPositionController().doControl(Model.this.valueMA, Model.this.numberMA, 
-                                                                                                                              Model.this.valueMB, Model.this.numberMB);
-                                        
-                                        logger.debug("doControl(): " + output.toString());
-                                        
-                                        // Reglerausgang nur verwenden, wenn die Reglung aktiviert wurde...
-                                        Model.this.outputMA = Model.this.isControlled? output.getOutputMA() : Model.this.valueMA.setScale(SCALE_OUTPUT);
-                                        Model.this.outputMB = Model.this.isControlled? output.getOutputMB() : Model.this.valueMB.setScale(SCALE_OUTPUT);
-
-                                        // outputMA und outputMB merken...
-                                        // Die geshiften Werte controlMA[0] und controlMB[0] werden verwendet, um einen moeglichen 
-                                        // negativen Lagezuwachs zu erkennen.
-                                        Model.this.controlMA[1] = Model.this.outputMA;
-                                        Model.this.controlMB[1] = Model.this.outputMB;
-                                        
-                                        //
-                                        final float speedMA = ((Model.this.outputMA != null)? Model.this.outputMA.floatValue() : 0.0F);
-                                        final float speedMB = ((Model.this.outputMB != null)? Model.this.outputMB.floatValue() : 0.0F);
-                                        
-                                        Model.this.motorDriverHAT.setPwmMA(speedMA);
-                                        Model.this.motorDriverHAT.setPwmMB(speedMB);
-                                        
-                                    }
-                                    else
-                                    {
-                                        Model.this.i2cStatus = ArduinoI2C.Status.ERROR;
-                                        
-                                        Model.this.motorDriverHAT.setPwmMA(0.0F);
-                                        Model.this.motorDriverHAT.setPwmMB(0.0F);
-                                    }
-                                } 
-                                catch (IOException exception)
-                                {
-                                    logger.error(exception.toString(), exception);
-                                    System.err.println(exception.toString());
-                                }
-                            }
-                            //
-                            //////////////////////////////////////////////////////////////////////////
-                            
-                            {
-                                //////////////////////////////////////////////////////////////////////////////////////////////////
-                                // Testausgabe: Dauer der Bearbeitung von handleGpioPinDigitalStateChangeEvent() von 0.001 ... 0.006s
-                                // final BigDecimal duration = toBigDecimalSeconds(Duration.between(Model.this.past, Instant.now()), 
-                                //                                                 Model.SCALE_CYCLE_TIME); 
-                                // Evtl. Log-Ausgabe...
-                                // logger.debug("Dauer handleGpioPinDigitalStateChangeEvent() in s: " + duration);
-                                //////////////////////////////////////////////////////////////////////////////////////////////////
-                            }
-                        } // end() - (PinEdge.RISING == pinEdge).
+                        doPublish();
+                    }
+                }, "publisher");
+                publisher.setDaemon(true);
+                this.publisher = publisher;
+                publisher.start();
+                
+                this.controlEngine = new ControlEngine(new ControlEngine.Cycle()
+                {
+                    @Override
+                    public void doCycle(long timestamp)
+                    {
+                        Model.this.doCycle(timestamp);
                     }
                     
-                    /**
-                     * toBigDecimalSeconds(Duration duration) - liefert die Anzahl der Sekunden
-                     * <p>
-                     * Vgl. toBigDecimalSeconds() aus Duration in Java 11.
-                     * </p>
-                     * @param duration
-                     * @return
-                     */
-                    private BigDecimal toBigDecimalSeconds(Duration duration, int scale)
+                    @Override
+                    public void doSafeStop()
                     {
-                        Objects.requireNonNull(duration, "duration must not be null!");
-                        final BigDecimal result = BigDecimal.valueOf(duration.getSeconds()).add(BigDecimal.valueOf(duration.getNano(), 9)).setScale(scale,  BigDecimal.ROUND_HALF_UP);
-                        return (result.compareTo(BigDecimal.ONE.movePointLeft(scale)) < 0)? BigDecimal.ZERO : result;   
+                        Model.this.doSafeStop("Ueberlauf des Regelzyklus");
                     }
                 });
-                this.gpioPinDigitalInputCyclePin = gpioInputPin;
-                // Ablage eines "leeren (Default-)" Data-Objektes in der dataMap...
-                // Dem Key Model.DATA_KEY wird beispielsweise das Value Long.valueOf(0L) zugeordnet.
-                setProperty(Model.DATA_KEY, new Data());
-                logger.debug(Model.DATA_KEY + " in dataMap gesetzt.");                
+                // Verhalten bei einem Ueberlauf aus den Systemeinstellungen...
+                {
+                    final String overrunPolicy = properties.getProperty(Model.OVERRUN_POLICY_KEY, "").trim();
+                    if (overrunPolicy.length() > 0)
+                    {
+                        try
+                        {
+                            this.controlEngine.setOverrunPolicy(ControlEngine.OverrunPolicy.valueOf(overrunPolicy));
+                        }
+                        catch (IllegalArgumentException exception)
+                        {
+                            logger.error(exception.toString(), exception);
+                            System.err.println(exception.toString());
+                        }
+                    }
+                    logger.info("overrunPolicy=" + this.controlEngine.getOverrunPolicy().name());
+                }
+                // CPU-Affinitaet und Echtzeit-Prioritaet des Regel-Threads aus den Systemeinstellungen...
+                {
+                    ThreadTuning threadTuning = new ThreadTuning("", 0, ThreadTuning.Policy.FIFO);
+                    try
+                    {
+                        threadTuning = ThreadTuning.parse(properties);
+                    }
+                    catch (IllegalArgumentException exception)
+                    {
+                        logger.error(exception.toString(), exception);
+                        System.err.println(exception.toString());
+                    }
+                    logger.info("threadTuning=" + threadTuning.toString());
+                    // Auch ohne Einstellung: der wirksame Zustand wird protokolliert...
+                    this.controlEngine.setThreadTuning(threadTuning);
+                }
+                this.controlEngine.start();
+                
+                // Ueberwachung des Taktes (Periode zunaechst nominell, dann gemessen)...
+                this.watchdog = new TriggerWatchdog(this.controlEngine, new TriggerWatchdog.Action()
+                {
+                    @Override
+                    public void doTriggerLost(long age)
+                    {
+                        Model.this.doTriggerLost();
+                    }
+                    
+                    @Override
+                    public void doTriggerRestored()
+                    {
+                        Model.this.pendingTriggerStatus.set(TriggerWatchdog.Status.OK);
+                        final Thread publisher = Model.this.publisher;
+                        if (publisher != null)
+                        {
+                            LockSupport.unpark(publisher);
+                        }
+                    }
+                }, nominalPeriod, watchdogFraction);
+                this.watchdog.start();
+                
+                // *** Zugriff auf die Input-Pin nur wenn Lauf auf dem Raspi... ***
+                this.cycleSource = (CycleSource.Type.GPIO == cycleSourceType)? new GpioCycleSource(this.gpioController, 
+                                                                                                   Model.GPIO_CYCLE_PIN, 
+                                                                                                   Model.PIN_PULL_RESISTANCE)
+                                                                             : new ClockCycleSource(cyclePeriod, cycleSpinWait);
+                this.cycleSource.start(this.controlEngine);
+                logger.info("cycleSource=" + this.cycleSource.toString());
             }
             else
             {
-                this.gpioPinDigitalInputCyclePin = null;
-                setProperty(Model.DATA_KEY, new Data());                
-                logger.debug(Model.DATA_KEY + " in dataMap mit value=null aufgenommen.");
+                this.cycleSource = null;
+                this.controlEngine = null;
+                this.watchdog = null;
             }
+            // Ablage eines "leeren (Default-)" Data-Objektes in der dataMap...
+            setProperty(Model.DATA_KEY, new Data(AXES));
+            logger.debug(Model.DATA_KEY + " in dataMap gesetzt.");
             //////////////////////////////////////////////////////////////////////////
         }
         
@@ -909,12 +1234,546 @@ public class Model
         
         // Einige Daten initial setzen...
         setProperty(DESTINATION_SIMULTAN_KEY, Boolean.valueOf(this.isDestinationSimultan));
-        setProperty(CONTROL_KEY, Boolean.valueOf(this.isControlled));
-        setProperty(CONTROL_MA_KEY, Boolean.valueOf(this.isMAControlled));
-        setProperty(CONTROL_MA_KEY, Boolean.valueOf(this.isMBControlled));
+        final ControlParameters parameters = this.parameters.get();
+        setProperty(CONTROL_KEY, Boolean.valueOf(parameters.isControlled()));
+        setProperty(SPEED_CONTROL_KEY, Boolean.valueOf(parameters.isSpeedControlled()));
+        setProperty(RAMP_KEY, Boolean.valueOf(parameters.isRamped()));
+        setProperty(DEAD_TIME_KEY, Boolean.valueOf(parameters.isDeadTimeCompensated()));
+        setProperty(TARGET_POSITION_KEY, TARGET_POSITIONS[SELECTED_TARGET_POSITIONS_INDEX]);
+        setProperty(MOVE_STATUS_KEY, this.motionPlanner.getStatus());
+        setProperty(STATISTICS_KEY, this.statistics.toSummary());
+        setProperty(TRIGGER_STATUS_KEY, TriggerWatchdog.Status.WAITING);
+        setProperty(CONTROL_MA_KEY, Boolean.valueOf(parameters.isAxisControlled(AXIS_MA)));
+        setProperty(CONTROL_MB_KEY, Boolean.valueOf(parameters.isAxisControlled(AXIS_MB)));
         setProperty(GUI_STATUS_KEY, GuiStatus.INIT);
     }
      
+    /**
+     * doCycle(long timestamp) - ein Regelzyklus, Ausfuehrung im Regel-Thread 
+     * (vgl. ControlEngine)...
+     * <p>
+     * Kommunikation mit dem Arduino, Regelung und Pwm-Ausgabe. Die Anzeige
+     * (Data, PropertyChange) und das Logging erfolgen im publisher, damit
+     * Verzoegerungen der GUI die Ausgabe an die Motoren nicht aufhalten koennen.
+     * </p>
+     * @param timestamp - Zeitpunkt der Flanke (System.nanoTime())
+     */
+    private void doCycle(long timestamp)
+    {
+        //////////////////////////////////////////////////////////////////////////
+        // Die Taktung durch den ArduinoI2C hat einen Referenzpunkt 
+        // erreicht.
+        // Verzoegerung von der Flanke bis hierher (Zustellung an den Regel-Thread),
+        // getrennt erfasst, sie geht nicht in die Zykluszeit ein...
+        Model.this.statistics.getDispatch().record(System.nanoTime() - timestamp);
+        
+        // Zykluszeit (Flanke zu Flanke) aus den Zeitstempeln der Flanken, 
+        // primitiv in ns, ohne Allokation...
+        if (Model.this.pastTimestamp != 0L)
+        {
+            Model.this.cycleNanos = timestamp - Model.this.pastTimestamp;
+            Model.this.statistics.getPeriod().record(Model.this.cycleNanos);
+        }
+        Model.this.pastTimestamp = timestamp;
+        
+        // Zykluszeit fuer Regelung, Drehzahl und Positionierung: Anzahl der Perioden seit
+        // dem letzten Zyklus mal geschaetzter Periode des Arduino (ohne den Jitter der 
+        // Zeitstempel), bis zur ersten Schaetzung die gemessene Zykluszeit...
+        final PeriodEstimator estimator = Model.this.periodEstimator;
+        final long cycles = estimator.update(timestamp);
+        final double cycleTimeSeconds = estimator.isValid()? estimator.toSeconds(cycles) : Model.this.cycleNanos * 1.0E-9;
+        //////////////////////////////////////////////////////////////////////////
+        
+        // Die Beauftragung durch Inkrementierung des Zaehlers 
+        // Model.this.counter 'dokumentieren'...
+        // Model.this.counter inkrementieren oder zu 1L setzen...
+        Model.this.counter = ((Model.this.counter + 1L) > 0L)? (Model.this.counter + 1L) : 1L;  
+        
+        // Zyklusgrenze: Kommandos der GUI (Start, Stop, Reset) uebernehmen...
+        applyRunState();
+        
+        label:
+        {
+            //////////////////////////////////////////////////////////////////////////////
+            // Es folgt die Beauftragung der Kommunikation mit dem Arduino...
+            // 1.) Wenn statusI2C == NOP, dann keine Beauftragung...
+            //
+            if (ArduinoI2C.Status.NOP == Model.this.i2cStatus)
+            {
+                break label;
+            }
+            if (Model.this.arduinoLink == null)
+            {
+                // Kein Raspi (interner Zeitgeber): Zyklus ohne Kommunikation...
+                break label;
+            }
+            // Zeit seit dem letzten erfolgreichen Austausch (verworfene Zyklen eingeschlossen)...
+            Model.this.elapsedSeconds += cycleTimeSeconds;
+            if (ArduinoI2C.Status.INITIAL == Model.this.i2cStatus)
+            {
+                // INITIAL wurde durch den Start-Button gesetzt.
+                // 1.) Als token 0L einstellen...
+                Model.this.token = 0L;
+                // 2.) Kommunikation beginnen...
+            }
+            final ArduinoPipeline pipeline = Model.this.arduinoPipeline;
+            try
+            {
+                final ArduinoFrame frame = Model.this.arduinoFrame;
+                //////////////////////////////////////////////////////////////////////////
+                // tokenToArduino: Lokale Variable, die vier unteren Bytes 
+                //                 der long-Instanzvariable this.token...
+                final long tokenToArduino;
+                if (pipeline != null)
+                {
+                    // Pipeline: Antwort auf die im letzten Zyklus (nach der Pwm-Ausgabe) 
+                    // gestellte Anfrage uebernehmen, geprueft wird gegen den dabei gesendeten token...
+                    if (!pipeline.poll(frame))
+                    {
+                        // Keine Antwort (erster Zyklus nach dem Start, Antwort verspaetet):
+                        // Pwm-Werte bleiben stehen, Anfrage stellen, sofern keine unterwegs ist...
+                        pipeline.submit((Model.this.token & 0xffffffff), Model.this.i2cStatus);
+                        break label;
+                    }
+                    tokenToArduino = pipeline.getToken();
+                }
+                else
+                {
+                    tokenToArduino = (Model.this.token & 0xffffffff);
+                    final long i2cStart = System.nanoTime();
+                    // Anfrage senden und Antwort lesen (je nach ArduinoLink in einer Transaktion)...
+                    Model.this.arduinoLink.exchange(tokenToArduino, Model.this.i2cStatus, frame);
+                    Model.this.statistics.getI2c().record(System.nanoTime() - i2cStart);
+                }
+                if (logger.isDebugEnabled())
+                {
+                    logger.debug("i2c-Bus: " + tokenToArduino + " gesendet, " + frame.toString() + " gelesen...");
+                }
+                final long tokenFromArduino = frame.getToken();
+                final ArduinoI2C.Status statusFromArduino = frame.getStatus();
+                // Der Arduino wird den token inkrementieren und als
+                // neuen Token zurueckschicken. Wenn die Differenz
+                // gleich 1L ist, kann man davon ausgehen, dass auf
+                // dem Arduino alles korrekt laeuft...
+                if ((tokenFromArduino - tokenToArduino == 1L) 
+                 && (ArduinoI2C.Status.SUCCESS == statusFromArduino))
+                {
+                    Model.this.i2cStatus = ArduinoI2C.Status.SUCCESS;
+                    Model.this.token = (tokenFromArduino & 0xffffffff);
+                    Model.this.linkRecovery.succeeded();
+                    // Zykluszeit der Regelung: seit dem letzten erfolgreichen Austausch, die 
+                    // Zaehlerstaende umfassen auch evtl. verworfene Zyklen...
+                    final double elapsedSeconds = Model.this.elapsedSeconds;
+                    Model.this.elapsedSeconds = 0.0;
+                    
+                    // Zaehlerstaende den Achsen zuordnen (Motor A => Achse 0, Motor B => Achse 1)...
+                    final Axes axes = Model.this.axes;
+                    axes.counter[AXIS_MA] = frame.getNumberMA();
+                    axes.counter[AXIS_MB] = frame.getNumberMB();
+                    // Impulsrate aus den Abtastwerten (nur BatchedArduinoLink), Vorzeichen 
+                    // wie der Lagezuwachs aus der Stellgroesse des letzten Zyklus...
+                    final int samples = frame.getSampleCount();
+                    axes.rate[AXIS_MA] = Math.signum(axes.output[AXIS_MA]) 
+                                       * Model.this.encoderRates[AXIS_MA].update(frame.getSampleTime(), frame.getSampleMA(), samples);
+                    axes.rate[AXIS_MB] = Math.signum(axes.output[AXIS_MB]) 
+                                       * Model.this.encoderRates[AXIS_MB].update(frame.getSampleTime(), frame.getSampleMB(), samples);
+                    // Lage aller Achsen nachfuehren, das Vorzeichen des Zuwachses ergibt 
+                    // sich aus der Stellgroesse des letzten Zyklus (axes.output[])...
+                    axes.updatePositions();
+                    
+                    // Parameter des Zyklus: Genau ein Lesezugriff, die Vorgaben werden nach
+                    // axes.value[] uebernommen (axes wird nur im Regel-Thread geschrieben)...
+                    final ControlParameters parameters = Model.this.parameters.get();
+                    for (int axis = 0; axis < AXES; axis++)
+                    {
+                        axes.value[axis] = parameters.getValue(axis);
+                    }
+                    
+                    // Sollwert-Rampen: Aus den Vorgaben axes.value[] werden die ruckbegrenzt 
+                    // gefuehrten Sollwerte axes.reference[] (nur ein Tabellenzugriff je Achse)...
+                    Model.this.trajectory.update(axes, parameters.isRamped());
+                    
+                    // Positionierung: Waehrend einer Fahrt ersetzt die Lageregelung je Achse
+                    // die Sollwerte axes.reference[]...
+                    final MotionPlanner planner = Model.this.motionPlanner;
+                    if (planner.update(axes, elapsedSeconds))
+                    {
+                        // Anzeige durch den publisher...
+                        Model.this.pendingMoveStatus.set(planner.getStatus());
+                    }
+                    final boolean isMoving = planner.isMoving();
+                    
+                    // Die Regelung wird vollstaendig durch den PositionController vorgenommen.
+                    // Dazu erhaelt er die Parameter des Zyklus (u.a. die Verstaerkung => enhancement),
+                    // ausserdem kennt er die impulsanzahl pro Umdrehung (wheelSteps).
+                    // Der Regelalgorithmus ermittelt aus den Sollwerten axes.reference[] (jeweils von -1.0 ... +1.0)
+                    // und den Lageinformationen axes.number[] (jeweilige absolute Impulszahlen) je Achse die 
+                    // korrigierten Sollwerte axes.setpoint[]. Im Zyklus wird nichts allokiert.
+                    Model.this.getPositionController().doControl(axes, elapsedSeconds, parameters);
+                    if (logger.isDebugEnabled())
+                    {
+                        logger.debug("doControl(): " + axes.toString());
+                    }
+                    
+                    // Autotuning: Waehrend des Relais-Versuchs wird anstelle des Reglers das Relais
+                    // auf die Lagedifferenz Motor A - Motor B geschaltet...
+                    final RelayAutoTuner tuner = Model.this.autoTuner;
+                    final double relay = (tuner != null)? tuner.step(axes.number[AXIS_MA] - axes.number[AXIS_MB], elapsedSeconds) : 0.0;
+                    
+                    if ((tuner != null) && tuner.isFinished())
+                    {
+                        Model.this.autoTuner = null;
+                        // Anzeige durch den publisher...
+                        Model.this.pendingAutoTuneResult.set(tuner.getResult());
+                    }
+                    
+                    for (int axis = 0; axis < AXES; axis++)
+                    {
+                        // Reglerausgang nur verwenden, wenn die Reglung aktiviert wurde...
+                        final double setpoint = (tuner != null)? (axes.reference[axis] + ((axis == AXIS_MA)? -relay : (axis == AXIS_MB)? relay : 0.0)) 
+                                                               : ((parameters.isControlled() && !isMoving)? axes.setpoint[axis] : axes.reference[axis]);
+                        // Kaskade: Der Drehzahlregler (innerer Kreis) wird immer mitgefuehrt, damit 
+                        // die Ist-Drehzahl angezeigt werden kann. Mit Drehzahlregelung ist der 
+                        // (korrigierte) Sollwert der Drehzahl-Sollwert, ohne wird er direkt ausgegeben
+                        // (der PI-Anteil wird dann nur nachgefuehrt, kein Aufintegrieren).
+                        final SpeedController speedController = Model.this.speedControllers[axis];
+                        // Mit Abtastwerten des Arduino die feinere Impulsrate, sonst der Impulszuwachs...
+                        final boolean isSpeedControlled = parameters.isSpeedControlled();
+                        final double speedOutput = Double.isNaN(axes.rate[axis])? speedController.control(setpoint, axes.increment[axis], elapsedSeconds, isSpeedControlled)
+                                                                                : speedController.controlRate(setpoint, axes.rate[axis], elapsedSeconds, isSpeedControlled);
+                        axes.speed[axis] = speedController.getSpeed();
+                        // axes.output[] wird im naechsten Zyklus verwendet, um einen moeglichen 
+                        // negativen Lagezuwachs zu erkennen.
+                        axes.output[axis] = isSpeedControlled? speedOutput : setpoint;
+                    }
+                    
+                    writeOutputs(axes.output[AXIS_MA], axes.output[AXIS_MB]);
+                    
+                }
+                else
+                {
+                    // token oder Status falsch: Resync bzw. Abbruch...
+                    doLinkFailure();
+                }
+                // Latenz: Flanke bis zur Ausgabe der Pwm-Werte...
+                Model.this.statistics.getLatency().record(System.nanoTime() - timestamp);
+            } 
+            catch (IOException exception)
+            {
+                // Protokollierung durch den publisher...
+                Model.this.pendingException.set(exception);
+                // Gestoerter Austausch: Resync wie bei falschem token...
+                doLinkFailure();
+            }
+            if ((pipeline != null) && (ArduinoI2C.Status.NOP != Model.this.i2cStatus))
+            {
+                // Pipeline: Naechste Anfrage sofort stellen (auch nach einem gestoerten 
+                // Austausch, der Resync kostet damit genau einen Zyklus), der Austausch 
+                // laeuft waehrend des Wartens auf die naechste Flanke...
+                pipeline.submit((Model.this.token & 0xffffffff), Model.this.i2cStatus);
+            }
+        }
+        //
+        //////////////////////////////////////////////////////////////////////////
+        
+        // Zustandsgroessen zur Anzeige ablegen (ohne Allokation) und den publisher wecken,
+        // Data und PropertyChange entstehen erst dort...
+        Model.this.snapshot.write(Model.this.counter, 
+                                  Model.this.cycleNanos * 1.0E-9, 
+                                  Model.this.token, 
+                                  getOverrunCount(), 
+                                  Model.this.axes);
+        final Thread publisher = Model.this.publisher;
+        if (publisher != null)
+        {
+            LockSupport.unpark(publisher);
+        }
+    }
+    
+    /**
+     * writeOutputs(double outputMA, double outputMB) - Stellgroessen beider Motoren ausgeben,
+     * mit PwmOutputStage in einem Schreibzugriff (nur geaenderte Kanaele)...
+     * <p>
+     * Ist die Regelung bereits in FAULT oder STOPPING (z.B. Stop durch den Watchdog 
+     * waehrend des Zyklus), so wird nichts mehr ausgegeben, die Motoren bleiben stehen.
+     * </p>
+     * @param outputMA - Stellgroesse Motor A (-1.0 ... +1.0)
+     * @param outputMB - Stellgroesse Motor B (-1.0 ... +1.0)
+     * @throws IOException
+     */
+    private void writeOutputs(double outputMA, double outputMB) throws IOException
+    {
+        synchronized (Model.this.outputLock)
+        {
+            final RunStateMachine.State state = Model.this.runState.getState();
+            if ((RunStateMachine.State.FAULT == state) || (RunStateMachine.State.STOPPING == state))
+            {
+                return;
+            }
+            final PwmOutputStage stage = Model.this.pwmOutputStage;
+            if (stage != null)
+            {
+                stage.write((float) outputMA, (float) outputMB);
+            }
+            else
+            {
+                Model.this.motorDriverHAT.setPwmMA((float) outputMA);
+                Model.this.motorDriverHAT.setPwmMB((float) outputMB);
+            }
+        }
+    }
+    
+    /**
+     * stopOutputs() - beide Motoren stoppen (immer alle Kanaele schreiben)...
+     * @throws IOException
+     */
+    private void stopOutputs() throws IOException
+    {
+        synchronized (Model.this.outputLock)
+        {
+            final PwmOutputStage stage = Model.this.pwmOutputStage;
+            if (stage != null)
+            {
+                stage.stop();
+            }
+            else
+            {
+                Model.this.motorDriverHAT.setPwmMA(0.0F);
+                Model.this.motorDriverHAT.setPwmMB(0.0F);
+            }
+        }
+    }
+    
+    /**
+     * doLinkFailure() - gestoerter Austausch mit dem Arduino, Ausfuehrung im Regel-Thread...
+     * <p>
+     * Im Rahmen der Budgets (vgl. LinkRecovery) wird resynchronisiert: Der Zyklus
+     * wird verworfen, die Stellgroessen bleiben stehen, die naechste Anfrage geht
+     * mit dem zuletzt bestaetigten token hinaus. Ist ein Budget erschoepft, wird
+     * die Regelung mit ERROR beendet (doSafeStop()).
+     * </p>
+     */
+    private void doLinkFailure()
+    {
+        if (!Model.this.linkRecovery.failed())
+        {
+            Model.this.i2cStatus = ArduinoI2C.Status.ERROR;
+            doSafeStop("Kommunikation mit dem Arduino gestoert (" + Model.this.linkRecovery.toString() + ")");
+        }
+    }
+    
+    /**
+     * applyRunState() - Kommandos der GUI an der Zyklusgrenze uebernehmen, 
+     * Ausfuehrung im Regel-Thread (ohne Regel-Thread direkt im Aufrufer)...
+     * <p>
+     * Nur hier werden token, Lage, Zaehler und i2cStatus veraendert, damit
+     * wirkt z.B. ein Reset nie mitten in einem Zyklus.
+     * </p>
+     */
+    private void applyRunState()
+    {
+        final RunStateMachine.Command command = Model.this.runState.takeCommand();
+        if (RunStateMachine.Command.START == command)
+        {
+            // Kommunikation beginnen, als token wird 0L gesendet...
+            Model.this.token = 0L;
+            Model.this.i2cStatus = ArduinoI2C.Status.INITIAL;
+            if (Model.this.arduinoPipeline != null)
+            {
+                // Antworten auf Anfragen vor dem Start verwerfen...
+                Model.this.arduinoPipeline.clear();
+            }
+            // Vor dem Start angeforderte Fahrt bzw. Autotuning verwerfen...
+            Model.this.autoTuner = null;
+            Model.this.motionPlanner.cancel();
+            // Budgets des Resync auffuellen...
+            Model.this.linkRecovery.reset();
+            Model.this.elapsedSeconds = 0.0;
+            // Regler (I-/D-Anteil) zuruecksetzen...
+            Model.this.positionController.reset();
+            if (!Model.this.runState.compareAndSet(RunStateMachine.State.INIT, RunStateMachine.State.RUNNING)
+             && !Model.this.runState.compareAndSet(RunStateMachine.State.STOPPED, RunStateMachine.State.RUNNING))
+            {
+                Model.this.runState.compareAndSet(RunStateMachine.State.FAULT, RunStateMachine.State.RUNNING);
+            }
+        }
+        else if (RunStateMachine.Command.RESET == command)
+        {
+            Model.this.token = 0L;
+            Model.this.axes.resetPositions();
+            // Zustandsgroessen zuruecksetzen...
+            doClear();
+            Model.this.positionController.reset();
+            // Ein Fehler ist mit dem Reset quittiert...
+            Model.this.runState.compareAndSet(RunStateMachine.State.FAULT, RunStateMachine.State.STOPPED);
+        }
+        final RunStateMachine.State state = Model.this.runState.getState();
+        if ((RunStateMachine.State.STOPPING == state)
+         || ((RunStateMachine.State.FAULT == state) && (ArduinoI2C.Status.NOP != Model.this.i2cStatus)))
+        {
+            // Kommunikations-Status setzen...
+            Model.this.i2cStatus = ArduinoI2C.Status.NOP;
+            // Evtl. laufendes Autotuning abbrechen...
+            Model.this.autoTuner = null;
+            // Evtl. laufende Fahrt abbrechen...
+            Model.this.motionPlanner.cancel();
+            // Zustandsgroessen zuruecksetzen...
+            doClear();
+            if (Model.this.motorDriverHAT != null)
+            {
+                try
+                {
+                    stopOutputs();
+                }
+                catch (IOException exception)
+                {
+                    // Protokollierung durch den publisher...
+                    Model.this.pendingException.set(exception);
+                }
+            }
+            Model.this.runState.compareAndSet(RunStateMachine.State.STOPPING, RunStateMachine.State.STOPPED);
+        }
+    }
+    
+    /**
+     * doSafeStop(String reason) - Motoren stoppen nach einem Ueberlauf (OverrunPolicy.SAFE_STOP,
+     * Ausfuehrung im Regel-Thread) oder nach dem Ausfall des Taktes (im Watchdog-Thread)...
+     * <p>
+     * Die Motoren werden sofort gestoppt. Lief die Regelung, so wechselt der Zustand 
+     * nach FAULT, die Kommunikation mit dem Arduino wird an der naechsten Zyklusgrenze 
+     * beendet (applyRunState()). Da FAULT vor dem Stoppen gesetzt wird, gibt ein noch 
+     * laufender Zyklus danach nichts mehr aus (writeOutputs()). Die weitere Behandlung 
+     * (Anzeige, Status der GUI wie nach dem Stop-Button) erfolgt durch den publisher.
+     * </p>
+     * @param reason - Grund zur Protokollierung
+     */
+    private void doSafeStop(String reason)
+    {
+        if (Model.this.runState.fault())
+        {
+            Model.this.pendingSafeStop.set(reason);
+        }
+        if (Model.this.motorDriverHAT != null)
+        {
+            try
+            {
+                stopOutputs();
+            }
+            catch (IOException exception)
+            {
+                // Protokollierung durch den publisher...
+                Model.this.pendingException.set(exception);
+            }
+        }
+        final Thread publisher = Model.this.publisher;
+        if (publisher != null)
+        {
+            LockSupport.unpark(publisher);
+        }
+    }
+    
+    /**
+     * doTriggerLost() - Takt ausgeblieben, Ausfuehrung im Watchdog-Thread...
+     * <p>
+     * Die Motoren werden in jedem Fall gestoppt. Lief die Regelung, so wird 
+     * sie wie nach einem Ueberlauf beendet (doSafeStop()).
+     * </p>
+     */
+    private void doTriggerLost()
+    {
+        Model.this.pendingTriggerStatus.set(TriggerWatchdog.Status.LOST);
+        doSafeStop("Ausfall des Taktes");
+    }
+    
+    /**
+     * getOverrunCount() - Anzahl der Ueberlaeufe des Regelzyklus 
+     * (0L, wenn der Lauf nicht auf dem Raspi erfolgt)...
+     * @return long
+     */
+    public long getOverrunCount()
+    {
+        return (this.controlEngine != null)? this.controlEngine.getOverrunCount() : 0L;
+    }
+    
+    /**
+     * doPublish() - Schleife des publisher-Threads...
+     * <p>
+     * Wird nach jedem Regelzyklus geweckt und reicht die Zustandsgroessen 
+     * (CycleSnapshot) und die Ereignisse des Regel-Threads an die View weiter.
+     * </p>
+     */
+    private void doPublish()
+    {
+        long version = -1L;
+        long statisticsVersion = 0L;
+        RunStateMachine.State runState = null;
+        while (!Thread.currentThread().isInterrupted())
+        {
+            LockSupport.park(this);
+            
+            if (this.runState.getState() != runState)
+            {
+                runState = this.runState.getState();
+                logger.info("Zustand: " + runState.name() + " (" + runState + ")");
+            }
+            
+            if (this.snapshot.getVersion() != version)
+            {
+                version = this.snapshot.getVersion();
+                setProperty(Model.DATA_KEY, this.snapshot.toData(Model.SCALE_CYCLE_TIME));
+                // Zeitmessungen seltener anzeigen...
+                if (version - statisticsVersion >= STATISTICS_INTERVAL)
+                {
+                    if (statisticsVersion == 0L)
+                    {
+                        // Einmalig nach dem Start: Einstellung des Regel-Threads und erste Zeitmessungen...
+                        logger.info("Regel-Thread: " + this.controlEngine.getThreadReport() + System.lineSeparator() 
+                                  + this.statistics.toString() + System.lineSeparator()
+                                  + this.periodEstimator.toString());
+                    }
+                    statisticsVersion = version;
+                    setProperty(Model.STATISTICS_KEY, this.statistics.toSummary());
+                }
+            }
+            
+            final MotionPlanner.Status moveStatus = this.pendingMoveStatus.getAndSet(null);
+            if (moveStatus != null)
+            {
+                logger.info("Positionierung: " + moveStatus);
+                setProperty(Model.MOVE_STATUS_KEY, moveStatus);
+            }
+            
+            final RelayAutoTuner.Result autoTuneResult = this.pendingAutoTuneResult.getAndSet(null);
+            if (autoTuneResult != null)
+            {
+                logger.info("Autotuning: " + autoTuneResult.toString());
+                setProperty(Model.AUTO_TUNE_KEY, autoTuneResult);
+            }
+            
+            final IOException exception = this.pendingException.getAndSet(null);
+            if (exception != null)
+            {
+                logger.error(exception.toString(), exception);
+                System.err.println(exception.toString());
+            }
+            
+            final TriggerWatchdog.Status triggerStatus = this.pendingTriggerStatus.getAndSet(null);
+            if (triggerStatus != null)
+            {
+                logger.info("Takt: " + triggerStatus + " " + this.watchdog.toString());
+                setProperty(Model.TRIGGER_STATUS_KEY, triggerStatus);
+            }
+            
+            final String reason = this.pendingSafeStop.getAndSet(null);
+            if (reason != null)
+            {
+                logger.warn(reason + ": Motoren gestoppt (" + getOverrunCount() + " Ueberlaeufe, " 
+                          + this.controlEngine.getSkippedCount() + " Takte verworfen).");
+                doStop();
+            }
+        }
+    }
+    
     /**
      * 
      * @param listener
@@ -963,9 +1822,17 @@ public class Model
                 {
                     if (newValue instanceof BigDecimal)
                     {
-                        this.valueMA = (BigDecimal) newValue;
+                        final double value = ((BigDecimal) newValue).doubleValue();
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withValue(AXIS_MA, value);
+                            }
+                        });
                     
-                        logger.debug("valueMA=" + this.valueMA.toString());
+                        logger.debug("valueMA=" + this.parameters.get().getValue(AXIS_MA));
                     }
                     break key_found;
                 }
@@ -974,9 +1841,17 @@ public class Model
                 {
                     if (newValue instanceof BigDecimal)
                     {
-                        this.valueMB = (BigDecimal) newValue;
+                        final double value = ((BigDecimal) newValue).doubleValue();
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withValue(AXIS_MB, value);
+                            }
+                        });
                     
-                        logger.debug("valueMB=" + this.valueMB.toString());
+                        logger.debug("valueMB=" + this.parameters.get().getValue(AXIS_MB));
                     }
                     break key_found;
                 }
@@ -985,9 +1860,85 @@ public class Model
                 {
                     if (newValue instanceof Boolean)
                     {
-                        this.isControlled = Boolean.TRUE.equals(newValue);
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withControlled(isEnabled);
+                            }
+                        });
                     
-                        logger.debug("isControlled=" + this.isControlled);
+                        logger.debug("isControlled=" + this.parameters.get().isControlled());
+                    }
+                    break key_found;
+                }
+            
+                if (Model.SPEED_CONTROL_KEY.equals(key))
+                {
+                    if (newValue instanceof Boolean)
+                    {
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withSpeedControlled(isEnabled);
+                            }
+                        });
+                    
+                        logger.debug("isSpeedControlled=" + this.parameters.get().isSpeedControlled());
+                    }
+                    break key_found;
+                }
+            
+                if (Model.TARGET_POSITION_KEY.equals(key))
+                {
+                    if (newValue instanceof Long)
+                    {
+                        this.targetPosition = ((Long) newValue).longValue();
+                    
+                        logger.debug("targetPosition=" + this.targetPosition);
+                    }
+                    break key_found;
+                }
+            
+                if (Model.DEAD_TIME_KEY.equals(key))
+                {
+                    if (newValue instanceof Boolean)
+                    {
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withDeadTimeCompensated(isEnabled);
+                            }
+                        });
+                    
+                        logger.debug("isDeadTimeCompensated=" + this.parameters.get().isDeadTimeCompensated());
+                    }
+                    break key_found;
+                }
+            
+                if (Model.RAMP_KEY.equals(key))
+                {
+                    if (newValue instanceof Boolean)
+                    {
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withRamped(isEnabled);
+                            }
+                        });
+                    
+                        logger.debug("isRamped=" + this.parameters.get().isRamped());
                     }
                     break key_found;
                 }
@@ -996,11 +1947,17 @@ public class Model
                 {
                     if (newValue instanceof Boolean)
                     {
-                        this.isMAControlled = Boolean.TRUE.equals(newValue);
-                        
-                        this.positionController.setMAControlled(this.isMAControlled);
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withAxisControlled(AXIS_MA, isEnabled);
+                            }
+                        });
                     
-                        logger.debug("isMAControlled=" + this.isMAControlled);
+                        logger.debug("isMAControlled=" + this.parameters.get().isAxisControlled(AXIS_MA));
                     }
                     break key_found;
                 }
@@ -1009,11 +1966,17 @@ public class Model
                 {
                     if (newValue instanceof Boolean)
                     {
-                        this.isMBControlled = Boolean.TRUE.equals(newValue);
-                        
-                        this.positionController.setMBControlled(this.isMBControlled);
+                        final boolean isEnabled = Boolean.TRUE.equals(newValue);
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withAxisControlled(AXIS_MB, isEnabled);
+                            }
+                        });
                     
-                        logger.debug("isMBControlled=" + this.isMBControlled);
+                        logger.debug("isMBControlled=" + this.parameters.get().isAxisControlled(AXIS_MB));
                     }
                     break key_found;
                 }
@@ -1022,14 +1985,73 @@ public class Model
                 {
                     if (newValue instanceof BigDecimal)
                     {
-                        // Die Verstaerkung (enhancement) findet sich nicht im Model,
-                        // sondern im PositionController, daher Zugriff ueber 'Delegate'...
+                        // Die Verstaerkung (enhancement) wird mit den uebrigen Parametern
+                        // abgelegt und vom PositionController im naechsten Zyklus uebernommen...
                         setEnhancement((BigDecimal) newValue);
                     
                         logger.debug("enhancement=" + getEnhancement().toString());
                     }  
                     break key_found;
                 }
+                
+                if (Model.STRATEGY_KEY.equals(key))
+                {
+                    if (newValue instanceof ControlStrategy.Type)
+                    {
+                        // Die Strategie wird vom PositionController zu Beginn des 
+                        // naechsten Zyklus stossfrei uebernommen (ohne Sperren)...
+                        final ControlStrategy.Type type = (ControlStrategy.Type) newValue;
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withStrategyType(type);
+                            }
+                        });
+                        
+                        logger.debug("strategyType=" + this.parameters.get().getStrategyType());
+                    }
+                    break key_found;
+                }
+                
+                if (Model.INTEGRAL_TIME_KEY.equals(key))
+                {
+                    if (newValue instanceof BigDecimal)
+                    {
+                        final BigDecimal time = (BigDecimal) newValue;
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withIntegralTime(time);
+                            }
+                        });
+                        
+                        logger.debug("integralTime=" + this.parameters.get().getIntegralTime());
+                    }
+                    break key_found;
+                }
+                
+                if (Model.DERIVATIVE_TIME_KEY.equals(key))
+                {
+                    if (newValue instanceof BigDecimal)
+                    {
+                        final BigDecimal time = (BigDecimal) newValue;
+                        updateParameters(new UnaryOperator<ControlParameters>()
+                        {
+                            @Override
+                            public ControlParameters apply(ControlParameters current)
+                            {
+                                return current.withDerivativeTime(time);
+                            }
+                        });
+                        
+                        logger.debug("derivativeTime=" + this.parameters.get().getDerivativeTime());
+                    }
+                    break key_found;
+                }
             } // end() key_found.
             
             ////////////////////////////////////////////////////////////////////////
@@ -1053,7 +2075,15 @@ public class Model
     {
         if (this.motorDriverHAT != null)
         {
-            this.motorDriverHAT.setPwmMA(speed);
+            synchronized (this.outputLock)
+            {
+                this.motorDriverHAT.setPwmMA(speed);
+                if (this.pwmOutputStage != null)
+                {
+                    // Am PwmOutputStage vorbei geschrieben...
+                    this.pwmOutputStage.invalidate();
+                }
+            }
         }
         else
         {
@@ -1070,7 +2100,15 @@ public class Model
     {
         if (this.motorDriverHAT != null)
         {
-            this.motorDriverHAT.setPwmMB(speed);
+            synchronized (this.outputLock)
+            {
+                this.motorDriverHAT.setPwmMB(speed);
+                if (this.pwmOutputStage != null)
+                {
+                    // Am PwmOutputStage vorbei geschrieben...
+                    this.pwmOutputStage.invalidate();
+                }
+            }
         }
         else
         {
@@ -1088,21 +2126,43 @@ public class Model
     }
     
     /**
-     * setEnhancement(BigDecimal enhancement) - Delegate...
+     * updateParameters(UnaryOperator&lt;ControlParameters&gt; update) - geaenderte Parameter
+     * ablegen (ohne Sperren, bei konkurrierender Aenderung wird update wiederholt)...
+     * @param update - liefert zu den aktuellen Parametern die geaenderten Parameter
+     */
+    private void updateParameters(UnaryOperator<ControlParameters> update)
+    {
+        ControlParameters current;
+        do
+        {
+            current = this.parameters.get();
+        }
+        while (!this.parameters.compareAndSet(current, update.apply(current)));
+    }
+    
+    /**
+     * setEnhancement(BigDecimal enhancement) - Reglerverstaerkung in den Parametern ablegen...
      * @param enhancement 
      */
-    public void setEnhancement(BigDecimal enhancement)
+    public void setEnhancement(final BigDecimal enhancement)
     {
-        this.positionController.setEnhancement(enhancement);
+        updateParameters(new UnaryOperator<ControlParameters>()
+        {
+            @Override
+            public ControlParameters apply(ControlParameters current)
+            {
+                return current.withEnhancement(enhancement);
+            }
+        });
     }
     
     /**
-     * getEnhancement() - Delegate...
-     * @return enhancement (Reglerverstaerkung) des PositionController
+     * getEnhancement() - Reglerverstaerkung aus den aktuellen Parametern
+     * @return enhancement (Reglerverstaerkung)
      */
     public BigDecimal getEnhancement()
     {
-        return this.positionController.getEnhancement();
+        return this.parameters.get().getEnhancement();
     }
     
     /**
@@ -1117,22 +2177,175 @@ public class Model
     {
         logger.debug("doStart()...");
         
-        // Kommunikations-Status setzen...
-        this.i2cStatus = ArduinoI2C.Status.INITIAL;
+        // Kommunikation beginnen: Uebernahme zu Beginn des naechsten Zyklus...
+        if (!requestRunState(RunStateMachine.Command.START))
+        {
+            return;
+        }
         
         // Zustandsgroessen initial in der View setzen...
-        setProperty(Model.DATA_KEY, new Data(this.counter, 
-                                             this.cycleTime, 
-                                             this.token, 
-                                             this.numberMA,
-                                             this.numberMB,
-                                             this.outputMA,
-                                             this.outputMB));
+        publishData();
         
         // Status der GUI setzen..
         setProperty(GUI_STATUS_KEY, GuiStatus.START);        
     }
     
+    /**
+     * doAutoTune() - Methode wird beim Autotuning-Button beauftragt
+     * <p>
+     * Es wird ein Relais-Versuch auf die Lagedifferenz Motor A - Motor B 
+     * gestartet (vgl. RelayAutoTuner). Auf dem Raspi laeuft der Versuch im 
+     * Regelzyklus (nach dem Start-Button), ausserhalb des Raspi an einer
+     * simulierten Regelstrecke (SimulatedPlant). Das Ergebnis (kritische 
+     * Verstaerkung/Periode und die vorgeschlagenen Reglerparameter fuer die
+     * gewaehlte Art des Reglers) wird unter AUTO_TUNE_KEY abgelegt.
+     * </p>
+     */
+    public void doAutoTune()
+    {
+        logger.debug("doAutoTune()...");
+        
+        if (isRaspi && (RunStateMachine.State.RUNNING != this.runState.getState()))
+        {
+            // Der Versuch laeuft im Regelzyklus, nur nach dem Start-Button...
+            logger.warn("Autotuning im Zustand " + this.runState.getState().name() + " nicht zulaessig.");
+            return;
+        }
+        
+        final RelayAutoTuner tuner = new RelayAutoTuner(CIRCUMFERENCE, this.parameters.get().getStrategyType());
+        setProperty(Model.AUTO_TUNE_KEY, new RelayAutoTuner.Result(RelayAutoTuner.Status.RUNNING));
+        if (isRaspi)
+        {
+            // Der Versuch wird im naechsten Zyklus begonnen...
+            this.autoTuner = tuner;
+        }
+        else
+        {
+            // Kein Raspi: Versuch an der simulierten Regelstrecke, nicht im EDT...
+            final Thread thread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    doSimulatedAutoTune(tuner);
+                }
+            }, "autoTune");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+    
+    /**
+     * doMove() - Methode wird beim Positionieren-Button beauftragt
+     * <p>
+     * Alle Achsen fahren auf die gewaehlte Zielposition (vgl. MotionPlanner).
+     * Die Sollwerte werden dazu auf 0.0 gesetzt, damit die Achsen nach der Fahrt
+     * stehen bleiben. Auf dem Raspi erfolgt die Fahrt im Regelzyklus, ausserhalb 
+     * des Raspi an einer simulierten Regelstrecke (SimulatedPlant). Der Zustand 
+     * der Fahrt wird unter MOVE_STATUS_KEY abgelegt.
+     * </p>
+     */
+    public void doMove()
+    {
+        logger.debug("doMove()... " + this.targetPosition);
+        
+        if (isRaspi && (RunStateMachine.State.RUNNING != this.runState.getState()))
+        {
+            // Die Fahrt laeuft im Regelzyklus, nur nach dem Start-Button...
+            logger.warn("Positionieren im Zustand " + this.runState.getState().name() + " nicht zulaessig.");
+            return;
+        }
+        
+        setProperty(Model.VALUE_MA_KEY, MX_VALUES[SELECTED_MX_VALUES_INDEX]);
+        setProperty(Model.VALUE_MB_KEY, MX_VALUES[SELECTED_MX_VALUES_INDEX]);
+        setProperty(Model.MOVE_STATUS_KEY, MotionPlanner.Status.MOVING);
+        
+        final long target = this.targetPosition;
+        if (isRaspi)
+        {
+            // Die Fahrt wird im naechsten Zyklus begonnen...
+            this.motionPlanner.start(target);
+        }
+        else
+        {
+            // Kein Raspi: Fahrt an der simulierten Regelstrecke, nicht im EDT...
+            final Thread thread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    doSimulatedMove(target);
+                }
+            }, "move");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+    
+    /**
+     * doStatistics() - Methode wird beim Statistik-Button beauftragt
+     * <p>
+     * Ausgabe aller Histogramme der Zeitmessungen (Periode, Flanke bis
+     * Pwm-Ausgabe, Austausch mit dem Arduino) ins Log und Aktualisierung
+     * der Anzeige unter STATISTICS_KEY. Die Erfassung im Regel-Thread
+     * laeuft dabei unveraendert weiter.
+     * </p>
+     */
+    public void doStatistics()
+    {
+        logger.info("Zeitmessungen Regelzyklus:" + System.lineSeparator() 
+                  + ((this.controlEngine != null)? ("Regel-Thread: " + this.controlEngine.getThreadReport() + System.lineSeparator()) : "")
+                  + this.statistics.dump()
+                  + this.periodEstimator.toString() + System.lineSeparator()
+                  + this.linkRecovery.toString()
+                  + ((this.pwmOutputStage != null)? (System.lineSeparator() + this.pwmOutputStage.toString()) : "")
+                  + ((this.arduinoPipeline != null)? (System.lineSeparator() + this.arduinoPipeline.toString()) : ""));
+        setProperty(Model.STATISTICS_KEY, this.statistics.toSummary());
+    }
+
+    /**
+     * doSimulatedMove(long target) - Fahrt an der simulierten Regelstrecke
+     * (Start in der Lage 0) mit der nominellen Zykluszeit...
+     * @param target - Ziel in Impulsen
+     */
+    private void doSimulatedMove(long target)
+    {
+        final SimulatedPlant plant = new SimulatedPlant(MAX_RPM, RPM_CONST.doubleValue());
+        final MotionPlanner planner = new MotionPlanner(AXES, CIRCUMFERENCE, MAX_RPM * RPM_CONST.doubleValue());
+        final Axes simulatedAxes = new Axes(AXES);
+        final double cycleTimeSeconds = PositionController.CYCLE_TIME;
+        planner.start(target);
+        do
+        {
+            simulatedAxes.number[AXIS_MA] = plant.getNumberMA();
+            simulatedAxes.number[AXIS_MB] = plant.getNumberMB();
+            planner.update(simulatedAxes, cycleTimeSeconds);
+            plant.step(simulatedAxes.reference[AXIS_MA], simulatedAxes.reference[AXIS_MB], cycleTimeSeconds);
+        }
+        while (planner.isMoving());
+        logger.info("Positionierung (Simulation): " + planner.toString() + " " + simulatedAxes.toString());
+        setProperty(Model.MOVE_STATUS_KEY, planner.getStatus());
+    }
+    
+    /**
+     * doSimulatedAutoTune(RelayAutoTuner tuner) - Relais-Versuch an der 
+     * simulierten Regelstrecke mit der nominellen Zykluszeit...
+     * @param tuner
+     */
+    private void doSimulatedAutoTune(RelayAutoTuner tuner)
+    {
+        final SimulatedPlant plant = new SimulatedPlant(MAX_RPM, RPM_CONST.doubleValue());
+        final double cycleTimeSeconds = PositionController.CYCLE_TIME;
+        final ControlParameters parameters = this.parameters.get();
+        while (!tuner.isFinished())
+        {
+            final double relay = tuner.step(plant.getNumberMA() - plant.getNumberMB(), cycleTimeSeconds);
+            plant.step(parameters.getValue(AXIS_MA) - relay, parameters.getValue(AXIS_MB) + relay, cycleTimeSeconds);
+        }
+        logger.info("Autotuning (Simulation): " + tuner.getResult().toString());
+        setProperty(Model.AUTO_TUNE_KEY, tuner.getResult());
+    }
+    
     /**
      * doReset()
      */
@@ -1140,38 +2353,60 @@ public class Model
     {
         logger.debug("doReset()...");
         
-        this.token = 0L;
-        
-        this.numberMA = 0L;
-        this.numberMB = 0L;
-        
-        // Zustandsgroessen zuruecksetzen...
-        doClear();
+        // token, Lage und Zustandsgroessen zuruecksetzen: Uebernahme zu Beginn des naechsten Zyklus...
+        if (!requestRunState(RunStateMachine.Command.RESET))
+        {
+            return;
+        }
         
         this.isDestinationSimultan = false;
         setProperty(Model.DESTINATION_SIMULTAN_KEY, Boolean.valueOf(this.isDestinationSimultan));
         
         // isMAControlled, isMBControlled: Vgl. die Initialisierung im Controller
-        this.isMAControlled = true;
-        setProperty(Model.CONTROL_MA_KEY, Boolean.valueOf(this.isMAControlled));
-        this.isMBControlled = true;
-        setProperty(Model.CONTROL_MB_KEY, Boolean.valueOf(this.isMBControlled));
+        setProperty(Model.CONTROL_MA_KEY, Boolean.TRUE);
+        setProperty(Model.CONTROL_MB_KEY, Boolean.TRUE);
         
         // isControlled: Mit Regelung... 
-        this.isControlled = false;
-        setProperty(Model.CONTROL_KEY, Boolean.valueOf(this.isControlled));
+        setProperty(Model.CONTROL_KEY, Boolean.FALSE);
+        
+        // isSpeedControlled: Mit Drehzahlregelung...
+        setProperty(Model.SPEED_CONTROL_KEY, Boolean.FALSE);
+        
+        // Mit Sollwert-Rampe...
+        setProperty(Model.RAMP_KEY, Boolean.TRUE);
+        
+        // Ohne Totzeitkompensation...
+        setProperty(Model.DEAD_TIME_KEY, Boolean.FALSE);
         
         // Sollwerte zuruecksetzen...
         setProperty(Model.VALUE_MA_KEY, MX_VALUES[SELECTED_MX_VALUES_INDEX]);
         setProperty(Model.VALUE_MB_KEY, MX_VALUES[SELECTED_MX_VALUES_INDEX]);
         
-        setProperty(Model.DATA_KEY, new Data(this.counter, 
-                                             this.cycleTime, 
-                                             this.token, 
-                                             this.numberMA,
-                                             this.numberMB,
-                                             this.outputMA,
-                                             this.outputMB));
+        // Zustandsgroessen nach dem Reset in der View setzen...
+        publishData();
+    }
+    
+    /**
+     * publishData() - Zustandsgroessen nach einem Kommando der GUI (Start, Reset) anzeigen...
+     * <p>
+     * Mit Regel-Thread wird das Kommando erst an der naechsten Zyklusgrenze uebernommen
+     * (applyRunState()), die Anzeige erfolgt dann durch den publisher. Aus dem EDT wird
+     * nicht auf Zaehler, token und Achsen des Regel-Threads zugegriffen. Ohne Regel-Thread
+     * wurde das Kommando bereits im Aufrufer uebernommen, die Werte werden direkt abgelegt.
+     * </p>
+     */
+    private void publishData()
+    {
+        if (this.controlEngine != null)
+        {
+            return;
+        }
+        this.snapshot.write(this.counter, 
+                            this.cycleNanos * 1.0E-9, 
+                            this.token, 
+                            getOverrunCount(), 
+                            this.axes);
+        setProperty(Model.DATA_KEY, this.snapshot.toData(Model.SCALE_CYCLE_TIME));
     }
     
     /**
@@ -1182,24 +2417,34 @@ public class Model
     {
         logger.debug("doStop()...");
         
-        // Kommunikations-Status setzen...
-        this.i2cStatus = ArduinoI2C.Status.NOP;
+        // Kommunikation beenden, Autotuning und Fahrt abbrechen, Zustandsgroessen 
+        // zuruecksetzen und Motoren stoppen: im Regel-Thread zu Beginn des naechsten Zyklus...
+        requestRunState(RunStateMachine.Command.STOP);
+        setProperty(Model.MOVE_STATUS_KEY, MotionPlanner.Status.IDLE);
         // Status der GUI setzen...
         setProperty(GUI_STATUS_KEY, GuiStatus.STOP); 
-        
-        // Zustandsgroessen zuruecksetzen...
-        doClear();
-        
-        try
+    }
+    
+    /**
+     * requestRunState(RunStateMachine.Command command) - Kommando der GUI aufgeben...
+     * <p>
+     * Ohne Regel-Thread (kein Takt) wird das Kommando sofort uebernommen.
+     * </p>
+     * @param command
+     * @return true, wenn das Kommando im aktuellen Zustand zulaessig ist
+     */
+    private boolean requestRunState(RunStateMachine.Command command)
+    {
+        if (!this.runState.request(command))
         {
-            setPwmMA(0.0F);
-            setPwmMB(0.0F);
+            logger.warn(command.name() + " im Zustand " + this.runState.getState().name() + " nicht zulaessig.");
+            return false;
         }
-        catch(IOException exception)
+        if (this.controlEngine == null)
         {
-            logger.error(exception.toString(), exception);
-            System.err.println(exception.toString());
+            applyRunState();
         }
+        return true;
     }
     
     /**
@@ -1212,11 +2457,32 @@ public class Model
     {
        logger.debug("shutdown()..."); 
 
-       // Kommunikations-Status setzen...
-       this.i2cStatus = ArduinoI2C.Status.NOP;
+       // Kommunikation beenden...
+       this.runState.request(RunStateMachine.Command.STOP);
 
        setProperty(GUI_STATUS_KEY, GuiStatus.END);        
 
+       if (this.cycleSource != null)
+       {
+           this.cycleSource.stop();
+           this.watchdog.stop();
+           // Ein laufender Zyklus koennte sonst nach dem Stoppen der Motoren
+           // noch Stellgroessen ausgeben...
+           if (!this.controlEngine.stop(STOP_TIMEOUT_MILLIS))
+           {
+               logger.error("shutdown(): " + ControlEngine.THREAD_NAME + " nicht beendet!");
+           }
+           this.publisher.interrupt();
+       }
+       if (this.arduinoPipeline != null)
+       {
+           if (!this.arduinoPipeline.stop(STOP_TIMEOUT_MILLIS))
+           {
+               logger.error("shutdown(): " + ArduinoPipeline.THREAD_NAME + " nicht beendet!");
+           }
+       }
+       
+       // Kein Zyklus mehr: Motoren direkt stoppen...
        try
        {
            setPwmMA(0.0F);
@@ -1227,7 +2493,6 @@ public class Model
            logger.error(exception.toString(), exception);
            System.err.println(exception.toString());
        }
-       
        if (isRaspi)
        {
            this.gpioController.shutdown();  
@@ -1239,16 +2504,16 @@ public class Model
      */
     private void doClear()
     {
-        this.totalMA[0] = 0L;
-        this.totalMA[1] = 0L;
-        this.totalMB[0] = 0L;
-        this.totalMB[1] = 0L;
-        this.controlMA[0] = BigDecimal.ZERO.setScale(SCALE_MX_VALUE);
-        this.controlMA[1] = BigDecimal.ZERO.setScale(SCALE_MX_VALUE);
-        this.controlMB[0] = BigDecimal.ZERO.setScale(SCALE_MX_VALUE);
-        this.controlMB[1] = BigDecimal.ZERO.setScale(SCALE_MX_VALUE);
-        this.outputMA = BigDecimal.ZERO.setScale(SCALE_OUTPUT);
-        this.outputMB = BigDecimal.ZERO.setScale(SCALE_OUTPUT);
+        this.axes.clear();
+        this.trajectory.reset();
+        for (SpeedController speedController : this.speedControllers)
+        {
+            speedController.reset();
+        }
+        for (EncoderRate encoderRate : this.encoderRates)
+        {
+            encoderRate.reset();
+        }
     }
     
     @Override
@@ -0,0 +1,389 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse MotionPlanner realisiert das Anfahren einer absoluten Position
+ * (Lage in Impulsen) mit allen Achsen, die gleichzeitig ankommen und stehen
+ * bleiben sollen.
+ * <p>
+ * Bahnplanung: Trapezfoermiges Geschwindigkeitsprofil (Beschleunigen mit
+ * MAX_ACCELERATION, Fahrt mit MAX_SPEED, Bremsen), bei kurzen Wegen
+ * dreieckfoermig. Geplant wird fuer die Achse mit dem laengsten Weg, die
+ * anderen Achsen folgen demselben (normierten) Profil mit ihrem Weg. Damit
+ * beginnen und enden alle Achsen gleichzeitig.
+ * </p>
+ * <p>
+ * Lageregelung je Achse: Der Sollwert der Achse ergibt sich aus der
+ * geplanten Geschwindigkeit (Vorsteuerung, bezogen auf die Nenndrehzahl)
+ * plus der mit POSITION_GAIN bewerteten Abweichung von der geplanten Lage
+ * (in Umdrehungen). Das Ergebnis wird als Sollwert reference[] der Achsen
+ * ausgegeben, die unterlagerte Drehzahlregelung kann weiterhin zugeschaltet
+ * werden.
+ * </p>
+ * <p>
+ * Das Ziel gilt als erreicht, wenn nach Ende des Profils alle Achsen fuer
+ * SETTLE_CYCLES Zyklen innerhalb von TOLERANCE Impulsen stehen. Gelingt
+ * das nicht innerhalb von SETTLE_TIME, wird die Fahrt abgebrochen.
+ * </p>
+ * <p>
+ * Start/Abbruch werden von der GUI angefordert und an der Zyklusgrenze
+ * uebernommen, die Berechnung erfolgt nur im Regelzyklus (ohne Allokation).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class MotionPlanner
+{
+    /**
+     * MAX_SPEED = 0.5 - maximale Geschwindigkeit (bezogen auf die Nenndrehzahl)
+     */
+    public final static double MAX_SPEED = 0.5;
+
+    /**
+     * MAX_ACCELERATION = 1.0 - maximale Beschleunigung (Nenndrehzahl pro s)
+     */
+    public final static double MAX_ACCELERATION = 1.0;
+
+    /**
+     * POSITION_GAIN = 2.0 - Verstaerkung der Lageregelung (Sollwert pro Umdrehung Abweichung)
+     */
+    public final static double POSITION_GAIN = 2.0;
+
+    /**
+     * TOLERANCE = 1 - zulaessige Abweichung vom Ziel in Impulsen
+     */
+    public final static long TOLERANCE = 1L;
+
+    /**
+     * SETTLE_CYCLES = 4 - Anzahl der Zyklen innerhalb der Toleranz bis "Ziel erreicht"
+     */
+    public final static int SETTLE_CYCLES = 4;
+
+    /**
+     * SETTLE_TIME = 5.0 - maximale Dauer (in s) nach Ende des Profils bis zum Abbruch
+     */
+    public final static double SETTLE_TIME = 5.0;
+
+    /**
+     * wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
+     */
+    private final int wheelSteps;
+
+    /**
+     * maxCountsPerSecond - Impulse pro s bei Nenndrehzahl (Sollwert 1.0)
+     */
+    private final double maxCountsPerSecond;
+
+    /**
+     * starts[] - Lage je Achse zu Beginn der Fahrt
+     */
+    private final long[] starts;
+
+    /**
+     * distances[] - Weg je Achse in Impulsen (mit Vorzeichen)
+     */
+    private final long[] distances;
+
+    /**
+     * target - Ziel der laufenden Fahrt (Lage in Impulsen)
+     */
+    private long target = 0L;
+
+    /**
+     * accelerationTime/totalTime - Dauer der Beschleunigung bzw. der Fahrt in s
+     * (normiertes Profil, bezogen auf den Weg 1.0)
+     */
+    private double accelerationTime = 0.0;
+    private double totalTime = 0.0;
+
+    /**
+     * time - Zeit seit Beginn der Fahrt in s
+     */
+    private double time = 0.0;
+
+    /**
+     * settleCycles - Anzahl der Zyklen in Folge innerhalb der Toleranz
+     */
+    private int settleCycles = 0;
+
+    /**
+     * status - Zustand der Fahrt (Anzeige an der GUI)
+     */
+    private volatile Status status = Status.IDLE;
+
+    /**
+     * requestedTarget - angefordertes Ziel, gueltig wenn isStartRequested
+     */
+    private volatile long requestedTarget = 0L;
+
+    /**
+     * isStartRequested/isCancelRequested - Anforderungen der GUI...
+     */
+    private volatile boolean isStartRequested = false;
+    private volatile boolean isCancelRequested = false;
+
+    /**
+     * MotionPlanner(int axes, int wheelSteps, double maxCountsPerSecond)
+     * @param axes - Anzahl der Achsen
+     * @param wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
+     * @param maxCountsPerSecond - Impulse pro s bei Nenndrehzahl
+     */
+    public MotionPlanner(int axes, int wheelSteps, double maxCountsPerSecond)
+    {
+        this.wheelSteps = (wheelSteps > 1)? wheelSteps : 1;
+        this.maxCountsPerSecond = (maxCountsPerSecond > 0.0)? maxCountsPerSecond : 1.0;
+        this.starts = new long[axes];
+        this.distances = new long[axes];
+    }
+
+    /**
+     * start(long target) - Fahrt auf die Lage target anfordern...
+     * @param target - Ziel (Lage in Impulsen) fuer alle Achsen
+     */
+    public void start(long target)
+    {
+        this.requestedTarget = target;
+        this.isCancelRequested = false;
+        this.isStartRequested = true;
+    }
+
+    /**
+     * cancel() - laufende Fahrt abbrechen...
+     */
+    public void cancel()
+    {
+        this.isStartRequested = false;
+        this.isCancelRequested = true;
+    }
+
+    /**
+     * getStatus() - Zustand der Fahrt
+     * @return Status
+     */
+    public Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * isMoving() - Fahrt laeuft?
+     * @return boolean
+     */
+    public boolean isMoving()
+    {
+        return this.status == Status.MOVING;
+    }
+
+    /**
+     * update(Axes axes, double cycleTime) - ein Zyklus der Fahrt...
+     * <p>
+     * Waehrend der Fahrt werden die Sollwerte reference[] der Achsen
+     * ueberschrieben.
+     * </p>
+     * @param axes - Zustandsgroessen der Achsen (number[] => reference[])
+     * @param cycleTime - Zykluszeit in s
+     * @return true, wenn sich der Status geaendert hat
+     */
+    public boolean update(Axes axes, double cycleTime)
+    {
+        final Status before = this.status;
+        final int count = Math.min(axes.getCount(), this.starts.length);
+        if (this.isCancelRequested)
+        {
+            this.isCancelRequested = false;
+            this.status = Status.IDLE;
+        }
+        if (this.isStartRequested)
+        {
+            this.isStartRequested = false;
+            plan(axes, count, this.requestedTarget);
+        }
+        if (this.status == Status.MOVING)
+        {
+            this.time += cycleTime;
+            // Normiertes Profil: Anteil des Weges und Geschwindigkeit (Weg pro s)...
+            final double fraction = getFraction(this.time);
+            final double rate = getRate(this.time);
+            boolean isInTolerance = true;
+            for (int axis = 0; axis < count; axis++)
+            {
+                final double planned = this.starts[axis] + fraction * this.distances[axis];
+                final double feedForward = rate * this.distances[axis] / this.maxCountsPerSecond;
+                final double error = (planned - axes.number[axis]) / this.wheelSteps;
+                axes.reference[axis] = ControlStrategy.limit(feedForward + POSITION_GAIN * error);
+                isInTolerance &= (Math.abs(this.target - axes.number[axis]) <= TOLERANCE);
+            }
+            if (this.time >= this.totalTime)
+            {
+                this.settleCycles = isInTolerance? (this.settleCycles + 1) : 0;
+                if (this.settleCycles >= SETTLE_CYCLES)
+                {
+                    this.status = Status.DONE;
+                }
+                else if (this.time >= this.totalTime + SETTLE_TIME)
+                {
+                    this.status = Status.FAILED;
+                }
+                if (this.status != Status.MOVING)
+                {
+                    // Ende der Fahrt: Achsen anhalten...
+                    for (int axis = 0; axis < count; axis++)
+                    {
+                        axes.reference[axis] = 0.0;
+                    }
+                }
+            }
+        }
+        return this.status != before;
+    }
+
+    /**
+     * plan(Axes axes, int count, long target) - Profil fuer die neue Fahrt berechnen...
+     * @param axes
+     * @param count - Anzahl der Achsen
+     * @param target - Ziel in Impulsen
+     */
+    private void plan(Axes axes, int count, long target)
+    {
+        long maxDistance = 0L;
+        for (int axis = 0; axis < count; axis++)
+        {
+            this.starts[axis] = axes.number[axis];
+            this.distances[axis] = target - axes.number[axis];
+            maxDistance = Math.max(maxDistance, Math.abs(this.distances[axis]));
+        }
+        this.target = target;
+        this.time = 0.0;
+        this.settleCycles = 0;
+        // Profil fuer den laengsten Weg (in Impulsen), dann normiert auf den Weg 1.0...
+        final double speed = MAX_SPEED * this.maxCountsPerSecond;
+        final double acceleration = MAX_ACCELERATION * this.maxCountsPerSecond;
+        if (maxDistance >= speed * speed / acceleration)
+        {
+            // Trapez: Beschleunigen, konstante Fahrt, Bremsen...
+            this.accelerationTime = speed / acceleration;
+            this.totalTime = maxDistance / speed + this.accelerationTime;
+        }
+        else
+        {
+            // Dreieck: MAX_SPEED wird nicht erreicht...
+            this.accelerationTime = Math.sqrt(maxDistance / acceleration);
+            this.totalTime = 2.0 * this.accelerationTime;
+        }
+        this.status = Status.MOVING;
+    }
+
+    /**
+     * getFraction(double time) - Anteil des zurueckgelegten Weges (0.0 ... 1.0)
+     * @param time - Zeit seit Beginn der Fahrt
+     * @return double
+     */
+    private double getFraction(double time)
+    {
+        if (this.totalTime <= 0.0 || time >= this.totalTime)
+        {
+            return 1.0;
+        }
+        // Normierte Spitzengeschwindigkeit (Weg 1.0 in totalTime)...
+        final double peak = 1.0 / (this.totalTime - this.accelerationTime);
+        if (time < this.accelerationTime)
+        {
+            return 0.5 * peak * time * time / this.accelerationTime;
+        }
+        if (time < this.totalTime - this.accelerationTime)
+        {
+            return 0.5 * peak * this.accelerationTime + peak * (time - this.accelerationTime);
+        }
+        final double remaining = this.totalTime - time;
+        return 1.0 - 0.5 * peak * remaining * remaining / this.accelerationTime;
+    }
+
+    /**
+     * getRate(double time) - normierte Geschwindigkeit (Anteil des Weges pro s)
+     * @param time - Zeit seit Beginn der Fahrt
+     * @return double
+     */
+    private double getRate(double time)
+    {
+        if (this.totalTime <= 0.0 || time >= this.totalTime)
+        {
+            return 0.0;
+        }
+        final double peak = 1.0 / (this.totalTime - this.accelerationTime);
+        if (time < this.accelerationTime)
+        {
+            return peak * time / this.accelerationTime;
+        }
+        if (time < this.totalTime - this.accelerationTime)
+        {
+            return peak;
+        }
+        return peak * (this.totalTime - time) / this.accelerationTime;
+    }
+
+    /**
+     * toString() - zu Protokollzwecken...
+     */
+    @Override
+    public String toString()
+    {
+        return new StringBuilder().append("[")
+                                  .append(this.status)
+                                  .append(" ")
+                                  .append(this.target)
+                                  .append(" ")
+                                  .append(this.time)
+                                  .append("/")
+                                  .append(this.totalTime)
+                                  .append("]")
+                                  .toString();
+    }
+
+    /**
+     * Status - Zustand der Fahrt
+     */
+    public enum Status
+    {
+        /**
+         * IDLE("Bereit") - keine Fahrt
+         */
+        IDLE("Bereit"),
+        /**
+         * MOVING("Fahrt") - die Fahrt laeuft
+         */
+        MOVING("Fahrt"),
+        /**
+         * DONE("Ziel erreicht") - alle Achsen stehen im Ziel
+         */
+        DONE("Ziel erreicht"),
+        /**
+         * FAILED("Fehler") - Ziel nicht innerhalb von SETTLE_TIME erreicht
+         */
+        FAILED("Fehler");
+
+        /**
+         * Status - priv. Konstruktor
+         * @param status
+         */
+        private Status(String status)
+        {
+            this.status = status;
+        }
+
+        /**
+         * status - textuelle Beschreibung
+         */
+        private final String status;
+
+        /**
+         * toString() - Anzeige...
+         */
+        @Override
+        public String toString()
+        {
+            return this.status;
+        }
+    }
+}
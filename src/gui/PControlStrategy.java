@@ -0,0 +1,66 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * PControlStrategy - Proportionalregler...
+ * <p>
+ * Der Reglerausgang ergibt sich zu kp * Regeldifferenz. Der P-Regler 
+ * hat keinen internen Zustand, die Uebernahme ist daher ohne Wirkung.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class PControlStrategy implements ControlStrategy
+{
+    /**
+     * kp - Verstaerkung
+     */
+    private final double kp;
+
+    /**
+     * output - letzter Reglerausgang
+     */
+    private double output = 0.0;
+
+    /**
+     * PControlStrategy(double kp)
+     * @param kp - Verstaerkung
+     */
+    public PControlStrategy(double kp)
+    {
+        this.kp = kp;
+    }
+
+    @Override
+    public double control(double error, double gain, double cycleTime)
+    {
+        this.output = ControlStrategy.limit(gain * this.kp * error);
+        return this.output;
+    }
+
+    @Override
+    public void transfer(double output, double error, double gain)
+    {
+        this.output = output;
+    }
+
+    @Override
+    public void reset(double error)
+    {
+        this.output = 0.0;
+    }
+
+    @Override
+    public double getOutput()
+    {
+        return this.output;
+    }
+
+    @Override
+    public Type getType()
+    {
+        return Type.P;
+    }
+}
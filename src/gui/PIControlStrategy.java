@@ -0,0 +1,95 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * PIControlStrategy - Proportional-Integral-Regler...
+ * <p>
+ * Der I-Anteil beseitigt die bleibende Lagedifferenz. Als Anti-Windup
+ * wird die Integration angehalten (Clamping), solange der Reglerausgang 
+ * in der Begrenzung liegt und die Regeldifferenz weiter in die Begrenzung 
+ * treiben wuerde.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class PIControlStrategy implements ControlStrategy
+{
+    /**
+     * kp - Verstaerkung
+     */
+    private final double kp;
+
+    /**
+     * ti - Nachstellzeit in s (ti <= 0: kein I-Anteil)
+     */
+    private final double ti;
+
+    /**
+     * integral - I-Anteil (bereits mit kp bewertet)
+     */
+    private double integral = 0.0;
+
+    /**
+     * output - letzter Reglerausgang
+     */
+    private double output = 0.0;
+
+    /**
+     * PIControlStrategy(double kp, double ti)
+     * @param kp - Verstaerkung
+     * @param ti - Nachstellzeit in s
+     */
+    public PIControlStrategy(double kp, double ti)
+    {
+        this.kp = kp;
+        this.ti = ti;
+    }
+
+    @Override
+    public double control(double error, double gain, double cycleTime)
+    {
+        final double kp = gain * this.kp;
+        final double proportional = kp * error;
+        // Zuwachs des I-Anteils...
+        final double delta = (this.ti > 0.0)? (kp * cycleTime / this.ti * error) : 0.0;
+        final double unlimited = proportional + this.integral + delta;
+        // Clamping: Integration nur, wenn nicht in der Begrenzung oder
+        // die Regeldifferenz aus der Begrenzung herausfuehrt...
+        if (Math.abs(unlimited) <= OUTPUT_LIMIT || (unlimited * delta) < 0.0)
+        {
+            this.integral += delta;
+        }
+        this.output = ControlStrategy.limit(proportional + this.integral);
+        return this.output;
+    }
+
+    @Override
+    public void transfer(double output, double error, double gain)
+    {
+        // Ohne I-Anteil (ti <= 0) wird nicht integriert, eine Vorbelegung bliebe als
+        // dauerhafte Abweichung stehen, der Sprung wird wie beim P-Regler hingenommen...
+        this.integral = (this.ti > 0.0)? ControlStrategy.limit(output - gain * this.kp * error) : 0.0;
+        this.output = output;
+    }
+
+    @Override
+    public void reset(double error)
+    {
+        this.integral = 0.0;
+        this.output = 0.0;
+    }
+
+    @Override
+    public double getOutput()
+    {
+        return this.output;
+    }
+
+    @Override
+    public Type getType()
+    {
+        return Type.PI;
+    }
+}
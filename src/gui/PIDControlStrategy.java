@@ -0,0 +1,133 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * PIDControlStrategy - Proportional-Integral-Differential-Regler...
+ * <p>
+ * Der D-Anteil wird ueber ein Verzoegerungsglied 1. Ordnung mit der
+ * Zeitkonstanten td/DERIVATIVE_FILTER gefiltert (Rueckwaertsdifferenz),
+ * damit die Quantisierung der Impulszaehler nicht direkt auf den 
+ * Reglerausgang durchschlaegt. Anti-Windup wie beim PI-Regler (Clamping).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class PIDControlStrategy implements ControlStrategy
+{
+    /**
+     * kp - Verstaerkung
+     */
+    private final double kp;
+
+    /**
+     * ti - Nachstellzeit in s (ti <= 0: kein I-Anteil)
+     */
+    private final double ti;
+
+    /**
+     * td - Vorhaltzeit in s (td <= 0: kein D-Anteil)
+     */
+    private final double td;
+
+    /**
+     * integral - I-Anteil (bereits mit kp bewertet)
+     */
+    private double integral = 0.0;
+
+    /**
+     * derivative - gefilterter D-Anteil (bereits mit kp bewertet)
+     */
+    private double derivative = 0.0;
+
+    /**
+     * pastError - Regeldifferenz des letzten Zyklus
+     */
+    private double pastError = 0.0;
+
+    /**
+     * isInitialized - pastError ist gueltig...
+     */
+    private boolean isInitialized = false;
+
+    /**
+     * output - letzter Reglerausgang
+     */
+    private double output = 0.0;
+
+    /**
+     * PIDControlStrategy(double kp, double ti, double td)
+     * @param kp - Verstaerkung
+     * @param ti - Nachstellzeit in s
+     * @param td - Vorhaltzeit in s
+     */
+    public PIDControlStrategy(double kp, double ti, double td)
+    {
+        this.kp = kp;
+        this.ti = ti;
+        this.td = td;
+    }
+
+    @Override
+    public double control(double error, double gain, double cycleTime)
+    {
+        final double kp = gain * this.kp;
+        if (!this.isInitialized)
+        {
+            this.pastError = error;
+            this.isInitialized = true;
+        }
+        final double proportional = kp * error;
+        // Gefilterter D-Anteil: D[k] = a * D[k-1] + b * (e[k] - e[k-1])
+        if (this.td > 0.0)
+        {
+            final double denominator = this.td + DERIVATIVE_FILTER * cycleTime;
+            this.derivative = (this.td / denominator) * this.derivative
+                            + (kp * this.td * DERIVATIVE_FILTER / denominator) * (error - this.pastError);
+        }
+        this.pastError = error;
+        // Zuwachs des I-Anteils...
+        final double delta = (this.ti > 0.0)? (kp * cycleTime / this.ti * error) : 0.0;
+        final double unlimited = proportional + this.integral + delta + this.derivative;
+        if (Math.abs(unlimited) <= OUTPUT_LIMIT || (unlimited * delta) < 0.0)
+        {
+            this.integral += delta;
+        }
+        this.output = ControlStrategy.limit(proportional + this.integral + this.derivative);
+        return this.output;
+    }
+
+    @Override
+    public void transfer(double output, double error, double gain)
+    {
+        this.derivative = 0.0;
+        this.pastError = error;
+        this.isInitialized = true;
+        // ti <= 0 (PD): keine Vorbelegung, vgl. PIControlStrategy.transfer()...
+        this.integral = (this.ti > 0.0)? ControlStrategy.limit(output - gain * this.kp * error) : 0.0;
+        this.output = output;
+    }
+
+    @Override
+    public void reset(double error)
+    {
+        this.integral = 0.0;
+        this.derivative = 0.0;
+        this.pastError = error;
+        this.isInitialized = true;
+        this.output = 0.0;
+    }
+
+    @Override
+    public double getOutput()
+    {
+        return this.output;
+    }
+
+    @Override
+    public Type getType()
+    {
+        return Type.PID;
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse PeriodEstimator schaetzt die Periode des Taktes und die Drift
+ * zwischen dem Oszillator des Arduino und der Uhr des Raspi.
+ * <p>
+ * Die Periode wird vom Oszillator des Arduino bestimmt, die Zeitstempel der
+ * Flanken stammen aber von der Uhr des Raspi (System.nanoTime()) und sind
+ * zusaetzlich mit dem Jitter der Zustellung behaftet. Die Differenz zweier
+ * Zeitstempel ist daher nur eine verrauschte Messung, ueber lange Laufzeiten
+ * weicht die nominelle Periode zudem um die Drift ab.
+ * </p>
+ * <p>
+ * Ueber die letzten window Flanken wird eine Ausgleichsgerade
+ * timestamp = intercept + period * index gelegt (lineare Regression, kleinste
+ * Quadrate). Die Steigung ist die geschaetzte Periode, ihre Abweichung von der
+ * nominellen Periode die Drift (in ppm). Der Index einer Flanke ergibt sich aus
+ * dem Abstand zur vorherigen Flanke in (gerundeten) Perioden, ausgelassene
+ * Takte verfaelschen die Schaetzung daher nicht. Nach einer laengeren Pause
+ * (mehr als MAX_GAP Perioden, z.B. Ausfall des Taktes) beginnt die Schaetzung neu.
+ * </p>
+ * <p>
+ * update() wird nur im Regel-Thread aufgerufen (Arrays einmalig angelegt, keine
+ * Allokation), die Ergebnisse sind volatile und koennen aus anderen Threads
+ * (Anzeige, Logging) gelesen werden.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class PeriodEstimator
+{
+    /**
+     * DEFAULT_WINDOW = 256 - Anzahl der Flanken der Regression
+     */
+    public final static int DEFAULT_WINDOW = 256;
+
+    /**
+     * MIN_SAMPLES = 8 - Anzahl der Flanken bis zur ersten Schaetzung
+     */
+    public final static int MIN_SAMPLES = 8;
+
+    /**
+     * MAX_GAP = 16L - groesster Abstand zweier Flanken in Perioden,
+     * darueber beginnt die Schaetzung neu
+     */
+    public final static long MAX_GAP = 16L;
+
+    /**
+     * nominalPeriod - nominelle Periode in ns
+     */
+    private final double nominalPeriod;
+
+    /**
+     * indices[] - Index der Flanken (Ringpuffer)
+     */
+    private final long[] indices;
+
+    /**
+     * timestamps[] - Zeitstempel der Flanken in ns (Ringpuffer)
+     */
+    private final long[] timestamps;
+
+    /**
+     * position - naechster Eintrag im Ringpuffer
+     */
+    private int position = 0;
+
+    /**
+     * samples - Anzahl der gueltigen Eintraege (hoechstens window)
+     */
+    private int samples = 0;
+
+    /**
+     * lastIndex - Index der letzten Flanke
+     */
+    private long lastIndex = 0L;
+
+    /**
+     * lastTimestamp - Zeitstempel der letzten Flanke
+     */
+    private long lastTimestamp = 0L;
+
+    /**
+     * period - geschaetzte Periode in ns (bis zur ersten Schaetzung nominell)
+     */
+    private volatile double period;
+
+    /**
+     * intercept - Zeitstempel der letzten Flanke auf der Ausgleichsgeraden in ns
+     */
+    private volatile long intercept = 0L;
+
+    /**
+     * jitter - Standardabweichung der Zeitstempel von der Ausgleichsgeraden in ns
+     */
+    private volatile double jitter = 0.0;
+
+    /**
+     * isValid - liegt eine Schaetzung vor (mindestens MIN_SAMPLES Flanken)?
+     */
+    private volatile boolean isValid = false;
+
+    /**
+     * restarts - Anzahl der Neubeginne (Pausen laenger als MAX_GAP Perioden)
+     */
+    private volatile long restarts = 0L;
+
+    /**
+     * PeriodEstimator(int window, double nominalPeriod)
+     * @param window - Anzahl der Flanken der Regression (mindestens MIN_SAMPLES)
+     * @param nominalPeriod - nominelle Periode in s
+     */
+    public PeriodEstimator(int window, double nominalPeriod)
+    {
+        final int size = Math.max(MIN_SAMPLES, window);
+        this.indices = new long[size];
+        this.timestamps = new long[size];
+        this.nominalPeriod = Math.max(ClockCycleSource.MIN_PERIOD, nominalPeriod * 1.0E9);
+        this.period = this.nominalPeriod;
+    }
+
+    /**
+     * update(long timestamp) - Flanke aufnehmen und die Schaetzung nachfuehren
+     * (Aufruf im Regel-Thread)...
+     * @param timestamp - Zeitstempel der Flanke (System.nanoTime())
+     * @return Anzahl der Perioden seit der letzten Flanke, 0L bei der ersten
+     * Flanke bzw. nach einer Pause
+     */
+    public long update(long timestamp)
+    {
+        long cycles = 0L;
+        if (this.samples > 0)
+        {
+            final long elapsed = timestamp - this.lastTimestamp;
+            // Bis zur ersten Schaetzung zaehlt jede Flanke als eine Periode (die nominelle
+            // Periode muss nicht stimmen, z.B. anders eingestellter Arduino)...
+            cycles = this.isValid? Math.max(1L, Math.round(elapsed / this.period)) : 1L;
+            if ((elapsed <= 0L) || (elapsed > MAX_GAP * this.period))
+            {
+                // Pause (oder Zeitstempel nicht plausibel): Neu beginnen...
+                this.samples = 0;
+                this.position = 0;
+                this.isValid = false;
+                this.restarts++;
+                cycles = 0L;
+            }
+        }
+        this.lastIndex = (this.samples > 0)? (this.lastIndex + cycles) : 0L;
+        this.lastTimestamp = timestamp;
+        this.indices[this.position] = this.lastIndex;
+        this.timestamps[this.position] = timestamp;
+        this.position = (this.position + 1) % this.indices.length;
+        if (this.samples < this.indices.length)
+        {
+            this.samples++;
+        }
+        if (this.samples >= MIN_SAMPLES)
+        {
+            estimate();
+        }
+        return cycles;
+    }
+
+    /**
+     * estimate() - Ausgleichsgerade ueber die gueltigen Eintraege...
+     * <p>
+     * Gerechnet wird relativ zur letzten Flanke (kleine Werte, keine
+     * Ausloeschung in double).
+     * </p>
+     */
+    private void estimate()
+    {
+        final int count = this.samples;
+        double sumX = 0.0;
+        double sumY = 0.0;
+        for (int index = 0; index < count; index++)
+        {
+            sumX += this.indices[index] - this.lastIndex;
+            sumY += this.timestamps[index] - this.lastTimestamp;
+        }
+        final double meanX = sumX / count;
+        final double meanY = sumY / count;
+        double sxx = 0.0;
+        double sxy = 0.0;
+        for (int index = 0; index < count; index++)
+        {
+            final double x = (this.indices[index] - this.lastIndex) - meanX;
+            final double y = (this.timestamps[index] - this.lastTimestamp) - meanY;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        if (sxx <= 0.0)
+        {
+            return;
+        }
+        final double period = sxy / sxx;
+        // Ausgleichsgerade an der letzten Flanke (x = 0)...
+        final double offset = meanY - period * meanX;
+        double sumSquares = 0.0;
+        for (int index = 0; index < count; index++)
+        {
+            final double residual = (this.timestamps[index] - this.lastTimestamp)
+                                  - (offset + period * (this.indices[index] - this.lastIndex));
+            sumSquares += residual * residual;
+        }
+        this.period = period;
+        this.intercept = this.lastTimestamp + Math.round(offset);
+        this.jitter = Math.sqrt(sumSquares / count);
+        this.isValid = true;
+    }
+
+    /**
+     * isValid() - liegt eine Schaetzung vor?
+     * @return boolean
+     */
+    public boolean isValid()
+    {
+        return this.isValid;
+    }
+
+    /**
+     * getPeriod() - geschaetzte Periode in s (nominell, solange keine Schaetzung vorliegt)
+     * @return double
+     */
+    public double getPeriod()
+    {
+        return this.period * 1.0E-9;
+    }
+
+    /**
+     * getDrift() - Abweichung der geschaetzten von der nominellen Periode in ppm
+     * (positiv: der Arduino ist langsamer als nominell bzw. die Uhr des Raspi schneller)
+     * @return double
+     */
+    public double getDrift()
+    {
+        return (this.period - this.nominalPeriod) / this.nominalPeriod * 1.0E6;
+    }
+
+    /**
+     * getJitter() - Standardabweichung der Zeitstempel von der Ausgleichsgeraden in s
+     * @return double
+     */
+    public double getJitter()
+    {
+        return this.jitter * 1.0E-9;
+    }
+
+    /**
+     * getRestarts() - Anzahl der Neubeginne der Schaetzung
+     * @return long
+     */
+    public long getRestarts()
+    {
+        return this.restarts;
+    }
+
+    /**
+     * toSeconds(long cycles) - Dauer einer Anzahl von Perioden in s
+     * (Zeit des Arduino, gemessen mit der Uhr des Raspi)...
+     * @param cycles - Anzahl der Perioden
+     * @return double
+     */
+    public double toSeconds(long cycles)
+    {
+        return cycles * this.period * 1.0E-9;
+    }
+
+    /**
+     * predict(long cycles) - erwarteter Zeitstempel (System.nanoTime()) der Flanke
+     * cycles Perioden nach der letzten Flanke (auf der Ausgleichsgeraden)...
+     * @param cycles - Anzahl der Perioden
+     * @return long
+     */
+    public long predict(long cycles)
+    {
+        return this.intercept + Math.round(cycles * this.period);
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("PeriodEstimator [period=%.4f ms, drift=%.1f ppm, jitter=%.3f ms, valid=%b, restarts=%d]",
+                             this.period * 1.0E-6, getDrift(), this.jitter * 1.0E-6, this.isValid, this.restarts);
+    }
+}
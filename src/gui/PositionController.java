@@ -3,17 +3,19 @@
  */
 package gui;
 
-import java.math.BigDecimal;
-import java.time.Instant;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Die Klasse PositionController realisiert den eigentlichen Regelalgorithmus
  * der Gleichlaufregelung. Der Algorithmus wird durch Beauftragung der 
- * doControl()-Methode realisiert. Die notwendigen Parameter werden zuvor
- * gesetzt.
+ * doControl()-Methode realisiert. Die notwendigen Parameter werden je Zyklus
+ * als unveraenderliche ControlParameters uebergeben.
+ * <p>
+ * Die Gleichlaufregelung ist kreuzgekoppelt fuer N Achsen: Jede Achse wird
+ * auf den Mittelwert der Lage aller anderen Achsen geregelt. Bei zwei Achsen
+ * entspricht das genau der Regelung auf die Lagedifferenz numberMA - numberMB.
+ * </p>
  * 
  * @author Detlef Tribius
  */
@@ -41,37 +43,87 @@ public class PositionController
     public static int SCALE_INTERN = 6;
     
     /**
-     * Zeitpunkt der aktuellen Beauftragung...
+     * cycleTime - im letzten Zyklus verwendete Zykluszeit (Abtast-/Regler-Zeit) in s
+     */
+    private double cycleTime = CYCLE_TIME;
+    
+    /**
+     * pFactor - Faktor P-Anteil, vorberechnet aus enhancement / wheelSteps...
+     * <p>
+     * Die Division erfolgt einmalig bei der Uebernahme geaenderter Parameter
+     * und nicht mehr in jedem Zyklus.
+     * </p>
      */
-    private Instant now = null;
+    private double pFactor = 0.0;
     
     /**
-     * Zeitpunkt der letzten Beauftragung...
+     * OUTPUT_FACTOR - 10^SCALE_OUTPUT, Hilfsgroesse zur Rundung der Ausgabewerte
+     * auf SCALE_OUTPUT Nachkommastellen (primitiv, ohne BigDecimal)...
      */
-    private Instant past = null;
+    private final static double OUTPUT_FACTOR = Math.pow(10.0, SCALE_OUTPUT);
     
     /**
-     * cycleTimeDecimal - Zykluszeit (Abtast-/Regler-Zeit)
+     * CYCLE_TIME = 0.05 - nominelle Zykluszeit in s, wird fuer den I- und D-Anteil
+     * nur verwendet, wenn keine plausible Messung vorliegt (erster Zyklus, nach Stop)...
      */
-    private BigDecimal cycleTimeDecimal = BigDecimal.ZERO;    
+    public final static double CYCLE_TIME = 0.05;
     
     /**
-     * enhancement - Reglerverstaerkung...
+     * parameters - die im Regelzyklus zuletzt uebernommenen Parameter, 
+     * nur im Regelzyklus verwendet!
      * <p>
-     * Die Reglerverstaerkung kann ueber die Oberflaeche geaendert werden...
+     * Die Oberflaeche legt die Parameter unveraenderlich als ControlParameters
+     * ab (vgl. Model), doControl() erhaelt je Zyklus die aktuelle Instanz. Neue
+     * Strategien werden nur angelegt, wenn sich die Reglerparameter (Art,
+     * Verstaerkung, Nachstell-/Vorhaltzeit) tatsaechlich geaendert haben.
      * </p>
      */
-    private BigDecimal enhancement;
+    private ControlParameters parameters;
+    
+    /**
+     * isResetRequested - der Regler soll im naechsten Zyklus ohne Uebernahme
+     * des letzten Reglerausgangs (Zustand 0) starten...
+     */
+    private volatile boolean isResetRequested = false;
+    
+    /**
+     * strategies - die im Regelzyklus aktiven Strategien (eine je Achse), 
+     * nur im Regelzyklus verwendet!
+     */
+    private ControlStrategy[] strategies;
+    
+    /**
+     * gainSchedule - Verstaerkungs-Tabelle abhaengig vom Betrag des Sollwertes,
+     * null: keine Anpassung der Verstaerkung (Faktor 1.0)
+     */
+    private volatile GainSchedule gainSchedule = null;
     
     /**
-     * boolean isMAControlled - die Regelung wirkt auf den Motor A
+     * gainFactor - im letzten Zyklus verwendeter Faktor aus dem gainSchedule
      */
-    private boolean isMAControlled;
+    private double gainFactor = 1.0;
     
     /**
-     * boolean isMBControlled - die Regelung wirkt auf den Motor B
+     * compensator - Totzeitkompensation (Smith-Praediktor), nur im Regelzyklus verwendet!
      */
-    private boolean isMBControlled;
+    private final DeadTimeCompensator compensator;
+    
+    /**
+     * MAX_CYCLE_TIME = 0.5 - groesste plausible Zykluszeit in s, 
+     * darueber (oder ohne Messung) wird mit CYCLE_TIME gerechnet
+     */
+    public final static double MAX_CYCLE_TIME = 0.5;
+    
+    /**
+     * boolean controlled[] - die Regelung wirkt auf die Achse (z.B. Index 0 => Motor A),
+     * Kopie aus den Parametern des Zyklus (einmalig angelegt, fuer den DeadTimeCompensator)
+     */
+    private final boolean[] controlled;
+    
+    /**
+     * axes - Anzahl der Achsen
+     */
+    private final int axes;
     
     /**
      * wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
@@ -79,176 +131,213 @@ public class PositionController
     private final int wheelSteps;
     
     /**
-     * PositionController(int wheelSteps)
+     * PositionController(int wheelSteps, int axes, double countsPerSecond)
      * @param wheelSteps: Anzahl der Impulse des Gebers pro Umdrehung
+     * @param axes: Anzahl der Achsen
+     * @param countsPerSecond: Impulse pro s bei Nenndrehzahl (Streckenmodell der Totzeitkompensation)
      */
-    PositionController(int wheelSteps)
+    PositionController(int wheelSteps, int axes, double countsPerSecond)
     {
         // Es ist wahrscheinlich sinnvoll zu fordern, dass 
         // wheelSteps >= 1 gelten muss! 
         // (Da evtl. Division durch wheelSteps notwendig wird!)
         this.wheelSteps = (wheelSteps > 1)? wheelSteps : 1;
-        this.enhancement = BigDecimal.ZERO;
+        this.axes = (axes > 1)? axes : 1;
+        this.controlled = new boolean[this.axes];
+        this.compensator = new DeadTimeCompensator(this.axes, countsPerSecond);
+        this.parameters = new ControlParameters(this.axes);
+        this.strategies = createStrategies(this.parameters);
     }
     
     /**
-     * setEnhancement(BigDecimal enhancement) - Reglerverstaerkung setzen
-     * @param enhancement
+     * setGainSchedule(GainSchedule gainSchedule) - Verstaerkungs-Tabelle setzen
+     * @param gainSchedule - null: keine Anpassung der Verstaerkung
      */
-    public void setEnhancement(BigDecimal enhancement)
+    public void setGainSchedule(GainSchedule gainSchedule)
     {
-        this.enhancement = (enhancement != null)? enhancement : BigDecimal.ZERO;
+        this.gainSchedule = gainSchedule;
     }
     
     /**
-     * getEnhancement() - Reglerverstaerkung
-     * @return
+     * getGainSchedule() - Verstaerkungs-Tabelle
+     * @return GainSchedule oder null
      */
-    public BigDecimal getEnhancement()
+    public GainSchedule getGainSchedule()
     {
-        return this.enhancement;
+        return this.gainSchedule;
     }
     
     /**
-     * isMAControlled()
-     * @return the isMAControlled
+     * getCycleTime() - im letzten Zyklus verwendete Zykluszeit in s
+     * @return double
      */
-    public final boolean isMAControlled()
+    public double getCycleTime()
     {
-        return isMAControlled;
+        return this.cycleTime;
     }
-
+    
     /**
-     * setMAControlled(boolean isMAControlled)
-     * @param isMAControlled the isMAControlled to set
+     * getGainFactor() - im letzten Zyklus verwendeter Faktor aus der Verstaerkungs-Tabelle
+     * @return double
      */
-    public final void setMAControlled(boolean isMAControlled)
+    public double getGainFactor()
     {
-        this.isMAControlled = isMAControlled;
+        return this.gainFactor;
     }
-
+    
     /**
-     * isMBControlled()
-     * @return the isMBControlled
+     * reset() - der Regler beginnt im naechsten Zyklus mit Zustand 0...
      */
-    public final boolean isMBControlled()
+    public void reset()
     {
-        return isMBControlled;
+        this.isResetRequested = true;
     }
-
+    
     /**
-     * setMBControlled(boolean isMBControlled)
-     * @param isMBControlled the isMBControlled to set
+     * createStrategies(ControlParameters parameters) - je Achse eine neue Instanz 
+     * mit den Reglerparametern, auch der Faktor P-Anteil wird hier berechnet...
+     * @param parameters
+     * @return ControlStrategy[]
      */
-    public final void setMBControlled(boolean isMBControlled)
+    private ControlStrategy[] createStrategies(ControlParameters parameters)
     {
-        this.isMBControlled = isMBControlled;
+        // Faktor P-Anteil ergibt sich aus der Verstaerkung an der Oberflaeche dividiert durch Impulse pro Umdrehung:
+        this.pFactor = parameters.getEnhancement().doubleValue() / this.wheelSteps;
+        final double integralTime = parameters.getIntegralTime().doubleValue();
+        final double derivativeTime = parameters.getDerivativeTime().doubleValue();
+        final ControlStrategy[] result = new ControlStrategy[this.axes];
+        for (int axis = 0; axis < this.axes; axis++)
+        {
+            result[axis] = parameters.getStrategyType().create(this.pFactor, integralTime, derivativeTime);
+        }
+        logger.debug("createStrategies(): " + parameters.getStrategyType() + " kp=" + this.pFactor 
+                   + " ti=" + integralTime + " td=" + derivativeTime);
+        return result;
     }
-
+    
     /**
-     * doControl() - Regelalgorithmus...
+     * doControl(Axes axes, double elapsedSeconds, ControlParameters parameters) - Regelalgorithmus...
      * <p>
-     * Der Regelalgorithmus realisiert einen einfachen P-Regler der Lage. Die Verstaerkung
-     * ergibt sich zu (Verstaerkung an Oberflaeche) / (Impulse pro Umdrehung) * Lagedifferenz.
-     * Das Ergebnis (Reglerausgang) wird wahlweise zum Sollwert addiert oder subtrahiert.
-     * Soll keine Auswirkung auf einen Motor vorliegen (Checkbox nicht gesetzt), so eeinflusst
+     * Der Regelalgorithmus wendet je Achse die gewaehlte ControlStrategy (P, PI, PID) 
+     * auf die Lageabweichung der Achse vom Mittelwert der Lage aller anderen Achsen an
+     * (kreuzgekoppelte Gleichlaufregelung). Die Verstaerkung ergibt sich zu 
+     * (Verstaerkung an Oberflaeche) / (Impulse pro Umdrehung).
+     * Das Ergebnis (Reglerausgang) wird vom Sollwert der Achse subtrahiert.
+     * Soll keine Auswirkung auf eine Achse vorliegen (Checkbox nicht gesetzt), so beeinflusst
      * die Reglerdifferenz nicht den entsprechenden Sollwert. 
+     * </p>
      * <p>
-     * @return Output(output)
-     */
-    public Output doControl(BigDecimal valueMA, long numberMA, 
-                            BigDecimal valueMB, long numberMB)
-    {
-        // diffNumber: Lage-Differenz zwischen MA und MB...
-        final long diffNumber = numberMA - numberMB;
-        // Faktor P-Anteil (p_factor) ergibt sich aus der Verstaerkung an der Oberflaeche dividiert durch Impulse pro Umdrehung:
-        final BigDecimal p_factor = this.enhancement.divide(BigDecimal.valueOf(this.wheelSteps), SCALE_INTERN, BigDecimal.ROUND_CEILING);
-        // diffValue - Reglerausgangs
-        final BigDecimal diffValue = BigDecimal.valueOf(diffNumber).multiply(p_factor).setScale(SCALE_OUTPUT, BigDecimal.ROUND_HALF_UP);
-        // Aufschalten des Reglerausgangs?
-        final BigDecimal outputMA = this.isMAControlled? valueMA.subtract(diffValue) : valueMA.setScale(SCALE_OUTPUT, BigDecimal.ROUND_HALF_UP);
-        
-        final BigDecimal outputMB = this.isMBControlled? valueMB.add(diffValue) : valueMB.setScale(SCALE_OUTPUT, BigDecimal.ROUND_HALF_UP);
-        
-        return new Output(diffValue, outputMA, outputMB);
-    }
-    
-    /**
-     * Output - Zusammenfassung des Reglerausgangs
-     * 
-     * @author Detlef Tribius
-     *
+     * Die Berechnung erfolgt ausschliesslich mit primitiven Datentypen direkt auf den
+     * Arrays der Axes (correction[], setpoint[]), der Aufwand ist linear in der Anzahl 
+     * der Achsen, es werden keine Objekte angelegt.
+     * </p>
+     * <p>
+     * Mit Totzeitkompensation wird der Lageabweichung die vom Streckenmodell vorhergesagte, 
+     * noch nicht gemessene Wirkung der letzten Reglerausgaenge aufgeschaltet (vgl. 
+     * DeadTimeCompensator). Das Modell wird mit der gemessenen Zykluszeit nachgefuehrt.
+     * </p>
+     * <p>
+     * Die Zykluszeit fuer I-/D-Anteil und Streckenmodell ist die vom Model ermittelte
+     * Zeit seit dem letzten erfolgreichen Austausch (elapsedSeconds, dieselbe Zeitbasis
+     * wie Drehzahlregelung und Positionierung). Damit wirkt ein unregelmaessiger Takt 
+     * nicht mehr auf die Regelguete. Ist die Zeit nicht plausibel (erster Zyklus, Pause 
+     * laenger als MAX_CYCLE_TIME), wird CYCLE_TIME verwendet.
+     * </p>
+     * <p>
+     * Die Parameter werden je Zyklus genau einmal gelesen (parameters). Haben sich die
+     * Reglerparameter geaendert, so werden neue Strategien angelegt und an der Zyklusgrenze
+     * stossfrei uebernommen, sonst wird nichts allokiert.
+     * </p>
+     * @param axes - Zustandsgroessen der Achsen (reference[], number[] => correction[], setpoint[])
+     * @param elapsedSeconds - Zeit seit dem letzten erfolgreichen Austausch in s
+     * @param parameters - Parameter der Regelung in diesem Zyklus
      */
-    final class Output
+    public void doControl(Axes axes, double elapsedSeconds, ControlParameters parameters)
     {
-        /**
-         * BigDecimal diffValue
-         */
-        private final BigDecimal diffValue;
-        
-        /**
-         * BigDecimal outputMA
-         */
-        private final BigDecimal outputMA;
-        
-        /**
-         * BigDecimal outputMB
-         */
-        private final BigDecimal outputMB; 
-        
-        /**
-         * Output() - Konstruktor aus den Attributen...
-         * @param diffValue
-         * @param outputMA
-         * @param outputMB
-         */
-        public Output(BigDecimal diffValue, 
-                      BigDecimal outputMA,      
-                      BigDecimal outputMB)
+        final double cycleTime = (elapsedSeconds > 0.0 && elapsedSeconds <= MAX_CYCLE_TIME)? elapsedSeconds : CYCLE_TIME;
+        this.cycleTime = cycleTime;
+
+        final int count = Math.min(axes.getCount(), this.axes);
+        // sum: Summe der Lage aller Achsen, valueSum: Summe der Betraege der Sollwerte...
+        long sum = 0L;
+        double valueSum = 0.0;
+        for (int axis = 0; axis < count; axis++)
         {
-            this.diffValue = (diffValue != null)? diffValue : BigDecimal.ZERO;
-            this.outputMA = (outputMA != null)? outputMA : BigDecimal.ZERO.setScale(SCALE_OUTPUT);
-            this.outputMB = (outputMB != null)? outputMB : BigDecimal.ZERO.setScale(SCALE_OUTPUT);
+            sum += axes.number[axis];
+            valueSum += Math.abs(axes.reference[axis]);
         }
-
-        /**
-         * @return the diffValue
-         */
-        public final BigDecimal getDiffValue()
+        // Gain-Scheduling: Der Faktor zum mittleren Betrag der Sollwerte wirkt als 
+        // Verstaerkung in den Strategien, die Regeldifferenz bleibt unbewertet (kein 
+        // Sprung im D-Anteil), der bereits aufsummierte I-Anteil bleibt erhalten...
+        final GainSchedule schedule = this.gainSchedule;
+        this.gainFactor = (schedule != null)? schedule.getFactor(valueSum / count) : 1.0;
+        // Reglerparameter geaendert? Dann neue Strategien und Uebernahme an der Zyklusgrenze...
+        final boolean isChanged = !parameters.isStrategyEqual(this.parameters);
+        this.parameters = parameters;
+        final ControlStrategy[] requested = isChanged? createStrategies(parameters) : this.strategies;
+        final boolean isReset = this.isResetRequested;
+        final boolean isTransfer = isChanged || isReset;
+        // Totzeitkompensation: Streckenmodell mit den Reglerausgaengen des letzten Zyklus
+        // nachfuehren, beim Zuruecksetzen des Reglers auch das Modell zuruecksetzen...
+        final boolean isCompensated = parameters.isDeadTimeCompensated();
+        if (isCompensated && !isReset)
         {
-            return diffValue;
+            this.compensator.update(axes.correction, this.controlled, count, cycleTime);
         }
-
-        /**
-         * @return the outputMA
-         */
-        public final BigDecimal getOutputMA()
+        else
         {
-            return outputMA;
+            this.compensator.reset();
         }
-
-        /**
-         * @return the outputMB
-         */
-        public final BigDecimal getOutputMB()
+        // Aufschalten des Reglerausgangs je Achse ab diesem Zyklus...
+        for (int axis = 0; axis < count; axis++)
         {
-            return outputMB;
+            this.controlled[axis] = parameters.isAxisControlled(axis);
         }
-
-        /**
-         * String toString() - zu Protokollzwecken...
-         */
-        @Override
-        public String toString()
+        for (int axis = 0; axis < count; axis++)
         {
-            return new StringBuilder().append("[")
-                                      .append(this.diffValue.toString())
-                                      .append(" ")
-                                      .append(this.outputMA.toString())
-                                      .append(" ")
-                                      .append(this.outputMB.toString())
-                                      .append("]")
-                                      .toString();
+            // Lageabweichung der Achse vom Mittelwert der anderen Achsen 
+            // (bei zwei Achsen: numberMA - numberMB bzw. numberMB - numberMA)...
+            final double deviation = (count > 1)? (axes.number[axis] - (sum - axes.number[axis]) / (count - 1.0)) : 0.0;
+            final double prediction = isCompensated? this.compensator.getPrediction(axis) : 0.0;
+            final double error = deviation + prediction;
+            if (isTransfer)
+            {
+                if (isReset)
+                {
+                    requested[axis].reset(error);
+                }
+                else
+                {
+                    // Stossfreie Uebernahme des bisherigen Reglerausgangs...
+                    requested[axis].transfer(this.strategies[axis].getOutput(), error, this.gainFactor);
+                }
+            }
+            final ControlStrategy strategy = isTransfer? requested[axis] : this.strategies[axis];
+            // correction - Reglerausgang
+            final double correction = round(strategy.control(error, this.gainFactor, cycleTime));
+            axes.correction[axis] = correction;
+            // Aufschalten des Reglerausgangs?
+            axes.setpoint[axis] = this.controlled[axis]? round(axes.reference[axis] - correction) : round(axes.reference[axis]);
         }
+        if (isTransfer)
+        {
+            if (isReset)
+            {
+                this.isResetRequested = false;
+            }
+            this.strategies = requested;
+        }
+    }
+    
+    /**
+     * round(double value) - Rundung auf SCALE_OUTPUT Nachkommastellen (kaufmaennisch,
+     * wie BigDecimal.ROUND_HALF_UP symmetrisch zu 0, die Korrekturen von Motor A und
+     * Motor B bleiben damit auch bei x.5 exakt spiegelbildlich)...
+     * @param value
+     * @return gerundeter Wert
+     */
+    private static double round(double value)
+    {
+        return Math.signum(value) * Math.round(Math.abs(value) * OUTPUT_FACTOR) / OUTPUT_FACTOR;
     }
 }
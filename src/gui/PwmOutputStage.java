@@ -0,0 +1,305 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.IOException;
+
+import com.pi4j.io.i2c.I2CDevice;
+
+/**
+ * Die Klasse PwmOutputStage gibt die Stellgroessen beider Motoren in einem
+ * Schreibzugriff an den PCA9685 des MotorDriverHAT aus.
+ * <p>
+ * Je Motor belegt der MotorDriverHAT drei Kanaele des PCA9685 (Pwm und zwei
+ * Richtungs-Pins), die Kanaele 0 ... 5 liegen mit je 4 Registern (ON_L, ON_H,
+ * OFF_L, OFF_H) ab LED0_ON_L = 0x06 lueckenlos hintereinander. Mit gesetztem
+ * Auto-Increment (MODE1, Bit AI) werden alle geaenderten Kanaele in einer
+ * Transaktion geschrieben (vom ersten bis zum letzten geaenderten Kanal),
+ * unveraenderte Kanaele am Rand entfallen, ohne Aenderung entfaellt der
+ * Zugriff ganz. Der PCA9685 uebernimmt die Werte mit dem Stop, beide Motoren
+ * (Pwm und Richtung) aendern sich damit gleichzeitig.
+ * </p>
+ * <p>
+ * Die Initialisierung (Frequenz) erfolgt weiterhin durch den MotorDriverHAT.
+ * Die Belegung der Kanaele und die Richtung (positiver Wert: IN1 aus, IN2 ein)
+ * entsprechen dem MotorDriverHAT. Zum Vergleich wird gezaehlt, wie viele Byte
+ * auf dem Bus gegenueber je einem Schreibzugriff je Kanal (BASELINE_BYTES)
+ * eingespart werden.
+ * </p>
+ * <p>
+ * Die Methoden sind synchronized, da neben dem Regel-Thread auch der Watchdog
+ * (doSafeStop()) und die GUI die Motoren stoppen; im Regelbetrieb schreibt nur
+ * der Regel-Thread (keine Konkurrenz).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class PwmOutputStage
+{
+    /**
+     * Kanaele des PCA9685 auf dem MotorDriverHAT...
+     */
+    public final static int CHANNEL_PWMA = 0;
+    public final static int CHANNEL_AIN1 = 1;
+    public final static int CHANNEL_AIN2 = 2;
+    public final static int CHANNEL_BIN1 = 3;
+    public final static int CHANNEL_BIN2 = 4;
+    public final static int CHANNEL_PWMB = 5;
+
+    /**
+     * CHANNELS = 6 - Anzahl der verwendeten Kanaele
+     */
+    public final static int CHANNELS = 6;
+
+    /**
+     * MODE1 = 0x00 - Register MODE1
+     */
+    public final static int MODE1 = 0x00;
+
+    /**
+     * MODE1_AI = 0x20 - Bit Auto-Increment in MODE1
+     */
+    public final static int MODE1_AI = 0x20;
+
+    /**
+     * MODE1_RESTART = 0x80 - Bit Restart in MODE1 (wird nicht zurueckgeschrieben)
+     */
+    public final static int MODE1_RESTART = 0x80;
+
+    /**
+     * LED0_ON_L = 0x06 - erstes Register von Kanal 0
+     */
+    public final static int LED0_ON_L = 0x06;
+
+    /**
+     * REGISTERS = 4 - Register je Kanal
+     */
+    public final static int REGISTERS = 4;
+
+    /**
+     * PWM_MAX = 4095 - groesster Wert von ON/OFF (12 Bit)
+     */
+    public final static int PWM_MAX = 4095;
+
+    /**
+     * FULL = 0x10 - Bit 'full on/off' in ON_H bzw. OFF_H
+     */
+    private final static int FULL = 0x10;
+
+    /**
+     * BASELINE_BYTES = 6 - Byte auf dem Bus je Kanal bei einem Schreibzugriff
+     * je Kanal (Adresse, Register, 4 Datenbyte)
+     */
+    public final static int BASELINE_BYTES = 2 + REGISTERS;
+
+    /**
+     * device - der PCA9685 am I2C-Bus (MD_HAT_ADDRESS)
+     */
+    private final I2CDevice device;
+
+    /**
+     * shadow[] - zuletzt geschriebene Registerwerte aller Kanaele
+     */
+    private final byte[] shadow = new byte[CHANNELS * REGISTERS];
+
+    /**
+     * registers[] - Registerwerte des aktuellen Schreibzugriffes
+     */
+    private final byte[] registers = new byte[CHANNELS * REGISTERS];
+
+    /**
+     * isShadowValid - stimmt shadow[] mit dem PCA9685 ueberein?
+     */
+    private boolean isShadowValid = false;
+
+    /**
+     * writes - Anzahl der Schreibzugriffe, skipped - Anzahl der entfallenen Zugriffe
+     */
+    private volatile long writes = 0L;
+    private volatile long skipped = 0L;
+
+    /**
+     * bytesWritten - Byte auf dem Bus, bytesSaved - eingesparte Byte
+     */
+    private volatile long bytesWritten = 0L;
+    private volatile long bytesSaved = 0L;
+
+    /**
+     * startNanos - Beginn der Zaehlung
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * PwmOutputStage(I2CDevice device) - Auto-Increment einschalten...
+     * @param device - der PCA9685 am I2C-Bus (nach der Initialisierung durch den MotorDriverHAT)
+     * @throws IOException
+     */
+    public PwmOutputStage(I2CDevice device) throws IOException
+    {
+        this.device = device;
+        final int mode1 = device.read(MODE1);
+        if ((mode1 & MODE1_AI) == 0)
+        {
+            device.write(MODE1, (byte) ((mode1 & ~MODE1_RESTART) | MODE1_AI));
+        }
+    }
+
+    /**
+     * write(float speedMA, float speedMB) - Stellgroessen ausgeben, nur geaenderte Kanaele...
+     * @param speedMA - Stellgroesse Motor A (-1.0 ... +1.0)
+     * @param speedMB - Stellgroesse Motor B (-1.0 ... +1.0)
+     * @throws IOException
+     */
+    public synchronized void write(float speedMA, float speedMB) throws IOException
+    {
+        encodeMotor(speedMA, CHANNEL_PWMA, CHANNEL_AIN1, CHANNEL_AIN2);
+        encodeMotor(speedMB, CHANNEL_PWMB, CHANNEL_BIN1, CHANNEL_BIN2);
+        flush(false);
+    }
+
+    /**
+     * stop() - beide Motoren stoppen, alle Kanaele werden geschrieben...
+     * @throws IOException
+     */
+    public synchronized void stop() throws IOException
+    {
+        encodeMotor(0.0F, CHANNEL_PWMA, CHANNEL_AIN1, CHANNEL_AIN2);
+        encodeMotor(0.0F, CHANNEL_PWMB, CHANNEL_BIN1, CHANNEL_BIN2);
+        flush(true);
+    }
+
+    /**
+     * invalidate() - nach einem Zugriff am PwmOutputStage vorbei (z.B. MotorDriverHAT.setPwmMA())
+     * werden beim naechsten write() alle Kanaele geschrieben...
+     */
+    public synchronized void invalidate()
+    {
+        this.isShadowValid = false;
+    }
+
+    /**
+     * encodeMotor(float speed, int pwm, int in1, int in2) - Registerwerte eines Motors...
+     */
+    private void encodeMotor(float speed, int pwm, int in1, int in2)
+    {
+        final float magnitude = Math.min(Math.abs(speed), 1.0F);
+        final int duty = Math.round(magnitude * PWM_MAX);
+        if (duty <= 0)
+        {
+            encodeLevel(pwm, false);
+        }
+        else if (duty >= PWM_MAX)
+        {
+            encodeLevel(pwm, true);
+        }
+        else
+        {
+            encode(pwm, 0, duty);
+        }
+        final boolean isForward = (speed >= 0.0F);
+        encodeLevel(in1, !isForward);
+        encodeLevel(in2, isForward);
+    }
+
+    /**
+     * encodeLevel(int channel, boolean isOn) - Kanal voll ein bzw. voll aus...
+     */
+    private void encodeLevel(int channel, boolean isOn)
+    {
+        final int offset = channel * REGISTERS;
+        this.registers[offset]     = 0;
+        this.registers[offset + 1] = (byte) (isOn? FULL : 0);
+        this.registers[offset + 2] = 0;
+        this.registers[offset + 3] = (byte) (isOn? 0 : FULL);
+    }
+
+    /**
+     * encode(int channel, int on, int off) - Kanal mit ON/OFF (12 Bit)...
+     */
+    private void encode(int channel, int on, int off)
+    {
+        final int offset = channel * REGISTERS;
+        this.registers[offset]     = (byte) on;
+        this.registers[offset + 1] = (byte) ((on >>> 8) & 0x0f);
+        this.registers[offset + 2] = (byte) off;
+        this.registers[offset + 3] = (byte) ((off >>> 8) & 0x0f);
+    }
+
+    /**
+     * flush(boolean isForced) - geaenderte Kanaele in einem Zugriff schreiben...
+     */
+    private void flush(boolean isForced) throws IOException
+    {
+        int first = 0;
+        int last = CHANNELS - 1;
+        if (!isForced && this.isShadowValid)
+        {
+            while ((first < CHANNELS) && isEqual(first))
+            {
+                first++;
+            }
+            if (first == CHANNELS)
+            {
+                // Keine Aenderung...
+                this.skipped++;
+                this.bytesSaved += CHANNELS * BASELINE_BYTES;
+                return;
+            }
+            while (isEqual(last))
+            {
+                last--;
+            }
+        }
+        final int offset = first * REGISTERS;
+        final int size = (last - first + 1) * REGISTERS;
+        // Bei einem Fehler ist der Zustand des PCA9685 unbekannt...
+        this.isShadowValid = false;
+        this.device.write(LED0_ON_L + offset, this.registers, offset, size);
+        System.arraycopy(this.registers, offset, this.shadow, offset, size);
+        this.isShadowValid = true;
+        this.writes++;
+        final int bytes = 2 + size;
+        this.bytesWritten += bytes;
+        // Vergleich: setPwmMA() und setPwmMB() schreiben je Motor drei Kanaele,
+        // zusammen alle CHANNELS Kanaele mit je einem Schreibzugriff...
+        this.bytesSaved += CHANNELS * BASELINE_BYTES - bytes;
+    }
+
+    /**
+     * isEqual(int channel) - Kanal unveraendert?
+     */
+    private boolean isEqual(int channel)
+    {
+        final int offset = channel * REGISTERS;
+        for (int index = offset; index < offset + REGISTERS; index++)
+        {
+            if (this.registers[index] != this.shadow[index])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * getBytesSavedPerSecond() - eingesparte Byte auf dem Bus je Sekunde (seit dem Anlegen)
+     * @return double
+     */
+    public double getBytesSavedPerSecond()
+    {
+        final double seconds = (System.nanoTime() - this.startNanos) * 1.0E-9;
+        return (seconds > 0.0)? (this.bytesSaved / seconds) : 0.0;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "PwmOutputStage [writes=" + this.writes + ", skipped=" + this.skipped
+             + ", bytesWritten=" + this.bytesWritten + ", bytesSaved=" + this.bytesSaved
+             + String.format(" (%.1f Byte/s)", getBytesSavedPerSecond()) + "]";
+    }
+}
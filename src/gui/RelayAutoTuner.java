@@ -0,0 +1,472 @@
+/**
+ *
+ */
+package gui;
+
+import java.math.BigDecimal;
+
+/**
+ * Die Klasse RelayAutoTuner realisiert die automatische Bestimmung der
+ * Reglerparameter der Gleichlaufregelung nach dem Relais-Verfahren
+ * (Astroem/Haegglund).
+ * <p>
+ * Anstelle des Reglers wird ein Zweipunktglied (Relais mit Hysterese) auf
+ * die Lagedifferenz numberMA - numberMB geschaltet. Der Regelkreis geraet
+ * dadurch in eine Dauerschwingung. Aus der Amplitude a der Lagedifferenz und
+ * der Relais-Amplitude d ergibt sich die kritische Verstaerkung
+ * Ku = 4 * d / (PI * a), die Periodendauer der Schwingung ist die kritische
+ * Periode Tu. Die Reglerparameter werden daraus nach Ziegler/Nichols
+ * vorgeschlagen.
+ * </p>
+ * <p>
+ * Eine Instanz wird nur im Regelzyklus (bzw. in der Simulation) verwendet
+ * und nur fuer einen Versuch.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class RelayAutoTuner
+{
+    /**
+     * RELAY_AMPLITUDE = 0.1 - Amplitude d des Relais (Korrektur der Sollwerte)
+     */
+    public final static double RELAY_AMPLITUDE = 0.1;
+
+    /**
+     * HYSTERESIS = 1.0 - Hysterese des Relais in Impulsen
+     */
+    public final static double HYSTERESIS = 1.0;
+
+    /**
+     * SKIP_PERIODS = 2 - Anzahl der Perioden bis zum eingeschwungenen Zustand
+     * (werden nicht ausgewertet)
+     */
+    public final static int SKIP_PERIODS = 2;
+
+    /**
+     * MEASURE_PERIODS = 4 - Anzahl der ausgewerteten Perioden
+     */
+    public final static int MEASURE_PERIODS = 4;
+
+    /**
+     * MAX_TIME = 60.0 - maximale Dauer des Versuchs in s
+     */
+    public final static double MAX_TIME = 60.0;
+
+    /**
+     * wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
+     * (Umrechnung der Verstaerkung in die Anzeige an der Oberflaeche)
+     */
+    private final int wheelSteps;
+
+    /**
+     * strategyType - Art des Reglers, fuer den die Parameter vorgeschlagen werden
+     */
+    private final ControlStrategy.Type strategyType;
+
+    /**
+     * time - Dauer des Versuchs in s
+     */
+    private double time = 0.0;
+
+    /**
+     * relay - aktueller Relais-Ausgang (+/-RELAY_AMPLITUDE)
+     */
+    private double relay = RELAY_AMPLITUDE;
+
+    /**
+     * switchTime - Zeitpunkt des letzten Umschaltens auf +RELAY_AMPLITUDE
+     */
+    private double switchTime = -1.0;
+
+    /**
+     * periods - Anzahl der bisher vollstaendigen Perioden
+     */
+    private int periods = 0;
+
+    /**
+     * max/min - Extremwerte der Lagedifferenz in der laufenden Periode
+     */
+    private double max = -Double.MAX_VALUE;
+    private double min = Double.MAX_VALUE;
+
+    /**
+     * sumAmplitude/sumPeriod - Summen der ausgewerteten Perioden
+     */
+    private double sumAmplitude = 0.0;
+    private double sumPeriod = 0.0;
+
+    /**
+     * result - Ergebnis, null solange der Versuch laeuft
+     */
+    private Result result = null;
+
+    /**
+     * RelayAutoTuner(int wheelSteps, ControlStrategy.Type strategyType)
+     * @param wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
+     * @param strategyType - Art des Reglers, fuer den die Parameter vorgeschlagen werden
+     */
+    public RelayAutoTuner(int wheelSteps, ControlStrategy.Type strategyType)
+    {
+        this.wheelSteps = (wheelSteps > 1)? wheelSteps : 1;
+        this.strategyType = (strategyType != null)? strategyType : ControlStrategy.Type.P;
+    }
+
+    /**
+     * step(double error, double cycleTime) - ein Zyklus des Versuchs...
+     * @param error - Lagedifferenz numberMA - numberMB in Impulsen
+     * @param cycleTime - Zykluszeit in s
+     * @return Relais-Ausgang, wird wie der Reglerausgang (diffValue) aufgeschaltet
+     */
+    public double step(double error, double cycleTime)
+    {
+        if (this.result != null)
+        {
+            return 0.0;
+        }
+        this.time += cycleTime;
+        this.max = Math.max(this.max, error);
+        this.min = Math.min(this.min, error);
+        // Relais mit Hysterese, die Wirkung ist der Lagedifferenz entgegengesetzt
+        // (der Ausgang wird von Motor A abgezogen und auf Motor B addiert)...
+        if (this.relay < 0.0 && error > HYSTERESIS)
+        {
+            this.relay = RELAY_AMPLITUDE;
+            // Umschalten auf +d: eine Periode ist vollstaendig...
+            if (this.switchTime >= 0.0)
+            {
+                this.periods++;
+                if (this.periods > SKIP_PERIODS)
+                {
+                    this.sumPeriod += this.time - this.switchTime;
+                    this.sumAmplitude += (this.max - this.min) / 2.0;
+                }
+                if (this.periods >= SKIP_PERIODS + MEASURE_PERIODS)
+                {
+                    finish();
+                }
+            }
+            this.switchTime = this.time;
+            this.max = error;
+            this.min = error;
+        }
+        else if (this.relay > 0.0 && error < -HYSTERESIS)
+        {
+            this.relay = -RELAY_AMPLITUDE;
+        }
+        if (this.result == null && this.time > MAX_TIME)
+        {
+            this.result = new Result(Status.FAILED, 0.0, 0.0, this.strategyType, this.wheelSteps);
+        }
+        return (this.result == null)? this.relay : 0.0;
+    }
+
+    /**
+     * finish() - Auswertung der Perioden...
+     */
+    private void finish()
+    {
+        final double amplitude = this.sumAmplitude / MEASURE_PERIODS;
+        final double period = this.sumPeriod / MEASURE_PERIODS;
+        if (amplitude > 0.0 && period > 0.0)
+        {
+            final double ultimateGain = 4.0 * RELAY_AMPLITUDE / (Math.PI * amplitude);
+            this.result = new Result(Status.FINISHED, ultimateGain, period, this.strategyType, this.wheelSteps);
+        }
+        else
+        {
+            this.result = new Result(Status.FAILED, 0.0, 0.0, this.strategyType, this.wheelSteps);
+        }
+    }
+
+    /**
+     * isFinished() - der Versuch ist beendet (erfolgreich oder nicht)...
+     * @return boolean
+     */
+    public boolean isFinished()
+    {
+        return this.result != null;
+    }
+
+    /**
+     * getResult() - Ergebnis des Versuchs
+     * @return Result oder null, solange der Versuch laeuft
+     */
+    public Result getResult()
+    {
+        return this.result;
+    }
+
+    /**
+     * Status - Status des Versuchs
+     * <ul>
+     *  <li>RUNNING("Laeuft")</li>
+     *  <li>FINISHED("Beendet")</li>
+     *  <li>FAILED("Fehler")</li>
+     * </ul>
+     *
+     * @author Detlef Tribius
+     */
+    public enum Status
+    {
+        /**
+         * RUNNING("Laeuft") - der Versuch laeuft
+         */
+        RUNNING("Laeuft"),
+        /**
+         * FINISHED("Beendet") - der Versuch wurde erfolgreich beendet
+         */
+        FINISHED("Beendet"),
+        /**
+         * FAILED("Fehler") - keine Dauerschwingung innerhalb von MAX_TIME
+         */
+        FAILED("Fehler");
+
+        /**
+         * Status - priv. Konstruktor
+         * @param status
+         */
+        private Status(String status)
+        {
+            this.status = status;
+        }
+
+        /**
+         * status - textuelle Beschreibung
+         */
+        private final String status;
+
+        /**
+         * toString() - Anzeige...
+         */
+        @Override
+        public String toString()
+        {
+            return this.status;
+        }
+    }
+
+    /**
+     * Result - Ergebnis des Versuchs (kritische Verstaerkung und Periode)
+     * und die daraus vorgeschlagenen Reglerparameter nach Ziegler/Nichols...
+     * <p>
+     * Die Anzeige erfolgt analog zu Data ueber getKeys()/getValue(String key).
+     * </p>
+     *
+     * @author Detlef Tribius
+     */
+    public final static class Result
+    {
+        /**
+         * AUTO_TUNE_STATUS_KEY = "autoTuneStatusKey"
+         */
+        public final static String AUTO_TUNE_STATUS_KEY = "autoTuneStatusKey";
+
+        /**
+         * ULTIMATE_GAIN_KEY = "ultimateGainKey" - kritische Verstaerkung (Anzeige wie enhancement)
+         */
+        public final static String ULTIMATE_GAIN_KEY = "ultimateGainKey";
+
+        /**
+         * ULTIMATE_PERIOD_KEY = "ultimatePeriodKey" - kritische Periode in s
+         */
+        public final static String ULTIMATE_PERIOD_KEY = "ultimatePeriodKey";
+
+        /**
+         * PROPOSED_ENHANCEMENT_KEY = "proposedEnhancementKey" - vorgeschlagene Verstaerkung
+         */
+        public final static String PROPOSED_ENHANCEMENT_KEY = "proposedEnhancementKey";
+
+        /**
+         * PROPOSED_INTEGRAL_TIME_KEY = "proposedIntegralTimeKey" - vorgeschlagene Nachstellzeit in s
+         */
+        public final static String PROPOSED_INTEGRAL_TIME_KEY = "proposedIntegralTimeKey";
+
+        /**
+         * PROPOSED_DERIVATIVE_TIME_KEY = "proposedDerivativeTimeKey" - vorgeschlagene Vorhaltzeit in s
+         */
+        public final static String PROPOSED_DERIVATIVE_TIME_KEY = "proposedDerivativeTimeKey";
+
+        /**
+         * status
+         */
+        private final Status status;
+
+        /**
+         * ultimateGain - kritische Verstaerkung (Anzeige wie enhancement)
+         */
+        private final BigDecimal ultimateGain;
+
+        /**
+         * ultimatePeriod - kritische Periode in s
+         */
+        private final BigDecimal ultimatePeriod;
+
+        /**
+         * enhancement - vorgeschlagene Verstaerkung (Anzeige wie an der Oberflaeche)
+         */
+        private final BigDecimal enhancement;
+
+        /**
+         * integralTime - vorgeschlagene Nachstellzeit in s
+         */
+        private final BigDecimal integralTime;
+
+        /**
+         * derivativeTime - vorgeschlagene Vorhaltzeit in s
+         */
+        private final BigDecimal derivativeTime;
+
+        /**
+         * Result(Status status) - Konstruktor ohne Messergebnis (z.B. RUNNING)...
+         * @param status
+         */
+        public Result(Status status)
+        {
+            this(status, 0.0, 0.0, ControlStrategy.Type.P, 1);
+        }
+
+        /**
+         * Result() - Konstruktor aus dem Messergebnis...
+         * @param status
+         * @param ultimateGain - kritische Verstaerkung (bezogen auf einen Impuls)
+         * @param ultimatePeriod - kritische Periode in s
+         * @param strategyType - Art des Reglers
+         * @param wheelSteps - Anzahl der Impulse des Gebers pro Umdrehung
+         */
+        Result(Status status, double ultimateGain, double ultimatePeriod, ControlStrategy.Type strategyType, int wheelSteps)
+        {
+            // Ziegler/Nichols (Verfahren der kritischen Verstaerkung)...
+            final double kp;
+            final double ti;
+            final double td;
+            switch (strategyType)
+            {
+                case PI:
+                    kp = 0.45 * ultimateGain;
+                    ti = ultimatePeriod / 1.2;
+                    td = 0.0;
+                    break;
+                case PID:
+                    kp = 0.6 * ultimateGain;
+                    ti = ultimatePeriod / 2.0;
+                    td = ultimatePeriod / 8.0;
+                    break;
+                default:
+                    kp = 0.5 * ultimateGain;
+                    ti = 0.0;
+                    td = 0.0;
+                    break;
+            }
+            this.status = (status != null)? status : Status.FAILED;
+            // Die Verstaerkung an der Oberflaeche ist auf eine Umdrehung bezogen...
+            this.ultimateGain = BigDecimal.valueOf(ultimateGain * wheelSteps).setScale(Model.SCALE_ENHANCEMENT, BigDecimal.ROUND_HALF_UP);
+            this.ultimatePeriod = BigDecimal.valueOf(ultimatePeriod).setScale(Model.SCALE_CYCLE_TIME, BigDecimal.ROUND_HALF_UP);
+            this.enhancement = BigDecimal.valueOf(kp * wheelSteps).setScale(Model.SCALE_ENHANCEMENT, BigDecimal.ROUND_HALF_UP);
+            this.integralTime = BigDecimal.valueOf(ti).setScale(Model.SCALE_TIME, BigDecimal.ROUND_HALF_UP);
+            this.derivativeTime = BigDecimal.valueOf(td).setScale(Model.SCALE_TIME, BigDecimal.ROUND_HALF_UP);
+        }
+
+        /**
+         * @return the status
+         */
+        public final Status getStatus()
+        {
+            return this.status;
+        }
+
+        /**
+         * @return the enhancement
+         */
+        public final BigDecimal getEnhancement()
+        {
+            return this.enhancement;
+        }
+
+        /**
+         * @return the integralTime
+         */
+        public final BigDecimal getIntegralTime()
+        {
+            return this.integralTime;
+        }
+
+        /**
+         * @return the derivativeTime
+         */
+        public final BigDecimal getDerivativeTime()
+        {
+            return this.derivativeTime;
+        }
+
+        /**
+         * getKeys() - liefert den Zugriff auf alle Attribute.
+         * @return String[]
+         */
+        public String[] getKeys()
+        {
+            return new String[] {AUTO_TUNE_STATUS_KEY,
+                                 ULTIMATE_GAIN_KEY,
+                                 ULTIMATE_PERIOD_KEY,
+                                 PROPOSED_ENHANCEMENT_KEY,
+                                 PROPOSED_INTEGRAL_TIME_KEY,
+                                 PROPOSED_DERIVATIVE_TIME_KEY};
+        }
+
+        /**
+         * getValue(String key) - Bereitstellung der Anzeige...
+         * @param key
+         * @return String-Anzeige
+         */
+        public final String getValue(String key)
+        {
+            if (AUTO_TUNE_STATUS_KEY.equals(key))
+            {
+                return this.status.toString();
+            }
+            if (ULTIMATE_GAIN_KEY.equals(key))
+            {
+                return this.ultimateGain.toString();
+            }
+            if (ULTIMATE_PERIOD_KEY.equals(key))
+            {
+                return this.ultimatePeriod.toString();
+            }
+            if (PROPOSED_ENHANCEMENT_KEY.equals(key))
+            {
+                return this.enhancement.toString();
+            }
+            if (PROPOSED_INTEGRAL_TIME_KEY.equals(key))
+            {
+                return this.integralTime.toString();
+            }
+            if (PROPOSED_DERIVATIVE_TIME_KEY.equals(key))
+            {
+                return this.derivativeTime.toString();
+            }
+            return null;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return new StringBuilder().append("[")
+                                      .append(this.status)
+                                      .append(" Ku=")
+                                      .append(this.ultimateGain)
+                                      .append(" Tu=")
+                                      .append(this.ultimatePeriod)
+                                      .append(" Kp=")
+                                      .append(this.enhancement)
+                                      .append(" Ti=")
+                                      .append(this.integralTime)
+                                      .append(" Td=")
+                                      .append(this.derivativeTime)
+                                      .append("]")
+                                      .toString();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Die Klasse RunStateMachine fuehrt den Betriebszustand (INIT, RUNNING,
+ * STOPPING, STOPPED, FAULT) der Regelung ohne Sperren.
+ * <p>
+ * Die Oberflaeche (EDT) aendert die Zustandsgroessen der Regelung (token,
+ * Lage, Zaehler...) nicht mehr selbst, sondern gibt ueber request() nur noch
+ * Kommandos (START, STOP, RESET) auf. Ob ein Kommando im aktuellen Zustand
+ * zulaessig ist, wird dabei geprueft. Der Regel-Thread uebernimmt die Kommandos
+ * zu Beginn des naechsten Zyklus (takeCommand()) und fuehrt die Uebergaenge
+ * mit compareAndSet() aus. Damit kann z.B. ein Reset nicht mehr mitten in
+ * einem Zyklus wirksam werden.
+ * </p>
+ * <p>
+ * Zustandsuebergaenge:
+ * <ul>
+ * <li>INIT, STOPPED, FAULT - START - RUNNING (im Regel-Thread)</li>
+ * <li>RUNNING - STOP - STOPPING (sofort) - STOPPED (im Regel-Thread)</li>
+ * <li>RUNNING, STOPPING - Ueberlauf, Ausfall des Taktes - FAULT</li>
+ * <li>INIT, STOPPED, FAULT - RESET - INIT, STOPPED, STOPPED (im Regel-Thread)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class RunStateMachine
+{
+    /**
+     * state - aktueller Zustand
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(State.INIT);
+
+    /**
+     * command - noch nicht uebernommenes Kommando (START, RESET), null: keines
+     */
+    private final AtomicReference<Command> command = new AtomicReference<>();
+
+    /**
+     * getState() - aktueller Zustand
+     * @return State
+     */
+    public State getState()
+    {
+        return this.state.get();
+    }
+
+    /**
+     * request(Command command) - Kommando aufgeben (Aufruf durch die Oberflaeche)...
+     * <p>
+     * STOP wirkt sofort (RUNNING => STOPPING) und verwirft ein noch nicht
+     * uebernommenes START. START und RESET werden zu Beginn des naechsten Zyklus
+     * uebernommen, ein noch nicht uebernommenes Kommando wird dabei ersetzt.
+     * </p>
+     * @param command
+     * @return true, wenn das Kommando im aktuellen Zustand zulaessig ist
+     */
+    public boolean request(Command command)
+    {
+        if (Command.STOP == command)
+        {
+            // STOP ist immer zulaessig (in FAULT, STOPPED... ohne Wirkung)...
+            this.command.compareAndSet(Command.START, null);
+            this.state.compareAndSet(State.RUNNING, State.STOPPING);
+            return true;
+        }
+        final State current = this.state.get();
+        if ((State.INIT != current) && (State.STOPPED != current) && (State.FAULT != current))
+        {
+            return false;
+        }
+        this.command.set(command);
+        return true;
+    }
+
+    /**
+     * takeCommand() - Kommando entnehmen (Aufruf im Regel-Thread zu Beginn des Zyklus)...
+     * @return Command oder null
+     */
+    public Command takeCommand()
+    {
+        return (this.command.get() != null)? this.command.getAndSet(null) : null;
+    }
+
+    /**
+     * compareAndSet(State expect, State update) - Zustandsuebergang...
+     * @param expect - erwarteter Zustand
+     * @param update - neuer Zustand
+     * @return true, wenn der Uebergang erfolgt ist
+     */
+    public boolean compareAndSet(State expect, State update)
+    {
+        return this.state.compareAndSet(expect, update);
+    }
+
+    /**
+     * fault() - Fehler (Ueberlauf, Ausfall des Taktes) aus RUNNING oder STOPPING...
+     * @return true, wenn der Zustand nach FAULT gewechselt ist
+     */
+    public boolean fault()
+    {
+        State current;
+        do
+        {
+            current = this.state.get();
+            if ((State.RUNNING != current) && (State.STOPPING != current))
+            {
+                return false;
+            }
+        }
+        while (!this.state.compareAndSet(current, State.FAULT));
+        return true;
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "RunStateMachine [state=" + this.state.get().name() + ", command=" + this.command.get() + "]";
+    }
+
+    /**
+     * State - Betriebszustand der Regelung...
+     */
+    public enum State
+    {
+        /**
+         * INIT("Init") - nach Programmstart
+         */
+        INIT("Init"),
+        /**
+         * RUNNING("Laeuft") - Kommunikation mit dem Arduino und Regelung aktiv
+         */
+        RUNNING("Laeuft"),
+        /**
+         * STOPPING("Stoppt") - Stop angefordert, Uebernahme im naechsten Zyklus
+         */
+        STOPPING("Stoppt"),
+        /**
+         * STOPPED("Gestoppt") - nach Stop, Motoren stehen
+         */
+        STOPPED("Gestoppt"),
+        /**
+         * FAULT("Fehler") - nach Ueberlauf oder Ausfall des Taktes, Motoren stehen
+         */
+        FAULT("Fehler");
+
+        /**
+         * state - textuelle Beschreibung
+         */
+        private final String state;
+
+        /**
+         * State - priv. Konstruktor
+         * @param state
+         */
+        private State(String state)
+        {
+            this.state = state;
+        }
+
+        /**
+         * getState()
+         * @return state
+         */
+        public String getState()
+        {
+            return this.state;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.state;
+        }
+    }
+
+    /**
+     * Command - Kommando der Oberflaeche...
+     */
+    public enum Command
+    {
+        /**
+         * START("Start") - Kommunikation mit dem Arduino beginnen
+         */
+        START("Start"),
+        /**
+         * STOP("Stop") - Kommunikation beenden, Motoren stoppen
+         */
+        STOP("Stop"),
+        /**
+         * RESET("Reset") - Lage, token und Zustandsgroessen zuruecksetzen
+         */
+        RESET("Reset");
+
+        /**
+         * command - textuelle Beschreibung
+         */
+        private final String command;
+
+        /**
+         * Command - priv. Konstruktor
+         * @param command
+         */
+        private Command(String command)
+        {
+            this.command = command;
+        }
+
+        /**
+         * getCommand()
+         * @return command
+         */
+        public String getCommand()
+        {
+            return this.command;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.command;
+        }
+    }
+}
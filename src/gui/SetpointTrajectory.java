@@ -0,0 +1,213 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.Arrays;
+
+/**
+ * Die Klasse SetpointTrajectory fuehrt die Sollwerte der Achsen ruckbegrenzt
+ * (S-Kurve) vom bisherigen auf den neuen Wert, anstatt die Pwm-Vorgabe
+ * sprunghaft zu aendern (Stromspitzen, grosse Lageabweichung im Gleichlauf).
+ * <p>
+ * Die Rampe besteht aus drei Abschnitten: Aufbau der Aenderungsrate mit
+ * begrenztem Ruck (MAX_JERK), konstante Aenderungsrate (MAX_RATE) und Abbau
+ * der Aenderungsrate mit begrenztem Ruck. Bei kleinen Aenderungen entfaellt
+ * der mittlere Abschnitt.
+ * </p>
+ * <p>
+ * Aendert sich ein Sollwert, so wird die Rampe einmalig fuer alle Zyklen
+ * vorausberechnet und in einer Tabelle (double[], einmalig angelegt) je
+ * Achse abgelegt. Im Regelzyklus wird dann nur noch der naechste Eintrag
+ * gelesen. Die Rampe startet beim aktuell ausgegebenen Sollwert, damit
+ * ist auch eine Aenderung waehrend einer laufenden Rampe stetig.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class SetpointTrajectory
+{
+    /**
+     * MAX_RATE = 2.0 - maximale Aenderung des Sollwertes pro s
+     * (Vollausschlag -1.0 ... +1.0 in etwa 1 s)
+     */
+    public final static double MAX_RATE = 2.0;
+
+    /**
+     * MAX_JERK = 8.0 - maximaler Ruck (Aenderung der Aenderungsrate pro s)
+     */
+    public final static double MAX_JERK = 8.0;
+
+    /**
+     * MAX_DISTANCE = 2.0 - groesste moegliche Sollwertaenderung (-1.0 => +1.0)
+     */
+    private final static double MAX_DISTANCE = 2.0;
+
+    /**
+     * cycleTime - Zykluszeit (Abstand der Tabelleneintraege) in s
+     */
+    private final double cycleTime;
+
+    /**
+     * tables[][] - vorausberechnete Rampe je Achse
+     */
+    private final double[][] tables;
+
+    /**
+     * lengths[] - Anzahl der gueltigen Eintraege der Rampe je Achse
+     */
+    private final int[] lengths;
+
+    /**
+     * indices[] - naechster Eintrag der Rampe je Achse
+     */
+    private final int[] indices;
+
+    /**
+     * targets[] - Ziel der Rampe (zuletzt erkannter Sollwert) je Achse
+     */
+    private final double[] targets;
+
+    /**
+     * references[] - zuletzt ausgegebener Sollwert je Achse
+     */
+    private final double[] references;
+
+    /**
+     * isResetRequested - Zuruecksetzen an der naechsten Zyklusgrenze...
+     */
+    private volatile boolean isResetRequested = false;
+
+    /**
+     * SetpointTrajectory(int axes, double cycleTime)
+     * @param axes - Anzahl der Achsen
+     * @param cycleTime - Zykluszeit in s
+     */
+    public SetpointTrajectory(int axes, double cycleTime)
+    {
+        this.cycleTime = (cycleTime > 0.0)? cycleTime : PositionController.CYCLE_TIME;
+        // Laengste Rampe: Vollausschlag mit konstanter Aenderungsrate plus Auf-/Abbau...
+        final int capacity = (int) Math.ceil((MAX_DISTANCE / MAX_RATE + MAX_RATE / MAX_JERK) / this.cycleTime) + 1;
+        this.tables = new double[axes][capacity];
+        this.lengths = new int[axes];
+        this.indices = new int[axes];
+        this.targets = new double[axes];
+        this.references = new double[axes];
+    }
+
+    /**
+     * reset() - Sollwerte zu Beginn des naechsten Zyklus auf 0.0 setzen,
+     * ein anstehender Sollwert wird dann wieder ueber eine Rampe angefahren...
+     */
+    public void reset()
+    {
+        this.isResetRequested = true;
+    }
+
+    /**
+     * update(Axes axes, boolean isEnabled) - Sollwerte des Zyklus ermitteln...
+     * <p>
+     * Aus den Vorgaben value[] werden die Sollwerte reference[] der Achsen.
+     * Nur bei einer Aenderung der Vorgabe wird die Rampe neu berechnet.
+     * </p>
+     * @param axes - Zustandsgroessen der Achsen (value[] => reference[])
+     * @param isEnabled - Rampe aktiv? (aus den Parametern des Zyklus)
+     */
+    public void update(Axes axes, boolean isEnabled)
+    {
+        final int count = Math.min(axes.getCount(), this.targets.length);
+        if (this.isResetRequested)
+        {
+            this.isResetRequested = false;
+            Arrays.fill(this.lengths, 0);
+            Arrays.fill(this.indices, 0);
+            Arrays.fill(this.targets, 0.0);
+            Arrays.fill(this.references, 0.0);
+        }
+        for (int axis = 0; axis < count; axis++)
+        {
+            final double target = axes.value[axis];
+            if (!isEnabled)
+            {
+                // Ohne Rampe: Sollwert direkt uebernehmen...
+                this.lengths[axis] = 0;
+                this.targets[axis] = target;
+            }
+            else if (target != this.targets[axis])
+            {
+                this.targets[axis] = target;
+                compute(axis, this.references[axis], target);
+            }
+            final int index = this.indices[axis];
+            final double reference = (index < this.lengths[axis])? this.tables[axis][index] : target;
+            this.indices[axis] = index + 1;
+            this.references[axis] = reference;
+            axes.reference[axis] = reference;
+        }
+    }
+
+    /**
+     * isRunning(int axis) - Rampe der Achse noch nicht abgeschlossen?
+     * @param axis - Index der Achse
+     * @return boolean
+     */
+    public boolean isRunning(int axis)
+    {
+        return this.indices[axis] < this.lengths[axis];
+    }
+
+    /**
+     * compute(int axis, double start, double end) - Rampe vorausberechnen...
+     * <p>
+     * Je Zyklus ein Eintrag, der letzte Eintrag ist der Zielwert.
+     * </p>
+     * @param axis - Index der Achse
+     * @param start - aktueller Sollwert
+     * @param end - neuer Sollwert
+     */
+    private void compute(int axis, double start, double end)
+    {
+        final double[] table = this.tables[axis];
+        final double distance = Math.abs(end - start);
+        final double sign = Math.signum(end - start);
+        // jerkTime: Dauer Auf-/Abbau der Aenderungsrate, rateTime: Dauer konstante Rate...
+        final double jerkTime;
+        final double rateTime;
+        if (distance >= MAX_RATE * MAX_RATE / MAX_JERK)
+        {
+            jerkTime = MAX_RATE / MAX_JERK;
+            rateTime = distance / MAX_RATE - jerkTime;
+        }
+        else
+        {
+            // Die maximale Aenderungsrate wird nicht erreicht...
+            jerkTime = Math.sqrt(distance / MAX_JERK);
+            rateTime = 0.0;
+        }
+        final double rate = MAX_JERK * jerkTime;
+        final double totalTime = 2.0 * jerkTime + rateTime;
+        final int length = Math.min(table.length, Math.max(1, (int) Math.ceil(totalTime / this.cycleTime)));
+        for (int index = 0; index < length - 1; index++)
+        {
+            final double time = (index + 1) * this.cycleTime;
+            final double covered;
+            if (time < jerkTime)
+            {
+                covered = 0.5 * MAX_JERK * time * time;
+            }
+            else if (time < jerkTime + rateTime)
+            {
+                covered = 0.5 * rate * jerkTime + rate * (time - jerkTime);
+            }
+            else
+            {
+                final double remaining = Math.max(0.0, totalTime - time);
+                covered = distance - 0.5 * MAX_JERK * remaining * remaining;
+            }
+            table[index] = start + sign * covered;
+        }
+        table[length - 1] = end;
+        this.lengths[axis] = length;
+        this.indices[axis] = 0;
+    }
+}
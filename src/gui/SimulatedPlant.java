@@ -0,0 +1,118 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse SimulatedPlant bildet die Regelstrecke (zwei Lego-Motoren mit
+ * Impulsgeber) vereinfacht nach, damit z.B. das Autotuning auch ausserhalb
+ * des Raspi ablaufen kann.
+ * <p>
+ * Jeder Motor wird als Verzoegerungsglied 1. Ordnung mit Totzone
+ * (Haftreibung/Pwm-Totzone) modelliert. Die Stellgroesse wirkt erst im
+ * folgenden Zyklus (Totzeit: Impulse vom Arduino, dann Pwm-Ausgabe). Die
+ * Motoren unterscheiden sich leicht in der Verstaerkung, damit sich ohne
+ * Regelung eine Lagedifferenz aufbaut.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class SimulatedPlant
+{
+    /**
+     * TIME_CONSTANT = 0.1 - mechanische Zeitkonstante der Motoren in s
+     */
+    public final static double TIME_CONSTANT = 0.1;
+
+    /**
+     * DEAD_BAND = 0.05 - Totzone der Pwm-Vorgabe (Motor dreht nicht)
+     */
+    public final static double DEAD_BAND = 0.05;
+
+    /**
+     * GAIN_MB = 0.9 - relative Verstaerkung Motor B (Motor A: 1.0)
+     */
+    public final static double GAIN_MB = 0.9;
+
+    /**
+     * maxCountsPerSecond - Impulse pro s bei Stellgroesse 1.0
+     */
+    private final double maxCountsPerSecond;
+
+    /**
+     * speedMA/speedMB - Drehzahl in Impulsen pro s
+     */
+    private double speedMA = 0.0;
+    private double speedMB = 0.0;
+
+    /**
+     * positionMA/positionMB - Lage in Impulsen (nicht quantisiert)
+     */
+    private double positionMA = 0.0;
+    private double positionMB = 0.0;
+
+    /**
+     * pendingMA/pendingMB - Stellgroesse, wirksam im naechsten Zyklus (Totzeit)
+     */
+    private double pendingMA = 0.0;
+    private double pendingMB = 0.0;
+
+    /**
+     * SimulatedPlant(double maxRpm, double rpmConst)
+     * @param maxRpm - Nenndrehzahl in U/min bei Stellgroesse 1.0
+     * @param rpmConst - Impulse pro Umdrehung / 60
+     */
+    public SimulatedPlant(double maxRpm, double rpmConst)
+    {
+        this.maxCountsPerSecond = maxRpm * rpmConst;
+    }
+
+    /**
+     * step(double outputMA, double outputMB, double cycleTime) - ein Zyklus...
+     * @param outputMA - Stellgroesse Motor A (-1.0 ... +1.0)
+     * @param outputMB - Stellgroesse Motor B (-1.0 ... +1.0)
+     * @param cycleTime - Zykluszeit in s
+     */
+    public void step(double outputMA, double outputMB, double cycleTime)
+    {
+        final double factor = cycleTime / (TIME_CONSTANT + cycleTime);
+        this.speedMA += (this.maxCountsPerSecond * deadBand(this.pendingMA) - this.speedMA) * factor;
+        this.speedMB += (this.maxCountsPerSecond * GAIN_MB * deadBand(this.pendingMB) - this.speedMB) * factor;
+        this.positionMA += this.speedMA * cycleTime;
+        this.positionMB += this.speedMB * cycleTime;
+        this.pendingMA = outputMA;
+        this.pendingMB = outputMB;
+    }
+
+    /**
+     * deadBand(double output) - Totzone der Stellgroesse...
+     * @param output
+     * @return wirksame Stellgroesse
+     */
+    private static double deadBand(double output)
+    {
+        if (Math.abs(output) <= DEAD_BAND)
+        {
+            return 0.0;
+        }
+        return (output > 0.0)? (output - DEAD_BAND) / (1.0 - DEAD_BAND) : (output + DEAD_BAND) / (1.0 - DEAD_BAND);
+    }
+
+    /**
+     * getNumberMA() - Lage Motor A in (ganzen) Impulsen
+     * @return long
+     */
+    public long getNumberMA()
+    {
+        return (long) Math.floor(this.positionMA);
+    }
+
+    /**
+     * getNumberMB() - Lage Motor B in (ganzen) Impulsen
+     * @return long
+     */
+    public long getNumberMB()
+    {
+        return (long) Math.floor(this.positionMB);
+    }
+}
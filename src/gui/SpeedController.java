@@ -0,0 +1,173 @@
+/**
+ *
+ */
+package gui;
+
+/**
+ * Die Klasse SpeedController realisiert die unterlagerte Drehzahlregelung
+ * eines Motors (innerer Regelkreis der Kaskade).
+ * <p>
+ * Der Sollwert (-1.0 ... +1.0) wird ueber die Nenndrehzahl in einen
+ * Drehzahl-Sollwert umgerechnet. Die Ist-Drehzahl ergibt sich aus dem
+ * Impulszuwachs je Zyklus. Die Stellgroesse setzt sich zusammen aus der
+ * Vorsteuerung (dem Sollwert selbst) und dem Ausgang eines PI-Reglers
+ * auf die Drehzahldifferenz. Ohne Drehzahldifferenz verhaelt sich der
+ * Motor damit wie bisher ungeregelt.
+ * </p>
+ * <p>
+ * Der uebergeordnete Lageregler (PositionController) korrigiert dann
+ * nicht mehr direkt die Pwm-Vorgabe, sondern den Drehzahl-Sollwert.
+ * </p>
+ * <p>
+ * Anti-Windup: Begrenzt wird die gesamte Stellgroesse (Vorsteuerung und
+ * PI-Anteil). Liegt sie in der Begrenzung, so wird der I-Anteil auf die
+ * Begrenzung zurueckgerechnet (Back-Calculation). Ohne Drehzahlregelung wird
+ * der PI-Regler nur nachgefuehrt (Ausgang 0.0), das Zuschalten erfolgt damit
+ * stossfrei.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class SpeedController
+{
+    /**
+     * KP = 0.5 - Verstaerkung des Drehzahlreglers (bezogen auf die Nenndrehzahl)
+     */
+    public final static double KP = 0.5;
+
+    /**
+     * TI = 0.5 - Nachstellzeit des Drehzahlreglers in s
+     */
+    public final static double TI = 0.5;
+
+    /**
+     * FILTER_TIME = 0.1 - Zeitkonstante (in s) der Glaettung der Ist-Drehzahl...
+     * <p>
+     * Bei wenigen Impulsen pro Umdrehung ist der Impulszuwachs je Zyklus
+     * stark quantisiert und muss geglaettet werden.
+     * </p>
+     */
+    public final static double FILTER_TIME = 0.1;
+
+    /**
+     * rpmConst - Impulse pro Umdrehung / 60 (vgl. Model.RPM_CONST),
+     * Impulse/s dividiert durch rpmConst ergibt die Drehzahl in U/min
+     */
+    private final double rpmConst;
+
+    /**
+     * maxRpm - Nenndrehzahl in U/min (entspricht dem Sollwert 1.0)
+     */
+    private final double maxRpm;
+
+    /**
+     * strategy - PI-Regler auf die (auf maxRpm bezogene) Drehzahldifferenz
+     */
+    private final PIControlStrategy strategy = new PIControlStrategy(KP, TI);
+
+    /**
+     * speed - geglaettete Ist-Drehzahl in U/min (mit Vorzeichen)
+     */
+    private double speed = 0.0;
+
+    /**
+     * output - letzte Stellgroesse (-1.0 ... +1.0)
+     */
+    private double output = 0.0;
+
+    /**
+     * SpeedController(double rpmConst, double maxRpm)
+     * @param rpmConst - Impulse pro Umdrehung / 60
+     * @param maxRpm - Nenndrehzahl in U/min
+     */
+    SpeedController(double rpmConst, double maxRpm)
+    {
+        this.rpmConst = (rpmConst > 0.0)? rpmConst : 1.0;
+        this.maxRpm = (maxRpm > 0.0)? maxRpm : 1.0;
+    }
+
+    /**
+     * control(double value, long increments, double cycleTime, boolean isSpeedControlled) - Drehzahlregelung...
+     * @param value - Sollwert (-1.0 ... +1.0), ggf. durch den Lageregler korrigiert
+     * @param increments - Impulszuwachs im letzten Zyklus (mit Vorzeichen)
+     * @param cycleTime - Zykluszeit in s
+     * @param isSpeedControlled - mit Drehzahlregelung? (sonst wird der PI-Regler nur nachgefuehrt)
+     * @return Stellgroesse (-1.0 ... +1.0)
+     */
+    public double control(double value, long increments, double cycleTime, boolean isSpeedControlled)
+    {
+        return controlRate(value, (cycleTime > 0.0)? (increments / cycleTime) : 0.0, cycleTime, isSpeedControlled);
+    }
+
+    /**
+     * controlRate(double value, double rate, double cycleTime, boolean isSpeedControlled) - Drehzahlregelung
+     * mit der Impulsrate aus den Abtastwerten des Arduino (vgl. EncoderRate)...
+     * @param value - Sollwert (-1.0 ... +1.0), ggf. durch den Lageregler korrigiert
+     * @param rate - Impulsrate in Impulse/s (mit Vorzeichen)
+     * @param cycleTime - Zykluszeit in s
+     * @param isSpeedControlled - mit Drehzahlregelung? (sonst wird der PI-Regler nur nachgefuehrt)
+     * @return Stellgroesse (-1.0 ... +1.0)
+     */
+    public double controlRate(double value, double rate, double cycleTime, boolean isSpeedControlled)
+    {
+        if (cycleTime > 0.0)
+        {
+            // Ist-Drehzahl in U/min aus der Impulsrate...
+            final double rpm = rate / this.rpmConst;
+            this.speed += (rpm - this.speed) * cycleTime / (FILTER_TIME + cycleTime);
+            // Drehzahldifferenz bezogen auf die Nenndrehzahl...
+            final double error = value - this.speed / this.maxRpm;
+            if (isSpeedControlled)
+            {
+                final double unlimited = value + this.strategy.control(error, cycleTime);
+                this.output = ControlStrategy.limit(unlimited);
+                if (this.output != unlimited)
+                {
+                    // Anti-Windup: I-Anteil so zurueckrechnen, dass Vorsteuerung und 
+                    // PI-Anteil zusammen genau die Begrenzung ergeben...
+                    this.strategy.transfer(this.output - value, error, 1.0);
+                }
+            }
+            else
+            {
+                // Ohne Drehzahlregelung: PI-Regler mit dem Ausgang 0.0 nachfuehren...
+                this.strategy.transfer(0.0, error, 1.0);
+                this.output = ControlStrategy.limit(value);
+            }
+        }
+        else
+        {
+            // Erster Zyklus (noch keine Zykluszeit): nur Vorsteuerung...
+            this.output = ControlStrategy.limit(value);
+        }
+        return this.output;
+    }
+
+    /**
+     * reset() - Zuruecksetzen von Drehzahl und I-Anteil...
+     */
+    public void reset()
+    {
+        this.strategy.reset(0.0);
+        this.speed = 0.0;
+        this.output = 0.0;
+    }
+
+    /**
+     * getSpeed() - geglaettete Ist-Drehzahl
+     * @return Drehzahl in U/min
+     */
+    public double getSpeed()
+    {
+        return this.speed;
+    }
+
+    /**
+     * getOutput() - letzte Stellgroesse
+     * @return Stellgroesse (-1.0 ... +1.0)
+     */
+    public double getOutput()
+    {
+        return this.output;
+    }
+}
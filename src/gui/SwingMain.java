@@ -89,7 +89,7 @@ public class SwingMain
         }
         // *** Testausgabe... ***
         // System.out.println( javax.swing.UIManager.getSystemLookAndFeelClassName() );
-        final Model model = new Model();
+        final Model model = new Model(properties);
         SwingWindow swingWindow = new SwingWindow(model);
         //
         this.iconImageFile = properties.getProperty(SwingMain.ICON_IMAGE_KEY, "");
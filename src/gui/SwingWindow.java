@@ -72,6 +72,16 @@ public class SwingWindow extends JFrame implements View
      */
     private final java.util.Map<String, JComboBox<BigDecimal>> comboBoxMap = new java.util.TreeMap<>();
     
+    /**
+     * strategyComboBox - Auswahl der Art des Reglers (value vom Typ ControlStrategy.Type)...
+     */
+    private JComboBox<ControlStrategy.Type> strategyComboBox = null;
+    
+    /**
+     * positionComboBox - Auswahl der Zielposition (value vom Typ Long)...
+     */
+    private JComboBox<Long> positionComboBox = null;
+    
     /**
      * checkBoxMap - nimmt die Controls vom Typ JCheckBox auf...
      */
@@ -105,17 +115,39 @@ public class SwingWindow extends JFrame implements View
         {TEXT_FIELD,    Data.COUNTER_KEY,               "Counter"             },        
         {TEXT_FIELD,    Data.CYCLE_TIME_KEY,            "Zyklusdauer (in s)"  },
         {TEXT_FIELD,    Data.TOKEN_KEY,                 "Token"               },
+        {TEXT_FIELD,    Data.OVERRUNS_KEY,              "Überläufe"           },
+        {TEXT_FIELD,    Model.TRIGGER_STATUS_KEY,       "Takt"                },
         {CHECK_BOX,     Model.DESTINATION_SIMULTAN_KEY, "Sollwerte Motor A/B simultan?" },
         {COMBO_BOX,     Model.VALUE_MA_KEY,             "Sollwert Motor A"    },
         {COMBO_BOX,     Model.VALUE_MB_KEY,             "Sollwert Motor B"    },
         {TEXT_FIELD,    Data.NUMBER_MA_KEY,             "Position Motor A"    },
         {TEXT_FIELD,    Data.NUMBER_MB_KEY,             "Position Motor B"    },
+        {TEXT_FIELD,    Data.SPEED_MA_KEY,              "Drehzahl Motor A (in U/min)"},
+        {TEXT_FIELD,    Data.SPEED_MB_KEY,              "Drehzahl Motor B (in U/min)"},
         {CHECK_BOX,     Model.CONTROL_MA_KEY,           "Reglerausgang auf Motor A?"},
         {TEXT_FIELD,    Data.OUTPUT_MA_KEY,             "Stellgroesse Motor A"},
         {CHECK_BOX,     Model.CONTROL_MB_KEY,           "Reglerausgang auf Motor B?"},
         {TEXT_FIELD,    Data.OUTPUT_MB_KEY,             "Stellgroesse Motor B"},
         {CHECK_BOX,     Model.CONTROL_KEY,              "Mit Regelung?"       },
-        {COMBO_BOX,     Model.ENHANCEMENT_KEY,          "Verstärkung"         }
+        {CHECK_BOX,     Model.SPEED_CONTROL_KEY,        "Mit Drehzahlregelung?"},
+        {CHECK_BOX,     Model.RAMP_KEY,                 "Mit Sollwert-Rampe?" },
+        {CHECK_BOX,     Model.DEAD_TIME_KEY,            "Mit Totzeitkompensation?"},
+        {COMBO_BOX,     Model.ENHANCEMENT_KEY,          "Verstärkung"         },
+        {COMBO_BOX,     Model.STRATEGY_KEY,             "Regler"              },
+        {COMBO_BOX,     Model.INTEGRAL_TIME_KEY,        "Nachstellzeit (in s)"},
+        {COMBO_BOX,     Model.DERIVATIVE_TIME_KEY,      "Vorhaltzeit (in s)"  },
+        {COMBO_BOX,     Model.TARGET_POSITION_KEY,      "Zielposition (in Impulsen)"},
+        {TEXT_FIELD,    Model.MOVE_STATUS_KEY,          "Positionierung"      },
+        {TEXT_FIELD,    CycleStatistics.Summary.PERIOD_KEY,  "Periode p50/p99/max (in ms)"},
+        {TEXT_FIELD,    CycleStatistics.Summary.DISPATCH_KEY, "Flanke-Zyklus p50/p99/max (in ms)"},
+        {TEXT_FIELD,    CycleStatistics.Summary.LATENCY_KEY, "Flanke-Pwm p50/p99/max (in ms)"},
+        {TEXT_FIELD,    CycleStatistics.Summary.I2C_KEY,     "I2C-Arduino p50/p99/max (in ms)"},
+        {TEXT_FIELD,    RelayAutoTuner.Result.AUTO_TUNE_STATUS_KEY,         "Autotuning"                     },
+        {TEXT_FIELD,    RelayAutoTuner.Result.ULTIMATE_GAIN_KEY,            "Kritische Verstärkung"          },
+        {TEXT_FIELD,    RelayAutoTuner.Result.ULTIMATE_PERIOD_KEY,          "Kritische Periode (in s)"       },
+        {TEXT_FIELD,    RelayAutoTuner.Result.PROPOSED_ENHANCEMENT_KEY,     "Vorschlag Verstärkung"          },
+        {TEXT_FIELD,    RelayAutoTuner.Result.PROPOSED_INTEGRAL_TIME_KEY,   "Vorschlag Nachstellzeit (in s)" },
+        {TEXT_FIELD,    RelayAutoTuner.Result.PROPOSED_DERIVATIVE_TIME_KEY, "Vorschlag Vorhaltzeit (in s)"   }
     };
     
     /**
@@ -138,6 +170,21 @@ public class SwingWindow extends JFrame implements View
      */
     private final JButton resetButton = new JButton("Reset");
     
+    /**
+     * Autotuning-Button... startet den Relais-Versuch
+     */
+    private final JButton autoTuneButton = new JButton("Autotuning");
+    
+    /**
+     * Positionieren-Button... startet die Fahrt auf die Zielposition
+     */
+    private final JButton moveButton = new JButton("Positionieren");
+    
+    /**
+     * Statistik-Button... Ausgabe der Zeitmessungen ins Log
+     */
+    private final JButton statisticsButton = new JButton("Statistik");
+    
     /**
      * Ende-Button... beendet die Anwendung
      */
@@ -150,6 +197,9 @@ public class SwingWindow extends JFrame implements View
     { 
         startButton,
         stopButton,
+        autoTuneButton,
+        moveButton,
+        statisticsButton,
         resetButton,
         endButton
     };
@@ -191,6 +241,9 @@ public class SwingWindow extends JFrame implements View
         this.startButton.setName(Model.NAME_START_BUTTON);
         this.stopButton.setName(Model.NAME_STOP_BUTTON);
         this.resetButton.setName(Model.NAME_RESET_BUTTON);
+        this.autoTuneButton.setName(Model.NAME_AUTO_TUNE_BUTTON);
+        this.moveButton.setName(Model.NAME_MOVE_BUTTON);
+        this.statisticsButton.setName(Model.NAME_STATISTICS_BUTTON);
         this.endButton.setName(Model.NAME_END_BUTTON);
     }
 
@@ -293,10 +346,17 @@ public class SwingWindow extends JFrame implements View
                             });                            
                         } // end() COMBO_BOX.
                         
-                        if (COMBO_BOX.equals(controlType) && Model.ENHANCEMENT_KEY.equals(controlId))
+                        if (COMBO_BOX.equals(controlType) && Model.ENHANCEMENT_KEY.equals(controlId)
+                         || COMBO_BOX.equals(controlType) && Model.INTEGRAL_TIME_KEY.equals(controlId)
+                         || COMBO_BOX.equals(controlType) && Model.DERIVATIVE_TIME_KEY.equals(controlId))
                         {
-                            // Jetzt die Combobox mit den moeglichen Regler-Verstaerkungen instanziieren...
-                            JComboBox<BigDecimal> enhancementsComboBox = new JComboBox<>(Model.ENHANCEMENTS);
+                            // Jetzt die Combobox mit den moeglichen Regler-Verstaerkungen 
+                            // (bzw. Nachstell-/Vorhaltzeiten) instanziieren...
+                            final BigDecimal[] values = Model.ENHANCEMENT_KEY.equals(controlId)? Model.ENHANCEMENTS 
+                                                      : (Model.INTEGRAL_TIME_KEY.equals(controlId)? Model.INTEGRAL_TIMES : Model.DERIVATIVE_TIMES);
+                            final int selectedIndex = Model.ENHANCEMENT_KEY.equals(controlId)? Model.SELECTED_ENHANCEMENTS_INDEX 
+                                                    : (Model.INTEGRAL_TIME_KEY.equals(controlId)? Model.SELECTED_INTEGRAL_TIMES_INDEX : Model.SELECTED_DERIVATIVE_TIMES_INDEX);
+                            JComboBox<BigDecimal> enhancementsComboBox = new JComboBox<>(values);
                             enhancementsComboBox.setName(controlId);
                             enhancementsComboBox.setMaximumSize(new Dimension(100, enhancementsComboBox.getMinimumSize().height));
                             this.comboBoxMap.put(controlId, enhancementsComboBox); 
@@ -305,7 +365,7 @@ public class SwingWindow extends JFrame implements View
                             centerPanel.add(controlPanel);
                             
                             // Selektion des Eintrages mit BigDecimal.ZERO...
-                            enhancementsComboBox.setSelectedIndex(Model.SELECTED_ENHANCEMENTS_INDEX);
+                            enhancementsComboBox.setSelectedIndex(selectedIndex);
                             
                             enhancementsComboBox.addActionListener(new ActionListener() 
                             {
@@ -321,7 +381,64 @@ public class SwingWindow extends JFrame implements View
                             });
                         }
                         
+                        if (COMBO_BOX.equals(controlType) && Model.TARGET_POSITION_KEY.equals(controlId))
+                        {
+                            // Jetzt die Combobox mit den Zielpositionen instanziieren...
+                            JComboBox<Long> targetComboBox = new JComboBox<>(Model.TARGET_POSITIONS);
+                            targetComboBox.setName(controlId);
+                            targetComboBox.setMaximumSize(new Dimension(100, targetComboBox.getMinimumSize().height));
+                            this.positionComboBox = targetComboBox; 
+                            controlPanel.add(targetComboBox);
+                            controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                            centerPanel.add(controlPanel);
+                            
+                            // Selektion der Position 0...
+                            targetComboBox.setSelectedIndex(Model.SELECTED_TARGET_POSITIONS_INDEX);
+                            
+                            targetComboBox.addActionListener(new ActionListener() 
+                            {
+                                @Override
+                                public void actionPerformed(ActionEvent event)
+                                {
+                                    JComboBox<?> source = (JComboBox<?>)event.getSource();   
+                                    logger.info(source.getName() + ": " + event.getActionCommand());   
+                                    
+                                    actionCommandDelegate(event);
+                                }
+                            });
+                        }
+                        
+                        if (COMBO_BOX.equals(controlType) && Model.STRATEGY_KEY.equals(controlId))
+                        {
+                            // Jetzt die Combobox mit der Art des Reglers (P, PI, PID) instanziieren...
+                            JComboBox<ControlStrategy.Type> typeComboBox = new JComboBox<>(ControlStrategy.Type.values());
+                            typeComboBox.setName(controlId);
+                            typeComboBox.setMaximumSize(new Dimension(100, typeComboBox.getMinimumSize().height));
+                            this.strategyComboBox = typeComboBox; 
+                            controlPanel.add(typeComboBox);
+                            controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                            centerPanel.add(controlPanel);
+                            
+                            // Selektion des P-Reglers...
+                            typeComboBox.setSelectedItem(ControlStrategy.Type.P);
+                            
+                            typeComboBox.addActionListener(new ActionListener() 
+                            {
+                                @Override
+                                public void actionPerformed(ActionEvent event)
+                                {
+                                    JComboBox<?> source = (JComboBox<?>)event.getSource();   
+                                    logger.info(source.getName() + ": " + event.getActionCommand());   
+                                    
+                                    actionCommandDelegate(event);
+                                }
+                            });
+                        }
+                        
                         if (CHECK_BOX.equals(controlType) && Model.CONTROL_KEY.equals(controlId)
+                         || CHECK_BOX.equals(controlType) && Model.SPEED_CONTROL_KEY.equals(controlId)
+                         || CHECK_BOX.equals(controlType) && Model.RAMP_KEY.equals(controlId)
+                         || CHECK_BOX.equals(controlType) && Model.DEAD_TIME_KEY.equals(controlId)
                          || CHECK_BOX.equals(controlType) && Model.DESTINATION_SIMULTAN_KEY.equals(controlId)
                          || CHECK_BOX.equals(controlType) && Model.CONTROL_MA_KEY.equals(controlId)
                          || CHECK_BOX.equals(controlType) && Model.CONTROL_MB_KEY.equals(controlId))                                
@@ -427,10 +544,38 @@ public class SwingWindow extends JFrame implements View
             }
         }
         
+        if (Model.AUTO_TUNE_KEY.equals(propertyName) && (newValue instanceof RelayAutoTuner.Result))
+        {
+            final RelayAutoTuner.Result result = (RelayAutoTuner.Result) newValue;
+            for( String key: result.getKeys())
+            {
+                if (this.textComponentMap.containsKey(key))
+                {
+                    final JTextComponent textComponent = this.textComponentMap.get(key);
+                    textComponent.setText(result.getValue(key));
+                }
+            }
+        }
+        
+        if (Model.STATISTICS_KEY.equals(propertyName) && (newValue instanceof CycleStatistics.Summary))
+        {
+            final CycleStatistics.Summary summary = (CycleStatistics.Summary) newValue;
+            for( String key: summary.getKeys())
+            {
+                if (this.textComponentMap.containsKey(key))
+                {
+                    final JTextComponent textComponent = this.textComponentMap.get(key);
+                    textComponent.setText(summary.getValue(key));
+                }
+            }
+        }
+        
         // ComboBox...
         if (Model.VALUE_MA_KEY.equals(propertyName) 
          || Model.VALUE_MB_KEY.equals(propertyName)
-         || Model.ENHANCEMENT_KEY.equals(propertyName))
+         || Model.ENHANCEMENT_KEY.equals(propertyName)
+         || Model.INTEGRAL_TIME_KEY.equals(propertyName)
+         || Model.DERIVATIVE_TIME_KEY.equals(propertyName))
         {
             // propertyChange vom Model her mit VALUE_MA_KEY oder VALUE_MB_KEY...
             final BigDecimal newData = (BigDecimal) newValue;
@@ -444,6 +589,33 @@ public class SwingWindow extends JFrame implements View
                 logger.debug(propertyName + ": " + newValue);
             }
         }
+        if (Model.TARGET_POSITION_KEY.equals(propertyName) && (newValue instanceof Long))
+        {
+            if (this.positionComboBox != null)
+            {
+                this.positionComboBox.setSelectedItem(newValue);
+                logger.debug(propertyName + ": " + newValue);
+            }
+        }
+        
+        if ((Model.MOVE_STATUS_KEY.equals(propertyName) && (newValue instanceof MotionPlanner.Status))
+         || (Model.TRIGGER_STATUS_KEY.equals(propertyName) && (newValue instanceof TriggerWatchdog.Status)))
+        {
+            if (this.textComponentMap.containsKey(propertyName))
+            {
+                final JTextComponent textComponent = this.textComponentMap.get(propertyName);
+                textComponent.setText(newValue.toString());
+            }
+        }
+        
+        if (Model.STRATEGY_KEY.equals(propertyName) && (newValue instanceof ControlStrategy.Type))
+        {
+            if (this.strategyComboBox != null)
+            {
+                this.strategyComboBox.setSelectedItem(newValue);
+                logger.debug(propertyName + ": " + newValue);
+            }
+        }
         if (this.isDestinationSimultan && Model.VALUE_MA_KEY.equals(propertyName))
         {
             if (this.comboBoxMap.containsKey(propertyName))
@@ -466,7 +638,10 @@ public class SwingWindow extends JFrame implements View
         }
         
         if (Model.DESTINATION_SIMULTAN_KEY.equals(propertyName)
-         || Model.CONTROL_KEY.equals(propertyName))
+         || Model.CONTROL_KEY.equals(propertyName)
+         || Model.SPEED_CONTROL_KEY.equals(propertyName)
+         || Model.RAMP_KEY.equals(propertyName)
+         || Model.DEAD_TIME_KEY.equals(propertyName))
         {
             final boolean isSelected = Boolean.TRUE.equals(newValue);
             
@@ -507,6 +682,12 @@ public class SwingWindow extends JFrame implements View
             
             this.stopButton.setEnabled(guiStatus == Model.GuiStatus.START);
             
+            // Autotuning nur im laufenden Betrieb (nach dem Start-Button)...
+            this.autoTuneButton.setEnabled(guiStatus == Model.GuiStatus.START);
+            
+            // Positionieren ebenfalls nur im laufenden Betrieb...
+            this.moveButton.setEnabled(guiStatus == Model.GuiStatus.START);
+            
             // Reset-Button hat das gleiche Enabled-Verhalten wie der start-Button!
             this.resetButton.setEnabled(guiStatus == Model.GuiStatus.INIT
                                      || guiStatus == Model.GuiStatus.STOP);
@@ -0,0 +1,305 @@
+/**
+ *
+ */
+package gui;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Die Klasse ThreadTuning bindet einen Thread (den Regel-Thread) an
+ * ausgewaehlte CPUs und gibt ihm eine Echtzeit-Prioritaet (Linux).
+ * <p>
+ * Java selbst kennt weder sched_setaffinity() noch SCHED_FIFO, die Priority
+ * eines Java-Threads bleibt unter Linux ohne Wirkung. Daher wird die native
+ * Thread-Id (tid) ueber /proc/thread-self ermittelt und mit den Programmen
+ * taskset (Affinitaet) und chrt (Echtzeit-Prioritaet) eingestellt. Dazu muss
+ * apply() im betroffenen Thread selbst aufgerufen werden (einmalig beim Start,
+ * nicht im Regelzyklus). Die Rechte (root bzw. CAP_SYS_NICE) hat die Anwendung
+ * auf dem Raspi wegen pi4j ohnehin.
+ * </p>
+ * <p>
+ * Mit isolcpus=3 in /boot/cmdline.txt wird die CPU 3 vom Scheduler nicht mehr
+ * belegt, controlCpus = 3 legt den Regel-Thread allein dorthin (EDT und GC
+ * bleiben auf den uebrigen CPUs).
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class ThreadTuning
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(ThreadTuning.class);
+
+    /**
+     * CPUS_KEY = "controlCpus" - Key der CPU-Liste (taskset, z.B. "3" oder "2,3")
+     * in den Systemeinstellungen...
+     */
+    public final static String CPUS_KEY = "controlCpus";
+
+    /**
+     * PRIORITY_KEY = "controlPriority" - Key der Echtzeit-Prioritaet (1 ... 99,
+     * 0: keine Aenderung) in den Systemeinstellungen...
+     */
+    public final static String PRIORITY_KEY = "controlPriority";
+
+    /**
+     * POLICY_KEY = "controlPolicy" - Key der Scheduling-Policy (FIFO, RR)
+     * in den Systemeinstellungen...
+     */
+    public final static String POLICY_KEY = "controlPolicy";
+
+    /**
+     * MAX_PRIORITY = 99 - groesste Echtzeit-Prioritaet unter Linux
+     */
+    public final static int MAX_PRIORITY = 99;
+
+    /**
+     * THREAD_SELF = "/proc/thread-self" - Verweis auf /proc/[pid]/task/[tid]
+     */
+    private final static String THREAD_SELF = "/proc/thread-self";
+
+    /**
+     * ERROR = "Fehler" - Kennung eines fehlgeschlagenen Aufrufes
+     */
+    private final static String ERROR = "Fehler";
+
+    /**
+     * cpus - CPU-Liste fuer taskset, leer: keine Aenderung
+     */
+    private final String cpus;
+
+    /**
+     * priority - Echtzeit-Prioritaet, 0: keine Aenderung
+     */
+    private final int priority;
+
+    /**
+     * policy - Scheduling-Policy zur priority
+     */
+    private final Policy policy;
+
+    /**
+     * ThreadTuning(String cpus, int priority, Policy policy)
+     * @param cpus - CPU-Liste fuer taskset (z.B. "3"), null oder leer: keine Aenderung
+     * @param priority - Echtzeit-Prioritaet 1 ... 99, 0: keine Aenderung
+     * @param policy - Scheduling-Policy
+     */
+    public ThreadTuning(String cpus, int priority, Policy policy)
+    {
+        final String cpuList = (cpus != null)? cpus.replaceAll("\\s", "") : "";
+        if (!cpuList.matches("[0-9,\\-]*"))
+        {
+            throw new IllegalArgumentException("Ungueltige CPU-Liste: " + cpus);
+        }
+        if ((priority < 0) || (priority > MAX_PRIORITY))
+        {
+            throw new IllegalArgumentException("Ungueltige Prioritaet: " + priority);
+        }
+        this.cpus = cpuList;
+        this.priority = priority;
+        this.policy = (policy != null)? policy : Policy.FIFO;
+    }
+
+    /**
+     * parse(Properties properties) - Einstellungen aus den Systemeinstellungen...
+     * @param properties
+     * @return ThreadTuning
+     * @throws IllegalArgumentException bei ungueltigen Angaben
+     */
+    public static ThreadTuning parse(Properties properties)
+    {
+        final String cpus = properties.getProperty(CPUS_KEY, "").trim();
+        final String priority = properties.getProperty(PRIORITY_KEY, "").trim();
+        final String policy = properties.getProperty(POLICY_KEY, "").trim();
+        return new ThreadTuning(cpus,
+                                (priority.length() > 0)? Integer.parseInt(priority) : 0,
+                                (policy.length() > 0)? Policy.valueOf(policy) : Policy.FIFO);
+    }
+
+    /**
+     * isEnabled() - ist etwas einzustellen?
+     * @return boolean
+     */
+    public boolean isEnabled()
+    {
+        return (this.cpus.length() > 0) || (this.priority > 0);
+    }
+
+    /**
+     * apply() - Einstellungen fuer den aufrufenden Thread vornehmen...
+     * <p>
+     * Geliefert wird der danach wirksame Zustand (tid, Affinitaet, Policy und
+     * Prioritaet) zur Protokollierung. Ist nichts einzustellen (isEnabled()), so
+     * werden taskset und chrt nur bei aktivem Debug-Logging zum Bericht aufgerufen.
+     * </p>
+     * @return String - Bericht
+     */
+    public String apply()
+    {
+        if (!isEnabled() && !logger.isDebugEnabled())
+        {
+            return "keine Einstellung";
+        }
+        final long tid = getNativeThreadId();
+        if (tid < 0L)
+        {
+            return "tid unbekannt (kein Linux?)";
+        }
+        final String id = String.valueOf(tid);
+        final StringBuilder builder = new StringBuilder().append("tid=").append(id);
+        if (this.cpus.length() > 0)
+        {
+            final String result = execute("taskset", "-p", "-c", this.cpus, id);
+            if (result.startsWith(ERROR))
+            {
+                builder.append(", taskset ").append(result);
+            }
+        }
+        if (this.priority > 0)
+        {
+            final String result = execute("chrt", this.policy.getOption(), "-p", String.valueOf(this.priority), id);
+            if (result.startsWith(ERROR))
+            {
+                builder.append(", chrt ").append(result);
+            }
+        }
+        // Wirksamer Zustand (ohne Einstellung nur mit Debug-Logging, zum Vergleich)...
+        builder.append(", ").append(execute("taskset", "-p", "-c", id).replaceAll("\\s+", " "));
+        builder.append(", ").append(execute("chrt", "-p", id).replaceAll("\\s+", " "));
+        final String report = builder.toString();
+        logger.info("apply(): " + Thread.currentThread().getName() + " " + report);
+        return report;
+    }
+
+    /**
+     * getNativeThreadId() - native Thread-Id (tid) des aufrufenden Threads...
+     * @return long, -1L wenn nicht ermittelbar
+     */
+    public static long getNativeThreadId()
+    {
+        try
+        {
+            return Long.parseLong(new File(THREAD_SELF).getCanonicalFile().getName());
+        }
+        catch (IOException | NumberFormatException | SecurityException exception)
+        {
+            logger.debug(exception.toString());
+            return -1L;
+        }
+    }
+
+    /**
+     * execute(String... command) - Programm ausfuehren...
+     * @param command
+     * @return Ausgabe, bei einem Fehler mit ERROR beginnend
+     */
+    private static String execute(String... command)
+    {
+        try
+        {
+            final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            final StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream())))
+            {
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    output.append(line).append(' ');
+                }
+            }
+            final int exitValue = process.waitFor();
+            return (exitValue == 0)? output.toString().trim()
+                                   : (ERROR + " (" + exitValue + "): " + output.toString().trim());
+        }
+        catch (IOException exception)
+        {
+            return ERROR + ": " + exception.toString();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            return ERROR + ": " + exception.toString();
+        }
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ThreadTuning [cpus=" + this.cpus + ", priority=" + this.priority + ", policy=" + this.policy.name() + "]";
+    }
+
+    /**
+     * Policy - Scheduling-Policy fuer chrt...
+     */
+    public enum Policy
+    {
+        /**
+         * FIFO("SCHED_FIFO", "-f")
+         */
+        FIFO("SCHED_FIFO", "-f"),
+        /**
+         * RR("SCHED_RR", "-r")
+         */
+        RR("SCHED_RR", "-r");
+
+        /**
+         * policy - textuelle Beschreibung
+         */
+        private final String policy;
+
+        /**
+         * option - Option fuer chrt
+         */
+        private final String option;
+
+        /**
+         * Policy - priv. Konstruktor
+         * @param policy
+         * @param option
+         */
+        private Policy(String policy, String option)
+        {
+            this.policy = policy;
+            this.option = option;
+        }
+
+        /**
+         * getPolicy()
+         * @return policy
+         */
+        public String getPolicy()
+        {
+            return this.policy;
+        }
+
+        /**
+         * getOption()
+         * @return option fuer chrt
+         */
+        public String getOption()
+        {
+            return this.option;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.policy;
+        }
+    }
+}
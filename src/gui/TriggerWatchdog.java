@@ -0,0 +1,326 @@
+/**
+ *
+ */
+package gui;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Die Klasse TriggerWatchdog ueberwacht den Takt der ControlEngine.
+ * <p>
+ * Bleibt der Takt aus (z.B. der Arduino toggelt den GPIO_CYCLE_PIN nicht mehr),
+ * so wuerden die zuletzt ausgegebenen Pwm-Werte dauerhaft anliegen. Der Watchdog
+ * erwartet den naechsten Takt eine Periode nach dem letzten Takt. Ist er nach
+ * weiteren fraction * Periode nicht eingetroffen, so wird Action.doTriggerLost()
+ * beauftragt (Motoren stoppen). Mit dem ersten Takt und nach der Wiederkehr
+ * des Taktes folgt Action.doTriggerRestored().
+ * </p>
+ * <p>
+ * Die Periode wird aus den Zeitstempeln der Takte gemessen (geglaettet),
+ * bis zur ersten Messung gilt die nominelle Periode. Der Watchdog-Thread wird
+ * nur einmal je Periode geweckt, Sperren oder Allokation gibt es nicht.
+ * </p>
+ *
+ * @author Detlef Tribius
+ */
+public class TriggerWatchdog implements Runnable
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(TriggerWatchdog.class);
+
+    /**
+     * THREAD_NAME = "watchdog" - Name des Watchdog-Threads
+     */
+    public final static String THREAD_NAME = "watchdog";
+
+    /**
+     * DEFAULT_FRACTION = 0.5 - Zeit bis zum Ausloesen nach dem erwarteten Takt
+     * als Anteil der Periode
+     */
+    public final static double DEFAULT_FRACTION = 0.5;
+
+    /**
+     * SMOOTHING = 0.25 - Glaettung der gemessenen Periode
+     */
+    private final static double SMOOTHING = 0.25;
+
+    /**
+     * engine - ueberwachte ControlEngine (Zeitstempel und Anzahl der Takte)
+     */
+    private final ControlEngine engine;
+
+    /**
+     * action - Reaktion auf Ausfall und Wiederkehr des Taktes
+     */
+    private final Action action;
+
+    /**
+     * nominalPeriod - nominelle Periode in ns
+     */
+    private final long nominalPeriod;
+
+    /**
+     * fraction - Zeit bis zum Ausloesen als Anteil der Periode
+     */
+    private final double fraction;
+
+    /**
+     * period - gemessene Periode in ns
+     */
+    private volatile long period;
+
+    /**
+     * status - Zustand der Ueberwachung
+     */
+    private volatile Status status = Status.WAITING;
+
+    /**
+     * lostCount - Anzahl der erkannten Ausfaelle
+     */
+    private volatile long lostCount = 0L;
+
+    /**
+     * thread - der Watchdog-Thread, null solange nicht gestartet
+     */
+    private volatile Thread thread = null;
+
+    /**
+     * TriggerWatchdog(ControlEngine engine, Action action, double nominalPeriod, double fraction)
+     * @param engine - ueberwachte ControlEngine
+     * @param action - Reaktion auf Ausfall und Wiederkehr des Taktes
+     * @param nominalPeriod - nominelle Periode in s
+     * @param fraction - Zeit bis zum Ausloesen als Anteil der Periode (z.B. 0.5)
+     */
+    public TriggerWatchdog(ControlEngine engine, Action action, double nominalPeriod, double fraction)
+    {
+        this.engine = engine;
+        this.action = action;
+        this.nominalPeriod = Math.max(ClockCycleSource.MIN_PERIOD, Math.round(nominalPeriod * 1.0E9));
+        this.fraction = (fraction > 0.0)? fraction : DEFAULT_FRACTION;
+        this.period = this.nominalPeriod;
+    }
+
+    /**
+     * start() - Watchdog-Thread (hohe Prioritaet) starten...
+     */
+    public void start()
+    {
+        if (this.thread != null)
+        {
+            return;
+        }
+        final Thread thread = new Thread(this, THREAD_NAME);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        this.thread = thread;
+        thread.start();
+        logger.debug("start(): " + toString());
+    }
+
+    /**
+     * stop() - Watchdog-Thread beenden...
+     */
+    public void stop()
+    {
+        final Thread thread = this.thread;
+        this.thread = null;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @return the status
+     */
+    public final Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * getLostCount() - Anzahl der erkannten Ausfaelle
+     * @return long
+     */
+    public long getLostCount()
+    {
+        return this.lostCount;
+    }
+
+    /**
+     * getPeriod() - gemessene Periode in s
+     * @return double
+     */
+    public double getPeriod()
+    {
+        return this.period / 1.0E9;
+    }
+
+    /**
+     * run() - Schleife des Watchdog-Threads...
+     */
+    @Override
+    public void run()
+    {
+        final Thread current = Thread.currentThread();
+        long lastCount = this.engine.getEdgeCount();
+        long lastTimestamp = this.engine.getEdgeTimestamp();
+        while (this.thread == current)
+        {
+            final long count = this.engine.getEdgeCount();
+            final long timestamp = this.engine.getEdgeTimestamp();
+            if (count != lastCount)
+            {
+                // Neuer Takt: Periode nachfuehren (erst ab dem zweiten Takt, nicht ueber einen Ausfall)...
+                if ((lastCount > 0L) && (Status.OK == this.status))
+                {
+                    final long measured = (timestamp - lastTimestamp) / (count - lastCount);
+                    if ((measured > 0L) && (measured < 4L * this.nominalPeriod))
+                    {
+                        this.period += Math.round(SMOOTHING * (measured - this.period));
+                    }
+                }
+                lastCount = count;
+                lastTimestamp = timestamp;
+                if (Status.OK != this.status)
+                {
+                    // Erster Takt oder Wiederkehr nach einem Ausfall...
+                    this.status = Status.OK;
+                    doAction(false, 0L);
+                }
+            }
+            final long period = this.period;
+            if (lastCount == 0L)
+            {
+                // Noch kein Takt: Nicht scharf...
+                LockSupport.parkNanos(this, period);
+                continue;
+            }
+            final long deadline = lastTimestamp + period + Math.round(this.fraction * period);
+            final long now = System.nanoTime();
+            if (now - deadline < 0L)
+            {
+                LockSupport.parkNanos(this, deadline - now);
+                continue;
+            }
+            if (Status.LOST != this.status)
+            {
+                // Takt ausgeblieben...
+                this.status = Status.LOST;
+                this.lostCount++;
+                doAction(true, now - lastTimestamp);
+            }
+            // Auf die Wiederkehr des Taktes pruefen...
+            LockSupport.parkNanos(this, period);
+        }
+        logger.debug("run(): " + THREAD_NAME + " beendet.");
+    }
+
+    /**
+     * doAction(boolean isLost, long age) - Reaktion beauftragen, der
+     * Watchdog-Thread darf dabei nicht enden...
+     * @param isLost - Ausfall (true) oder Wiederkehr (false) des Taktes
+     * @param age - Zeit seit dem letzten Takt in ns
+     */
+    private void doAction(boolean isLost, long age)
+    {
+        try
+        {
+            if (isLost)
+            {
+                this.action.doTriggerLost(age);
+            }
+            else
+            {
+                this.action.doTriggerRestored();
+            }
+        }
+        catch (RuntimeException exception)
+        {
+            logger.error(exception.toString(), exception);
+        }
+    }
+
+    /**
+     * toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "TriggerWatchdog [status=" + this.status.name() + ", period=" + this.period + " ns, fraction=" + this.fraction + ", lostCount=" + this.lostCount + "]";
+    }
+
+    /**
+     * Action - Reaktion auf Ausfall und Wiederkehr des Taktes
+     * (Aufruf im Watchdog-Thread)...
+     */
+    public interface Action
+    {
+        /**
+         * doTriggerLost(long age) - Takt ausgeblieben, Motoren stoppen...
+         * @param age - Zeit seit dem letzten Takt in ns
+         */
+        void doTriggerLost(long age);
+
+        /**
+         * doTriggerRestored() - Takt (wieder) vorhanden...
+         */
+        void doTriggerRestored();
+    }
+
+    /**
+     * Status - Zustand der Ueberwachung...
+     */
+    public enum Status
+    {
+        /**
+         * WAITING("Warten auf Takt") - noch kein Takt eingetroffen
+         */
+        WAITING("Warten auf Takt"),
+        /**
+         * OK("Takt ok") - Takt regelmaessig
+         */
+        OK("Takt ok"),
+        /**
+         * LOST("Takt ausgefallen") - Takt ausgeblieben, Motoren gestoppt
+         */
+        LOST("Takt ausgefallen");
+
+        /**
+         * status - textuelle Beschreibung
+         */
+        private final String status;
+
+        /**
+         * Status - priv. Konstruktor
+         * @param status
+         */
+        private Status(String status)
+        {
+            this.status = status;
+        }
+
+        /**
+         * getStatus()
+         * @return status
+         */
+        public String getStatus()
+        {
+            return this.status;
+        }
+
+        /**
+         * toString() - zu Protokollzwecken...
+         */
+        @Override
+        public String toString()
+        {
+            return this.status;
+        }
+    }
+}